@@ -0,0 +1,71 @@
+package org.wangpai.mathlab.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wangpai.mathlab.basic.operand.Rational;
+import org.wangpai.mathlab.exception.checked.MathlabCheckedException;
+import org.wangpai.mathlab.exp.exposed.CalculatorApi;
+import org.wangpai.mathlab.exp.exposed.CompiledExpression;
+import org.wangpai.mathlab.exp.model.CalculationResultOutput;
+
+/**
+ * 表达式计算的完整流程：词法分析、语法检查、计算
+ *
+ * 表达式取自文档“本项目的开发文档/输入表达式测试用例.md”。
+ * 方法 calculateExpression 不使用缓存；方法 calculateExpressionCached 使用缓存（除第一次外均命中）。
+ * 方法 evaluateCompiled 只测试预编译表达式的计算，不含解析。无法编译的表达式不参与此项测试
+ *
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalculatorApiBenchmark {
+    @Param({
+            "1-(1-6)=",
+            "(1-2)-(3-4)=",
+            "1+22*88+33+44=",
+            "1+22*(88/(1-3)+55)+44=",
+            "234234.623*6345-234/1234+234*(254-45.23542)=",
+            "1------2"})
+    private String expression;
+
+    private CompiledExpression compiled;
+
+    @Setup
+    public void setup() {
+        try {
+            this.compiled = CalculatorApi.compile(this.expression);
+        } catch (MathlabCheckedException exception) {
+            this.compiled = null;
+        }
+    }
+
+    @Benchmark
+    public CalculationResultOutput calculateExpression() {
+        return CalculatorApi.calculateExpressionWithoutCache(this.expression);
+    }
+
+    @Benchmark
+    public CalculationResultOutput calculateExpressionCached() {
+        return CalculatorApi.calculateExpression(this.expression);
+    }
+
+    @Benchmark
+    public Rational evaluateCompiled() throws MathlabCheckedException {
+        return this.compiled == null ? null : this.compiled.evaluate();
+    }
+}
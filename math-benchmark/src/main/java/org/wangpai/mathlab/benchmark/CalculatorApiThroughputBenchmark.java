@@ -0,0 +1,93 @@
+package org.wangpai.mathlab.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wangpai.mathlab.basic.operand.Rational;
+import org.wangpai.mathlab.exception.checked.MathlabCheckedException;
+import org.wangpai.mathlab.exp.exposed.CalculatorApi;
+import org.wangpai.mathlab.exp.exposed.CompiledExpression;
+import org.wangpai.mathlab.exp.model.CalculationResultOutput;
+
+/**
+ * 多线程共享同一个计算引擎时的吞吐量（所有线程的总和）
+ *
+ * 后缀为 singleThread 的方法只使用 1 个线程，后缀为 allThreads 的方法使用与 CPU 核数相同的线程数。
+ * 两者的比值即为吞吐量随核数的伸缩比。线程数也可以通过 JMH 的命令行参数 -t 来覆盖
+ *
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculatorApiThroughputBenchmark {
+    private static final String[] EXPRESSIONS = {
+            "1-(1-6)=",
+            "1+22*88+33+44=",
+            "1+22*(88/(1-3)+55)+44=",
+            "234234.623*6345-234/1234+234*(254-45.23542)=",
+            "0.125*(8-0.5)/3="};
+
+    /**
+     * 所有线程共享的预编译表达式
+     */
+    @State(Scope.Benchmark)
+    public static class Shared {
+        private final CompiledExpression[] compiled = new CompiledExpression[EXPRESSIONS.length];
+
+        @Setup
+        public void setup() throws MathlabCheckedException {
+            for (int index = 0; index < EXPRESSIONS.length; ++index) {
+                this.compiled[index] = CompiledExpression.compile(EXPRESSIONS[index]);
+            }
+        }
+    }
+
+    /**
+     * 每个线程各自轮流使用 EXPRESSIONS 中的表达式
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index = 0;
+
+        private int next() {
+            this.index = (this.index + 1) % EXPRESSIONS.length;
+            return this.index;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public CalculationResultOutput calculateExpression_singleThread(Cursor cursor) {
+        return CalculatorApi.calculateExpressionWithoutCache(EXPRESSIONS[cursor.next()]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public CalculationResultOutput calculateExpression_allThreads(Cursor cursor) {
+        return CalculatorApi.calculateExpressionWithoutCache(EXPRESSIONS[cursor.next()]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Rational evaluateCompiled_singleThread(Shared shared, Cursor cursor) throws MathlabCheckedException {
+        return shared.compiled[cursor.next()].evaluate();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Rational evaluateCompiled_allThreads(Shared shared, Cursor cursor) throws MathlabCheckedException {
+        return shared.compiled[cursor.next()].evaluate();
+    }
+}
@@ -0,0 +1,54 @@
+package org.wangpai.mathlab.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wangpai.mathlab.basic.enumeration.Symbol;
+import org.wangpai.mathlab.basic.operand.Decimal;
+import org.wangpai.mathlab.basic.operand.Rational;
+import org.wangpai.mathlab.exception.checked.UndefinedException;
+
+/**
+ * Decimal 转化为 Rational
+ *
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecimalBenchmark {
+    @Param({"45.23542", "234234.623", "-3.14159265358979323846264338327950288419716939937510"})
+    private String literal;
+
+    private Decimal decimal;
+
+    private Symbol[] symbols;
+
+    @Setup
+    public void setup() throws UndefinedException {
+        this.decimal = new Decimal(this.literal);
+        this.symbols = Decimal.symbolArray2charArray(this.literal.toCharArray());
+    }
+
+    @Benchmark
+    public Rational toRational() {
+        return this.decimal.toRational();
+    }
+
+    @Benchmark
+    public Rational parseRational() {
+        return Decimal.parseRational(this.symbols);
+    }
+}
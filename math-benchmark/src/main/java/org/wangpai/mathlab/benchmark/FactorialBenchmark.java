@@ -0,0 +1,63 @@
+package org.wangpai.mathlab.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wangpai.mathlab.basic.operand.Figure;
+import org.wangpai.mathlab.exception.checked.SyntaxException;
+import org.wangpai.mathlab.extend.factorial.Combination;
+import org.wangpai.mathlab.extend.factorial.Factorial;
+
+/**
+ * 阶乘与组合数
+ *
+ * 参数 n 为阶乘的 n，也为组合数 C(n, n/3) 的 n
+ *
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FactorialBenchmark {
+    @Param({"12", "100", "2000", "20000"})
+    private int n;
+
+    private Figure figureN;
+    private Figure figureM;
+
+    @Setup
+    public void setup() {
+        this.figureN = Figure.valueOf(this.n);
+        this.figureM = Figure.valueOf(this.n / 3);
+    }
+
+    @Benchmark
+    public Figure factorial() throws SyntaxException {
+        return Factorial.factorial(this.figureN);
+    }
+
+    /**
+     * 不使用缓存，即每次都完整地计算一次
+     */
+    @Benchmark
+    public Figure factorialWithoutCache() throws SyntaxException {
+        return Factorial.factorialWithoutCache(this.n);
+    }
+
+    @Benchmark
+    public Figure combination() throws SyntaxException {
+        return Combination.combination(this.figureN, this.figureM);
+    }
+}
@@ -0,0 +1,46 @@
+package org.wangpai.mathlab.benchmark;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wangpai.mathlab.basic.operand.Figure;
+
+/**
+ * Figure 的克隆。克隆的对象与原对象共享同一个 BigInteger，因此其开销应该与数的位数无关
+ *
+ * 参数 digits 为操作数的十进制位数
+ *
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FigureBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int digits;
+
+    private Figure figure;
+
+    @Setup
+    public void setup() {
+        this.figure = new Figure(BigInteger.TEN.pow(this.digits - 1));
+    }
+
+    @Benchmark
+    public Figure cloneFigure() {
+        return this.figure.clone();
+    }
+}
@@ -0,0 +1,65 @@
+package org.wangpai.mathlab.benchmark;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wangpai.mathlab.basic.operand.Figure;
+import org.wangpai.mathlab.basic.operation.FigureOperation;
+
+/**
+ * FigureOperation 的加法、乘法、最大公约数
+ *
+ * 参数 digits 为操作数的十进制位数：9 位为 int 范围内，18 位为 long 范围内，其它为大整数
+ *
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FigureOperationBenchmark {
+    @Param({"9", "18", "100", "10000"})
+    private int digits;
+
+    private Figure first;
+    private Figure second;
+
+    @Setup
+    public void setup() {
+        // 形如 123...9123... 的数，使其位数恰好为 digits
+        var builder = new StringBuilder();
+        for (int index = 0; index < this.digits; ++index) {
+            builder.append((char) ('1' + index % 9));
+        }
+        var number = new BigInteger(builder.toString());
+        this.first = Figure.valueOf(number);
+        this.second = Figure.valueOf(number.divide(BigInteger.valueOf(7)).add(BigInteger.ONE));
+    }
+
+    @Benchmark
+    public Figure add() {
+        return FigureOperation.add(this.first, this.second);
+    }
+
+    @Benchmark
+    public Figure multiply() {
+        return FigureOperation.multiply(this.first, this.second);
+    }
+
+    @Benchmark
+    public Figure findGcd() {
+        return FigureOperation.findGcd(this.first, this.second);
+    }
+}
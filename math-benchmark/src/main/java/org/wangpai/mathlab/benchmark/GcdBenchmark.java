@@ -0,0 +1,62 @@
+package org.wangpai.mathlab.benchmark;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wangpai.mathlab.basic.algorithm.GcdAlgorithm;
+
+/**
+ * 大整数最大公约数的各算法对比，用于调整 GcdAlgorithm 的阈值
+ * （系统属性 mathlab.gcd.lehmer.threshold、mathlab.gcd.halfgcd.threshold，可通过 JMH 参数 -jvmArgs 传入）
+ *
+ * 参数 bits 为操作数的二进制位数
+ *
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GcdBenchmark {
+    @Param({"1024", "4096", "16384", "65536", "262144"})
+    private int bits;
+
+    private BigInteger first;
+    private BigInteger second;
+
+    @Setup
+    public void setup() {
+        var random = new Random(0);
+        var common = new BigInteger(this.bits / 4, random);
+        this.first = new BigInteger(this.bits, random).multiply(common);
+        this.second = new BigInteger(this.bits, random).multiply(common);
+    }
+
+    @Benchmark
+    public BigInteger bigIntegerGcd() {
+        return this.first.gcd(this.second);
+    }
+
+    @Benchmark
+    public BigInteger lehmerGcd() {
+        return GcdAlgorithm.lehmerGcd(this.first, this.second);
+    }
+
+    @Benchmark
+    public BigInteger gcd() {
+        return GcdAlgorithm.gcd(this.first, this.second);
+    }
+}
@@ -0,0 +1,86 @@
+package org.wangpai.mathlab.benchmark;
+
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wangpai.mathlab.basic.operand.Figure;
+import org.wangpai.mathlab.basic.operand.Rational;
+import org.wangpai.mathlab.basic.operation.RationalOperation;
+import org.wangpai.mathlab.exception.checked.SyntaxException;
+
+/**
+ * Rational 的约分、转化为 double、转化为 60 位小数，以及 RationalOperation 的加法、除法
+ *
+ * 参数 digits 为分子、分母的十进制位数
+ *
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RationalBenchmark {
+    @Param({"6", "30", "1000"})
+    private int digits;
+
+    private Figure unreducedNumerator;
+    private Figure unreducedDenominator;
+    private Rational first;
+    private Rational second;
+
+    @Setup
+    public void setup() throws SyntaxException {
+        var random = new Random(0);
+        int bits = (int) (this.digits * 3.33);
+        var common = new BigInteger(bits / 2, random).setBit(0);
+        var numerator = new BigInteger(bits / 2, random).multiply(common);
+        var denominator = new BigInteger(bits / 2, random).setBit(bits / 2).multiply(common);
+
+        this.unreducedNumerator = Figure.valueOf(numerator);
+        this.unreducedDenominator = Figure.valueOf(denominator);
+        this.first = new Rational(Figure.valueOf(numerator), Figure.valueOf(denominator.add(BigInteger.ONE)));
+        this.second = new Rational(Figure.valueOf(denominator), Figure.valueOf(numerator.add(BigInteger.TWO)));
+    }
+
+    /**
+     * 构造器会对分子、分母进行约分，因此本方法的耗时主要为约分的耗时
+     */
+    @Benchmark
+    public Rational reduceFraction() throws SyntaxException {
+        return new Rational(this.unreducedNumerator, this.unreducedDenominator);
+    }
+
+    @Benchmark
+    public double toDouble() {
+        return this.first.toDouble();
+    }
+
+    @Benchmark
+    public String toDecimalString() {
+        return this.first.toDecimalString(60, RoundingMode.HALF_EVEN);
+    }
+
+    @Benchmark
+    public Rational add() {
+        return RationalOperation.add(this.first, this.second);
+    }
+
+    @Benchmark
+    public Rational divide() throws SyntaxException {
+        return RationalOperation.divide(this.first, this.second);
+    }
+}
@@ -0,0 +1,65 @@
+package org.wangpai.mathlab.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wangpai.mathlab.exception.checked.UndefinedException;
+import org.wangpai.mathlab.exp.model.SymbolOutputStream;
+import org.wangpai.mathlab.exp.model.SymbolTokenizer;
+
+/**
+ * 词法分析：将表达式字符串转化为 Symbol 序列
+ *
+ * 表达式由 length 个字符组成，为“1+22*(88/(1-3)+55)+44”的重复
+ *
+ * @since 2026-10-18
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenizerBenchmark {
+    @Param({"20", "1000", "100000"})
+    private int length;
+
+    private String expression;
+
+    @Setup
+    public void setup() {
+        var unit = "1+22*(88/(1-3)+55)+44";
+        var sb = new StringBuilder(this.length + unit.length());
+        while (sb.length() < this.length) {
+            sb.append(unit).append('+');
+        }
+        this.expression = sb.substring(0, this.length);
+    }
+
+    @Benchmark
+    public SymbolOutputStream tokenize() throws UndefinedException {
+        return new SymbolOutputStream().init(this.expression);
+    }
+
+    /**
+     * 只有词法分析本身，不包括 SymbolOutputStream 的构造
+     */
+    @Benchmark
+    public byte[] tokenizeOrdinals() throws UndefinedException {
+        return SymbolTokenizer.DEFAULT.tokenize(this.expression);
+    }
+
+    @Benchmark
+    public String preInitCheck() {
+        return SymbolOutputStream.preInitCheck(this.expression);
+    }
+}
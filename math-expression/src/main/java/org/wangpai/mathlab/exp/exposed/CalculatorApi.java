@@ -1,15 +1,77 @@
 package org.wangpai.mathlab.exp.exposed;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.wangpai.mathlab.basic.operand.Operand;
+import org.wangpai.mathlab.exception.checked.MathlabCheckedException;
+import org.wangpai.mathlab.exp.model.CalculationContext;
 import org.wangpai.mathlab.exp.model.CalculationResultOutput;
+import org.wangpai.mathlab.exp.model.CalculatorState;
 
 /**
+ * 并发说明：本类的所有方法都是线程安全的，可以被多个线程同时调用。
+ * > 所有调用共享同一个 CalculatorBackgroundFx，每次调用使用各自的 CalculationContext
+ * > 表达式缓存 ExpressionCache 是线程安全的。缓存的计算结果在放入缓存之前已经约分，因此不会在读取时被修改
+ * > CompiledExpression 是不可变的，可以在多个线程之间共享
+ * > 每次调用返回的 CalculationResultOutput 都是新对象，调用者可以随意修改
+ *
  * @since 2021-8-1
+ * @lastModified 2026-10-18
  */
 public class CalculatorApi {
+    /**
+     * 计算引擎。它本身不储存与计算有关的状态，因此可以被所有调用共享
+     */
+    private static final CalculatorBackgroundFx engine = new CalculatorBackgroundFx();
+
+    /**
+     * 表达式缓存的最大条目数与最大内存占用（单位为字节）。
+     * 可以通过系统属性 mathlab.expression.cache.size、mathlab.expression.cache.memory 来设置
+     */
+    private static final int CACHE_SIZE = Integer.getInteger("mathlab.expression.cache.size", 1024);
+    private static final long CACHE_MEMORY = Long.getLong("mathlab.expression.cache.memory", 16L * 1024 * 1024);
+
+    private static final ExpressionCache cache = new ExpressionCache(CACHE_SIZE, CACHE_MEMORY);
+
+    /**
+     * 获取表达式缓存，可用于查看命中率等统计数据，或者关闭计算结果的缓存
+     *
+     * @since 2026-10-18
+     */
+    public static ExpressionCache getCache() {
+        return CalculatorApi.cache;
+    }
+
+    /**
+     * 计算表达式。相同的表达式（规范化之后相同，参见 ExpressionCache.normalize）会直接返回缓存的结果
+     *
+     * @since 2021-8-1
+     * @lastModified 2026-10-18
+     */
     public static CalculationResultOutput calculateExpression(String expression) {
+        var cached = CalculatorApi.cache.getOutput(expression);
+        if (cached != null) {
+            return cached;
+        }
+
+        var result = CalculatorApi.calculateExpressionWithoutCache(expression);
+        CalculatorApi.cache.putOutput(expression, result);
+        return result;
+    }
+
+    /**
+     * 计算表达式，且不使用缓存
+     *
+     * @since 2026-10-18
+     */
+    public static CalculationResultOutput calculateExpressionWithoutCache(String expression) {
         CalculationResultOutput result = new CalculationResultOutput();
-        CalculatorBackgroundFx calculator = new CalculatorBackgroundFx()
+        var context = new CalculationContext()
                 .setAutoCalculateAction(data -> {
                     result.setPromptMsg((String) data);
                 })
@@ -26,10 +88,100 @@ public class CalculatorApi {
                 .setResultCameOutAction(data -> {
                     result.setResult((Operand) data);
                 });
-        calculator.readExpression(expression);
+        CalculatorApi.engine.readExpression(expression, context);
         return result;
     }
 
+    /**
+     * 预编译表达式。适用于同一个表达式需要反复计算的场合，参见 CompiledExpression
+     *
+     * 编译结果会被缓存
+     *
+     * @since 2026-10-18
+     */
+    public static CompiledExpression compile(String expression) throws MathlabCheckedException {
+        return CalculatorApi.cache.getCompiled(expression);
+    }
+
+    /**
+     * 批量计算表达式。并行度为 CPU 核数
+     *
+     * @since 2026-10-18
+     */
+    public static List<CalculationResultOutput> calculateAll(List<String> expressions) {
+        return CalculatorApi.calculateAll(expressions, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 批量计算表达式
+     *
+     * 各表达式在一个并行度为 parallelism 的 ForkJoinPool 中并行计算，返回结果的顺序与输入的顺序相同。
+     * 各表达式的计算是相互独立的：某个表达式出错时，只有它自己的结果中会含有错误信息（参见 CalculationResultOutput），
+     * 不会影响其它表达式的计算
+     *
+     * @param parallelism 并行度，即同时计算的线程数。为 1 时，直接在调用者的线程中依次计算
+     * @since 2026-10-18
+     */
+    public static List<CalculationResultOutput> calculateAll(List<String> expressions, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("错误：并行度必须为正数");
+        }
+        if (parallelism == 1 || expressions.size() <= 1) {
+            var results = new ArrayList<CalculationResultOutput>(expressions.size());
+            for (var expression : expressions) {
+                results.add(CalculatorApi.calculateIsolated(expression));
+            }
+            return results;
+        }
+
+        var pool = new ForkJoinPool(parallelism);
+        try {
+            // 在自定义的 ForkJoinPool 中执行并行流时，并行流的任务会在此 ForkJoinPool 中执行
+            return pool.submit(() -> IntStream.range(0, expressions.size())
+                    .parallel()
+                    .mapToObj(index -> CalculatorApi.calculateIsolated(expressions.get(index)))
+                    .collect(Collectors.toList())).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 批量计算表达式。会先读取 expressions 中的所有表达式，然后再开始计算（参见 calculateAll(List, int)）
+     *
+     * @since 2026-10-18
+     */
+    public static List<CalculationResultOutput> calculateAll(Stream<String> expressions, int parallelism) {
+        return CalculatorApi.calculateAll(expressions.collect(Collectors.toList()), parallelism);
+    }
+
+    /**
+     * 批量计算表达式。会先读取 expressions 中的所有表达式，然后再开始计算（参见 calculateAll(List, int)）
+     *
+     * @since 2026-10-18
+     */
+    public static List<CalculationResultOutput> calculateAll(Iterator<String> expressions, int parallelism) {
+        var list = new ArrayList<String>();
+        expressions.forEachRemaining(list::add);
+        return CalculatorApi.calculateAll(list, parallelism);
+    }
+
+    /**
+     * 计算单个表达式，且保证不会抛出异常。
+     * 计算引擎没有预料到的异常（如 RuntimeException）会被转化为错误信息放入结果中，而不会中断整个批量计算
+     */
+    static CalculationResultOutput calculateIsolated(String expression) {
+        try {
+            return CalculatorApi.calculateExpression(expression);
+        } catch (RuntimeException exception) {
+            var msg = "异常：无法计算表达式【" + expression + "】";
+            return new CalculationResultOutput()
+                    .setState(CalculatorState.ERROR)
+                    .setStateMsg(msg)
+                    .setPromptMsg(msg);
+        }
+    }
+
     public static void main(String[] args) {
         System.out.println(calculateExpression("2334.623*6345-234/1234+234*(254-45.242)="));
     }
@@ -1,7 +1,6 @@
 package org.wangpai.mathlab.exp.exposed;
 
 import java.util.List;
-import java.util.Stack;
 import java.util.regex.Pattern;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,6 +13,7 @@ import org.wangpai.mathlab.basic.operator.Operator;
 import org.wangpai.mathlab.exception.checked.MathlabCheckedException;
 import org.wangpai.mathlab.exception.checked.SyntaxException;
 import org.wangpai.mathlab.exp.model.Action;
+import org.wangpai.mathlab.exp.model.CalculationContext;
 import org.wangpai.mathlab.exp.model.CalculatorData;
 import org.wangpai.mathlab.exp.model.CalculatorState;
 import org.wangpai.mathlab.exp.model.OutputStream;
@@ -32,7 +32,15 @@ import static org.wangpai.mathlab.exp.model.CalculatorState.INIT;
 import static org.wangpai.mathlab.exp.model.CalculatorState.NORMAL;
 
 /**
+ * 并发说明：
+ * > 方法 readExpression(String, CalculationContext)、generateProcess(String, CalculationContext) 是线程安全、可重入的。
+ * 与单次计算有关的状态均储存在参数 CalculationContext 中，因此多个线程可以共享同一个本类对象，
+ * 只要每个线程使用各自的 CalculationContext 即可
+ * > 不带 CalculationContext 参数的方法 readExpression、generateProcess 使用的是本对象的字段
+ * （state 与各 xxxAction），这是为了兼容单线程的前端界面。这些方法只能在一个线程中使用
+ *
  * @since 2021-8-1
+ * @lastModified 2026-10-18
  */
 @Slf4j
 @Accessors(chain = true)
@@ -44,7 +52,7 @@ public class CalculatorBackgroundFx {
     private CalculatorState state = INIT;
 
     /**
-     * 规定：这些 xxxAction 函数对象只能在 notifyXXX 方法中被调用
+     * 这些 xxxAction 函数对象只用于不带 CalculationContext 参数的方法，参见方法 newContext
      */
 
     @Setter
@@ -66,10 +74,10 @@ public class CalculatorBackgroundFx {
      * @since 2021-8-1
      * @lastModified 2022-8-24
      */
-    private void notifyAutoCalculationPromptMsg(String msg) {
-        this.setState(NORMAL);
-        if (this.autoCalculateAction != null) {
-            this.autoCalculateAction.callback("恭喜你，未检测到语法错误" +
+    private void notifyAutoCalculationPromptMsg(CalculationContext context, String msg) {
+        context.setState(NORMAL);
+        if (context.getAutoCalculateAction() != null) {
+            context.getAutoCalculateAction().callback("恭喜你，未检测到语法错误" +
                     System.lineSeparator() +
                     System.lineSeparator() +
                     msg);
@@ -78,11 +86,11 @@ public class CalculatorBackgroundFx {
 
     /**
      * @since 2021-8-1
-     * @lastModified 2022-8-24
+     * @lastModified 2026-10-18
      */
-    private void notifyExceptionPromptMsg(MathlabCheckedException exception) {
-        this.setState(ERROR);
-        if (this.errorOccurredAction != null) {
+    private void notifyExceptionPromptMsg(CalculationContext context, MathlabCheckedException exception) {
+        context.setState(ERROR);
+        if (context.getErrorOccurredAction() != null) {
             var exceptionMsg = exception.getExceptionMsg();
             var exceptionData = exception.getData();
             var msg = new StringBuilder();
@@ -97,17 +105,17 @@ public class CalculatorBackgroundFx {
                         .append(System.lineSeparator())
                         .append(((String) exceptionData).trim())
                         .append(System.lineSeparator());
-            } else if (exceptionData instanceof Stack) {
+            } else if (exceptionData instanceof List) {
                 msg.append(System.lineSeparator())
                         .append("下面是自动纠正的结果：（供复制）")
                         .append(System.lineSeparator())
                         .append(System.lineSeparator());
-                for (var symbol : (Stack<Symbol>) exceptionData) {
+                for (var symbol : (List<Symbol>) exceptionData) {
                     msg.append(symbol);
                 }
                 msg.append(System.lineSeparator());
             }
-            this.errorOccurredAction.callback(msg.toString());
+            context.getErrorOccurredAction().callback(msg.toString());
         }
     }
 
@@ -115,10 +123,10 @@ public class CalculatorBackgroundFx {
      * @since 2021-8-1
      * @lastModified 2022-8-24
      */
-    private void notifyNoSyntaxErrorDetectedPromptMsg() {
-        this.setState(NORMAL);
-        if (this.defaultPromptMsgAction != null) {
-            this.defaultPromptMsgAction.callback("恭喜你，未检测到语法错误");
+    private void notifyNoSyntaxErrorDetectedPromptMsg(CalculationContext context) {
+        context.setState(NORMAL);
+        if (context.getDefaultPromptMsgAction() != null) {
+            context.getDefaultPromptMsgAction().callback("恭喜你，未检测到语法错误");
         }
     }
 
@@ -126,42 +134,83 @@ public class CalculatorBackgroundFx {
      * @since 2021-8-1
      * @lastModified 2022-8-24
      */
-    private void notifyCalculationProcess(String output) {
-        if (this.processUpdatedAction != null) {
+    private void notifyCalculationProcess(CalculationContext context, String output) {
+        if (context.getProcessUpdatedAction() != null) {
             String promptMsgPrefix = "----------------------" +
                     System.lineSeparator() +
                     System.lineSeparator();
 
-            this.processUpdatedAction.callback(promptMsgPrefix + output);
+            context.getProcessUpdatedAction().callback(promptMsgPrefix + output);
         }
-        if (this.getState().equals(ERROR)) {
-            this.setState(END);
-            if (this.defaultPromptMsgAction != null) {
-                this.defaultPromptMsgAction.callback("恭喜你，未检测到语法错误");
+        if (context.getState().equals(ERROR)) {
+            context.setState(END);
+            if (context.getDefaultPromptMsgAction() != null) {
+                context.getDefaultPromptMsgAction().callback("恭喜你，未检测到语法错误");
             }
         }
     }
 
     /**
      * @since 2022-8-24
+     * @lastModified 2026-10-18
      */
-    private void notifyCalculationResult(Operand result) {
-        if (this.resultCameOutAction != null) {
-            this.resultCameOutAction.callback(result);
+    private void notifyCalculationResult(CalculationContext context, Operand result) {
+        if (context.getResultCameOutAction() != null) {
+            context.getResultCameOutAction().callback(result);
         }
     }
 
     /**
+     * 使用本对象的字段创建一个上下文
+     *
+     * @since 2026-10-18
+     */
+    private CalculationContext newContext() {
+        return new CalculationContext()
+                .setState(this.state)
+                .setCalculationTimes(this.calculationTimes)
+                .setAutoCalculateAction(this.autoCalculateAction)
+                .setErrorOccurredAction(this.errorOccurredAction)
+                .setDefaultPromptMsgAction(this.defaultPromptMsgAction)
+                .setProcessUpdatedAction(this.processUpdatedAction)
+                .setResultCameOutAction(this.resultCameOutAction);
+    }
+
+    /**
+     * 将上下文中的状态写回本对象的字段
+     *
+     * @since 2026-10-18
+     */
+    private void saveContext(CalculationContext context) {
+        this.state = context.getState();
+        this.calculationTimes = context.getCalculationTimes();
+    }
+
+    /**
+     * 使用本对象的字段作为上下文。此方法不是线程安全的
+     *
      * @since 2021-8-4
+     * @lastModified 2026-10-18
      */
     public void readExpression(final String expression) {
+        var context = this.newContext();
+        this.readExpression(expression, context);
+        this.saveContext(context);
+    }
+
+    /**
+     * 此方法是线程安全的，参见本类的并发说明
+     *
+     * @since 2026-10-18
+     */
+    public void readExpression(final String expression, CalculationContext context) {
         CalculatorData calData = new CalculatorData();
 
         // 对原表达式进行静态检查和动态检查。如果检查不通过，向提示框发送异常信息，本算法结束
         try {
             this.expressionCheck(calData.clearAllCalData(), expression);
         } catch (MathlabCheckedException exception) {
-            this.notifyExceptionPromptMsg(exception);
+            this.notifyExceptionPromptMsg(context, exception);
             return;
         }
 
@@ -181,12 +230,12 @@ public class CalculatorBackgroundFx {
             try {
                 this.expressionCheck(calData.clearAllCalData(), expression + "=");
             } catch (MathlabCheckedException exception) { // 如果发生了异常，说明本次的等号补充是不合理的
-                this.notifyNoSyntaxErrorDetectedPromptMsg();
+                this.notifyNoSyntaxErrorDetectedPromptMsg(context);
                 return;
             }
 
             // 自动计算结果
-            this.makeAutoCalculationResult(calData);
+            this.makeAutoCalculationResult(context, calData);
             return;
         }
 
@@ -199,10 +248,10 @@ public class CalculatorBackgroundFx {
                 return;
             } else {
                 // 生成计算过程，并通知外界
-                this.makeProcessResult(expression);
+                this.makeProcessResult(context, expression);
             }
         } else { // 如果用户输入的是一个不完整但没有语法错误的一个表达式
-            this.notifyNoSyntaxErrorDetectedPromptMsg();
+            this.notifyNoSyntaxErrorDetectedPromptMsg(context);
         }
     }
 
@@ -213,8 +262,8 @@ public class CalculatorBackgroundFx {
      *
      * @since 2021-8-5
      */
-    private void makeAutoCalculationResult(CalculatorData calData) {
-        var result = calData.getOpnds().peek();
+    private void makeAutoCalculationResult(CalculationContext context, CalculatorData calData) {
+        var result = calData.peekFromOpnds();
         String resultStr;
         if (result instanceof Rational) {
             resultStr = Double.toString(((Rational) result).toDouble());
@@ -229,7 +278,7 @@ public class CalculatorBackgroundFx {
                 System.lineSeparator() +
                 System.lineSeparator() +
                 "（输入等号可显示计算过程）";
-        this.notifyAutoCalculationPromptMsg(promptMsgPrefix);
+        this.notifyAutoCalculationPromptMsg(context, promptMsgPrefix);
     }
 
     /**
@@ -237,10 +286,11 @@ public class CalculatorBackgroundFx {
      *
      * @since 2021-8-5
      */
-    private void makeProcessResult(final String expression) {
-        String promptMsgPrefix = "【" + (++this.calculationTimes) + "】下面是计算过程：" +
+    private void makeProcessResult(CalculationContext context, final String expression) {
+        context.setCalculationTimes(context.getCalculationTimes() + 1);
+        String promptMsgPrefix = "【" + context.getCalculationTimes() + "】下面是计算过程：" +
                 System.lineSeparator();
-        this.notifyCalculationProcess(promptMsgPrefix + this.generateProcess(expression));
+        this.notifyCalculationProcess(context, promptMsgPrefix + this.generateProcess(expression, context));
     }
 
     /**
@@ -270,8 +320,10 @@ public class CalculatorBackgroundFx {
     /**
      * 单个字符的语法检查。此方法必须与方法 readSymbol 交替配合使用。
      * 一般先调用一次本方法，然后调用一次方法 readSymbol，接着再调用本方法，以此类推
+     *
+     * @lastModified 2026-10-18
      */
-    private void syntaxCheck(CalculatorData calData, Symbol input)
+    void syntaxCheck(CalculatorData calData, Symbol input)
             throws SyntaxException {
         /**
          * 先尽可能处理所有简单、能单独判断的语法错误
@@ -280,8 +332,28 @@ public class CalculatorBackgroundFx {
          * 不需要考虑当前输入的符号与其之后的符号之间有无错误
          */
 
+        // 循环节（如 0.1(6)）里只能输入数字，且必须以右括号结束
+        if (calData.repetendIsOpen()) {
+            if (input == RIGHT_BRACKET && calData.peekFromExp() == LEFT_BRACKET) {
+                var ERROR_INFO = "循环节里什么也没有，已为你自动删除【)】";
+                throw new SyntaxException(ERROR_INFO,
+                        this.generateExpressionString(calData.getExp()));
+            }
+            if (!(input.isDigit() || input == RIGHT_BRACKET)) {
+                var ERROR_INFO = "循环节还没有结束，你不能在循环节里输入" + "【" + input + "】"
+                        + "，已为你自动删除" + "【" + input + "】";
+                throw new SyntaxException(ERROR_INFO,
+                        this.generateExpressionString(calData.getExp()));
+            }
+            return;
+        }
+        // 小数的小数部分之后的左括号表示循环节的开始，不受后面关于表达式中的左括号的限制
+        if (input == LEFT_BRACKET && calData.isRepetendBracket(input)) {
+            return;
+        }
+
         // 一个操作数里，输入了两个小数点
-        if (input == DOT && calData.searchFromBuff(DOT) != -1) {
+        if (input == DOT && calData.operandHasDot()) {
             var ERROR_INFO = "你不能在一个数里输入两个【.】，已为你自动删除【.】";
             throw new SyntaxException(ERROR_INFO,
                     this.generateExpressionString(calData.getExp()));
@@ -331,12 +403,12 @@ public class CalculatorBackgroundFx {
                         this.generateExpressionString(calData.getExp()));
             }
         }
-        // 如果左括号前面有数字、小数点，报错
+        // 如果左括号前面有数字、小数点、循环节的右括号，报错
         if (input == LEFT_BRACKET && !calData.expIsEmpty()
                 && (calData.peekFromExp().isDigit()
-                || calData.peekFromExp() == DOT)) {
+                || calData.peekFromExp() == DOT || calData.repetendIsClosed())) {
             var ERROR_INFO = "左括号前面不能有字符" + "【" + calData.peekFromExp() + "】" +
-                    "（左括号前面不能有数字、小数点），已为你自动删除【(】";
+                    "（左括号前面不能有数字、小数点、循环节），已为你自动删除【(】";
             throw new SyntaxException(ERROR_INFO,
                     this.generateExpressionString(calData.getExp()));
         }
@@ -352,9 +424,10 @@ public class CalculatorBackgroundFx {
             }
 
             // 如果右括号前面有非左括号的运算符
-            if (!calData.expIsEmpty() && (!calData.peekFromExp().isDigit())) {
+            if (!calData.expIsEmpty() && !(calData.peekFromExp().isDigit() || calData.repetendIsClosed())) {
                 /**
-                 * 注意，右括号前面的左括号在前面已进行了判断。所以第二个判断条件可以改为非数字
+                 * 注意，右括号前面的左括号在前面已进行了判断。所以第二个判断条件可以改为非数字。
+                 * 例外是循环节的右括号（如 (0.1(6)) 中的第一个右括号），它与数字一样结束了一个操作数
                  */
                 var ERROR_INFO = "右括号前面不能有运算符" + "【" + input + "】"
                         + "，已为你自动删除" + "【" + input + "】";
@@ -362,15 +435,12 @@ public class CalculatorBackgroundFx {
                         this.generateExpressionString(calData.getExp()));
             }
 
-            // 等下就要检查括号匹配的问题，而括号匹配必须右括号先入栈后才能检查
-            var tempCalData = (CalculatorData) calData.clone();
-            tempCalData.pushToOptrs(new Operator(input));
             /**
              * 括号匹配检查
              *
-             * 此处，只有右括号多于左括号时，才需要进行错误处理
+             * 此处，只有右括号多于左括号时，才需要进行错误处理。即，此右括号之前没有未匹配的左括号
              */
-            if (tempCalData.bracketMatch() == 2) {
+            if (!calData.hasUnmatchedLeftBracket()) {
                 var ERROR_INFO = "右括号不匹配，已为你自动删除【)】";
                 throw new SyntaxException(ERROR_INFO,
                         this.generateExpressionString(calData.getExp()));
@@ -414,6 +484,8 @@ public class CalculatorBackgroundFx {
 
     /**
      * 单个字符的输入处理。此方法调用前必须输入字符语法上的正确性
+     *
+     * @lastModified 2026-10-18
      */
     public void readSymbol(OutputStream outputStream, CalculatorData calData, Symbol input)
             throws MathlabCheckedException {
@@ -422,8 +494,8 @@ public class CalculatorBackgroundFx {
             calData.pushSymbol(input); // 此处让等号入栈的目的是为了下次能结束循环
             outputStream.rollback(); // 让下次读取到的依然是等号
             return;
-        } else if (input.isDigit() || input == DOT) {
-            // 如果输入字符为数字或小数点，将其加入操作数缓存栈
+        } else if (input.isDigit() || input == DOT || calData.isRepetendBracket(input)) {
+            // 如果输入字符为数字、小数点或循环节的括号，将其加入操作数缓存栈
             calData.pushSymbol(input);
             return;
         } else {
@@ -458,9 +530,24 @@ public class CalculatorBackgroundFx {
      * 由于计算表达式与在计算表达式的过程中显示过程是两个不同的行为，
      * 因此建议不要合并
      *
+     * 使用本对象的字段作为上下文。此方法不是线程安全的
+     *
      * @since before 2021-8-5
+     * @lastModified 2026-10-18
      */
     public String generateProcess(String expression) {
+        var context = this.newContext();
+        var result = this.generateProcess(expression, context);
+        this.saveContext(context);
+        return result;
+    }
+
+    /**
+     * 此方法是线程安全的，参见本类的并发说明
+     *
+     * @since 2026-10-18
+     */
+    public String generateProcess(String expression, CalculationContext context) {
         if (expression == null || expression.equals("")) {
             return "";
         }
@@ -495,8 +582,8 @@ public class CalculatorBackgroundFx {
                 calData.loadOpnd();
                 calData.pushSymbol(input); // 此处让等号入栈的目的是为了下次能结束循环
                 outputStream.rollback(); // 让下次读取到的依然是等号
-            } else if (input.isDigit() || input == DOT) {
-                // 如果是数字或小数点的话，入操作数临时栈
+            } else if (input.isDigit() || input == DOT || calData.isRepetendBracket(input)) {
+                // 如果是数字、小数点或循环节的括号的话，入操作数临时栈
                 calData.pushSymbol(input);
             } else {
                 calData.loadOpnd();
@@ -558,13 +645,13 @@ public class CalculatorBackgroundFx {
 
         if (hasCalculation) {
             // 将最终结果转化为小数
-            result.append(this.generateLastExpressionData(calData.getOpnds().peek(), EQUAL));
+            result.append(this.generateLastExpressionData(calData.peekFromOpnds(), EQUAL));
         } else {
             // 如果表达式过于简单，就将原表达式输出
             result.append(this.generateMiddleExpression(expression));
         }
 
-        this.notifyCalculationResult(calData.getOpnds().peek());
+        this.notifyCalculationResult(context, calData.peekFromOpnds());
         return result.toString();
     }
 
@@ -638,7 +725,7 @@ public class CalculatorBackgroundFx {
                 // 左括号后面不加空格，右括号左边不加空格
             } else if (lastSymbol == DOT || symbol == DOT) {
                 // 小数点前后不加空格
-            } else if (lastSymbol == Symbol.getEnum("[") || symbol == Symbol.getEnum("]")) {
+            } else if (lastSymbol == Symbol.S1 || symbol == Symbol.S2) {
                 // 左括号后面不加空格，右括号左边不加空格
             } else if (!symbol.isDigit()) {
                 sb.append(" ");
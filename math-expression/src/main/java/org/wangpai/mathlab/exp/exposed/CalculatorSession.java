@@ -0,0 +1,198 @@
+package org.wangpai.mathlab.exp.exposed;
+
+import java.util.ArrayList;
+import org.wangpai.mathlab.basic.enumeration.Symbol;
+import org.wangpai.mathlab.basic.operand.Operand;
+import org.wangpai.mathlab.exception.checked.MathlabCheckedException;
+import org.wangpai.mathlab.exception.checked.SyntaxException;
+import org.wangpai.mathlab.exp.model.CalculatorData;
+import org.wangpai.mathlab.exp.model.SymbolOutputStream;
+
+import static org.wangpai.mathlab.basic.enumeration.Symbol.EQUAL;
+
+/**
+ * 增量式的计算会话，用于逐键输入的前端界面
+ *
+ * CalculatorBackgroundFx.readExpression 每次都要从头解析整个表达式，因此每次按键的代价与表达式的长度成正比。
+ * 本类则在多次调用之间保留 CalculatorData 中的各个栈：每次 append 只处理新输入的符号，
+ * 每次 deleteLast 只撤销最后一个符号所引起的变化（参见 CalculatorData.beginUndoRecord）。
+ * 因此，每次按键的均摊代价为 O(1)，与表达式的长度无关
+ *
+ * 语法检查与计算的规则与 CalculatorBackgroundFx 完全相同。
+ * 如果输入的符号有语法错误，会抛出异常，且本会话的状态保持不变
+ *
+ * 注意：本类不是线程安全的
+ *
+ * @since 2026-10-18
+ */
+public class CalculatorSession {
+    private final CalculatorBackgroundFx engine;
+
+    private final CalculatorData calData = new CalculatorData();
+
+    /**
+     * 每个已输入的符号所对应的撤销记录
+     */
+    private final ArrayList<CalculatorData.UndoRecord> history = new ArrayList<>();
+
+    public CalculatorSession() {
+        this(new CalculatorBackgroundFx());
+    }
+
+    public CalculatorSession(CalculatorBackgroundFx engine) {
+        super();
+        this.engine = engine;
+    }
+
+    /**
+     * 输入一个符号
+     *
+     * @throws SyntaxException 输入的符号有语法错误，或者表达式已经结束（已输入等号）。此时本会话的状态保持不变
+     * @since 2026-10-18
+     */
+    public CalculatorSession append(Symbol input) throws MathlabCheckedException {
+        if (this.isFinished()) {
+            throw new SyntaxException("错误：表达式已经结束，不能再输入【" + input + "】");
+        }
+        this.history.add(this.feed(input));
+        return this;
+    }
+
+    /**
+     * 依次输入字符串中的每个符号，用于粘贴
+     *
+     * 如果其中某个符号有语法错误，本次输入的所有符号都会被撤销
+     *
+     * @since 2026-10-18
+     */
+    public CalculatorSession append(String str) throws MathlabCheckedException {
+        var symbols = new SymbolOutputStream().init(str).toArray();
+        int oldLength = this.history.size();
+        try {
+            for (var symbol : symbols) {
+                this.append(symbol);
+            }
+        } catch (MathlabCheckedException exception) {
+            while (this.history.size() > oldLength) {
+                this.deleteLast();
+            }
+            throw exception;
+        }
+        return this;
+    }
+
+    /**
+     * 删除最后输入的符号
+     *
+     * @return 被删除的符号。如果表达式为空，返回 null
+     * @since 2026-10-18
+     */
+    public Symbol deleteLast() {
+        if (this.history.isEmpty()) {
+            return null;
+        }
+        var last = this.calData.peekFromExp();
+        this.calData.undo(this.history.remove(this.history.size() - 1));
+        return last;
+    }
+
+    /**
+     * @since 2026-10-18
+     */
+    public CalculatorSession clear() {
+        this.calData.clearAllCalData();
+        this.history.clear();
+        return this;
+    }
+
+    /**
+     * 已输入的符号个数
+     *
+     * @since 2026-10-18
+     */
+    public int length() {
+        return this.history.size();
+    }
+
+    public boolean isEmpty() {
+        return this.history.isEmpty();
+    }
+
+    /**
+     * 是否已输入等号
+     *
+     * @since 2026-10-18
+     */
+    public boolean isFinished() {
+        return !this.calData.optrsIsEmpty() && this.calData.peekFromOptrs().getSymbol() == EQUAL;
+    }
+
+    /**
+     * 已输入的表达式
+     *
+     * @since 2026-10-18
+     */
+    public String getExpression() {
+        return this.calData.expToString();
+    }
+
+    /**
+     * 计算结果。如果还没有输入等号，返回的是自动补充等号之后的计算结果（与 CalculatorBackgroundFx 的自动计算相同）
+     *
+     * 此方法不会改变本会话的状态。其代价只与尚未完成计算的运算符的个数有关
+     *
+     * @return 如果表达式不完整，或者补充等号之后不能计算（如除数为 0），返回 null
+     * @since 2026-10-18
+     */
+    public Operand getResult() {
+        if (this.isFinished()) {
+            return this.calData.peekFromOpnds();
+        }
+        if (this.isEmpty()) {
+            return null;
+        }
+
+        CalculatorData.UndoRecord record;
+        try {
+            record = this.feed(EQUAL);
+        } catch (MathlabCheckedException exception) {
+            return null;
+        }
+        var result = this.calData.peekFromOpnds();
+        this.calData.undo(record);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return this.getExpression();
+    }
+
+    /**
+     * 处理一个符号。处理过程与 CalculatorBackgroundFx.expressionCheck 中的循环相同
+     *
+     * @return 本次处理的撤销记录。如果处理失败，本方法会先撤销本次处理，然后再抛出异常
+     * @lastModified 2026-10-18
+     */
+    private CalculatorData.UndoRecord feed(Symbol input) throws MathlabCheckedException {
+        this.calData.beginUndoRecord();
+        try {
+            var outputStream = new SymbolOutputStream().init(new Symbol[]{input});
+            /**
+             * 方法 readSymbol 在计算了一次之后会回退 outputStream，使得下一次读取到的依然是 input。
+             * 与 expressionCheck 相同，每次重新读取到 input 时都要重新进行语法检查。
+             * 当 input 为等号时，等号入栈之后循环结束
+             */
+            while (outputStream.hasNext() &&
+                    (this.calData.optrsIsEmpty() || this.calData.peekFromOptrs().getSymbol() != EQUAL)) {
+                var symbol = outputStream.next();
+                this.engine.syntaxCheck(this.calData, symbol);
+                this.engine.readSymbol(outputStream, this.calData, symbol);
+            }
+        } catch (MathlabCheckedException | RuntimeException exception) {
+            this.calData.undo(this.calData.endUndoRecord());
+            throw exception;
+        }
+        return this.calData.endUndoRecord();
+    }
+}
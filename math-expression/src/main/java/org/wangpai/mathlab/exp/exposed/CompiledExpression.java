@@ -0,0 +1,286 @@
+package org.wangpai.mathlab.exp.exposed;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.wangpai.mathlab.basic.enumeration.Symbol;
+import org.wangpai.mathlab.basic.operand.Decimal;
+import org.wangpai.mathlab.basic.operand.Operand;
+import org.wangpai.mathlab.basic.operand.Rational;
+import org.wangpai.mathlab.basic.operator.Operator;
+import org.wangpai.mathlab.exception.checked.MathlabCheckedException;
+import org.wangpai.mathlab.exception.checked.SyntaxException;
+import org.wangpai.mathlab.exception.checked.UndefinedException;
+import org.wangpai.mathlab.exp.model.CalculatorData;
+import org.wangpai.mathlab.exp.model.SymbolOutputStream;
+
+import static org.wangpai.mathlab.basic.enumeration.Symbol.DOT;
+import static org.wangpai.mathlab.basic.enumeration.Symbol.EQUAL;
+import static org.wangpai.mathlab.basic.enumeration.Symbol.LEFT_BRACKET;
+import static org.wangpai.mathlab.basic.enumeration.Symbol.RIGHT_BRACKET;
+import static org.wangpai.mathlab.basic.enumeration.Symbol.ZERO;
+
+/**
+ * 预编译的表达式
+ *
+ * 表达式只在方法 compile 中解析一次，解析结果为一个不可变的后缀表达式（逆波兰式）程序。
+ * 此后可以反复调用方法 evaluate 来计算，不需要再次进行词法分析、语法检查。
+ * 计算时使用的运算语义与 CalculatorBackgroundFx 相同（参见方法 CalculatorData.oneTimeCalculation）
+ *
+ * 本类的对象是不可变的，因此可以在多个线程之间共享
+ *
+ * 与 CalculatorBackgroundFx 的区别：
+ * > 本类不会自动纠正语法错误，也不会生成计算过程，只会抛出异常
+ * > 表达式可以以等号结尾，也可以省略等号。等号之后的内容将被忽略
+ *
+ * @since 2026-10-18
+ */
+public final class CompiledExpression {
+    /**
+     * 原表达式
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final String expression;
+
+    /**
+     * 后缀表达式程序。其中的元素为 Rational（操作数）或 Operator（二元运算符）
+     */
+    private final Object[] program;
+
+    /**
+     * 计算时操作数栈的最大深度
+     */
+    private final int maxStackDepth;
+
+    private CompiledExpression(String expression, Object[] program, int maxStackDepth) {
+        this.expression = expression;
+        this.program = program;
+        this.maxStackDepth = maxStackDepth;
+    }
+
+    /**
+     * 解析表达式
+     *
+     * 算法：逐个读取符号，在读取的同时进行语法检查（规则与 CalculatorBackgroundFx.syntaxCheck 相同），
+     * 然后使用调度场算法（shunting-yard）将中缀表达式转化为后缀表达式。操作数在此时就转化为 Rational。
+     * 操作数可以是循环小数（如 0.1(6)），此时小数部分之后的括号属于操作数，而不是表达式中的括号
+     *
+     * @throws UndefinedException 表达式中含有未定义符号
+     * @throws SyntaxException    表达式有语法错误，或者不完整。异常的 data 为出错位置之前的表达式
+     * @since 2026-10-18
+     */
+    public static CompiledExpression compile(String expression) throws MathlabCheckedException {
+        var symbols = new SymbolOutputStream().init(expression).toArray();
+
+        var program = new ArrayList<>(symbols.length);
+        var operators = new ArrayList<Symbol>(); // 运算符栈
+        var operandBuff = new ArrayList<Symbol>(); // 当前操作数的每一位，包括小数点
+        boolean operandHasDot = false;
+        boolean operandHasRepetend = false; // 当前操作数是否已有循环节（如 0.1(6)）
+        boolean repetendIsOpen = false; // 循环节的右括号是否还没有输入
+        int bracketDepth = 0;
+        int stackDepth = 0;
+        int maxStackDepth = 0;
+        Symbol last = null; // 上一个符号
+        boolean lastEndsOperand = false; // 上一个符号是否结束了一个操作数（数字，或循环节的右括号）
+
+        int index = 0;
+        for (; index < symbols.length && symbols[index] != EQUAL; ++index) {
+            var input = symbols[index];
+            if (repetendIsOpen && !(input.isDigit() || input == RIGHT_BRACKET)) {
+                throw CompiledExpression.syntaxError("循环节还没有结束，你不能在循环节里输入【" + input + "】", symbols, index);
+            }
+            if (input.isDigit()) {
+                if (last == RIGHT_BRACKET) {
+                    throw CompiledExpression.syntaxError("你不能在右括号后输入数字【" + input + "】", symbols, index);
+                }
+                if (operandBuff.size() == 1 && operandBuff.get(0) == ZERO) {
+                    throw CompiledExpression.syntaxError("你不能一开始就在数中输入【0】", symbols, index);
+                }
+                operandBuff.add(input);
+            } else if (input == DOT) {
+                if (last == null || !last.isDigit()) {
+                    throw CompiledExpression.syntaxError("在输入【.】前，你必须先输入一个合法的数", symbols, index);
+                }
+                if (operandHasDot) {
+                    throw CompiledExpression.syntaxError("你不能在一个数里输入两个【.】", symbols, index);
+                }
+                operandHasDot = true;
+                operandBuff.add(input);
+            } else if (input == LEFT_BRACKET && operandHasDot && !operandHasRepetend) {
+                // 小数的小数部分之后的左括号表示循环节的开始
+                operandHasRepetend = true;
+                repetendIsOpen = true;
+                operandBuff.add(input);
+            } else if (input == RIGHT_BRACKET && repetendIsOpen) {
+                if (last == LEFT_BRACKET) {
+                    throw CompiledExpression.syntaxError("循环节里什么也没有", symbols, index);
+                }
+                repetendIsOpen = false;
+                operandBuff.add(input);
+            } else if (input == LEFT_BRACKET) {
+                if (last != null && (last.isDigit() || last == DOT || last == RIGHT_BRACKET)) {
+                    throw CompiledExpression.syntaxError("左括号前面不能有字符【" + last + "】", symbols, index);
+                }
+                operators.add(input);
+                ++bracketDepth;
+            } else if (input == RIGHT_BRACKET) {
+                if (last == LEFT_BRACKET) {
+                    throw CompiledExpression.syntaxError("这一对括号里什么也没有", symbols, index);
+                }
+                if (!lastEndsOperand) {
+                    throw CompiledExpression.syntaxError("右括号前面不能有运算符【" + last + "】", symbols, index);
+                }
+                if (bracketDepth == 0) {
+                    throw CompiledExpression.syntaxError("右括号不匹配", symbols, index);
+                }
+                stackDepth = CompiledExpression.loadOperand(program, operandBuff, stackDepth);
+                maxStackDepth = Math.max(maxStackDepth, stackDepth);
+                operandHasDot = false;
+                operandHasRepetend = false;
+                Symbol top;
+                while ((top = operators.remove(operators.size() - 1)) != LEFT_BRACKET) {
+                    program.add(new Operator(top));
+                    --stackDepth;
+                }
+                --bracketDepth;
+            } else if (input.isBinaryOperator()) {
+                if (last == null || !(last.isDigit() || last == RIGHT_BRACKET)) {
+                    throw CompiledExpression.syntaxError("在输入【" + input + "】前，你必须先输入一个合法的数", symbols, index);
+                }
+                stackDepth = CompiledExpression.loadOperand(program, operandBuff, stackDepth);
+                maxStackDepth = Math.max(maxStackDepth, stackDepth);
+                operandHasDot = false;
+                operandHasRepetend = false;
+                // 栈顶运算符的优先级不低于当前运算符时，先计算栈顶运算符（左结合）
+                while (!operators.isEmpty() && operators.get(operators.size() - 1) != LEFT_BRACKET
+                        && CompiledExpression.priority(operators.get(operators.size() - 1))
+                        >= CompiledExpression.priority(input)) {
+                    program.add(new Operator(operators.remove(operators.size() - 1)));
+                    --stackDepth;
+                }
+                operators.add(input);
+            } else {
+                throw new UndefinedException("异常：表达式中不支持符号【" + input + "】",
+                        CompiledExpression.symbolsToString(symbols, index));
+            }
+            last = input;
+            // 表达式中的右括号会重置 operandHasRepetend，因此此处的右括号只可能是循环节的右括号
+            lastEndsOperand = input.isDigit() || (input == RIGHT_BRACKET && operandHasRepetend);
+        }
+
+        if (last == null) {
+            throw CompiledExpression.syntaxError("表达式为空", symbols, index);
+        }
+        if (!(last.isDigit() || last == RIGHT_BRACKET) || repetendIsOpen) {
+            throw CompiledExpression.syntaxError("表达式不完整", symbols, index);
+        }
+        if (bracketDepth != 0) {
+            throw CompiledExpression.syntaxError("左括号不能多于右括号", symbols, index);
+        }
+        stackDepth = CompiledExpression.loadOperand(program, operandBuff, stackDepth);
+        maxStackDepth = Math.max(maxStackDepth, stackDepth);
+        for (int order = operators.size() - 1; order >= 0; --order) {
+            program.add(new Operator(operators.get(order)));
+        }
+
+        return new CompiledExpression(expression, program.toArray(), maxStackDepth);
+    }
+
+    /**
+     * 计算表达式。每次调用都会根据后缀表达式程序重新计算
+     *
+     * @throws SyntaxException 计算过程中出现了除数为 0 的情况
+     * @since 2026-10-18
+     */
+    public Rational evaluate() throws MathlabCheckedException {
+        var stack = new Operand[this.maxStackDepth];
+        int top = 0;
+        for (var instruction : this.program) {
+            if (instruction instanceof Operator) {
+                var right = stack[--top];
+                var left = stack[--top];
+                stack[top++] = CalculatorData.oneTimeCalculation(left, (Operator) instruction, right);
+            } else {
+                stack[top++] = (Rational) instruction;
+            }
+        }
+        return (Rational) stack[0];
+    }
+
+    /**
+     * 后缀表达式程序的长度，即操作数与运算符的总个数
+     *
+     * @since 2026-10-18
+     */
+    public int getInstructionCount() {
+        return this.program.length;
+    }
+
+    /**
+     * 以后缀表达式的形式输出。各元素之间以空格分隔
+     *
+     * @since 2026-10-18
+     */
+    public String toPostfixString() {
+        var sb = new StringBuilder();
+        for (var instruction : this.program) {
+            if (sb.length() != 0) {
+                sb.append(" ");
+            }
+            sb.append(instruction);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return this.expression;
+    }
+
+    /**
+     * 将缓存的操作数转化为 Rational 并加入程序。如果缓存为空，什么也不做
+     *
+     * @return 加入之后操作数栈的深度
+     */
+    private static int loadOperand(List<Object> program, List<Symbol> operandBuff, int stackDepth) {
+        if (operandBuff.isEmpty()) {
+            return stackDepth;
+        }
+
+        // 结果已经是最简分数，因此计算时不会再修改此常量（参见 Rational 的延迟约分模式）
+        var rational = Decimal.parseRational(operandBuff.toArray(Symbol[]::new));
+        program.add(rational);
+        operandBuff.clear();
+        return stackDepth + 1;
+    }
+
+    /**
+     * 运算符优先级。数值越大，优先级越高。这与 CalculatorBackgroundFx.precede 的规则一致
+     */
+    private static int priority(Symbol operator) {
+        switch (operator) {
+            case MULTIPLY:
+            case DIVIDE:
+                return 2;
+            default:
+                return 1;
+        }
+    }
+
+    private static SyntaxException syntaxError(String msg, Symbol[] symbols, int errorIndex) {
+        return new SyntaxException("错误：" + msg, CompiledExpression.symbolsToString(symbols, errorIndex));
+    }
+
+    /**
+     * 将出错位置之前的符号转化为字符串
+     */
+    private static String symbolsToString(Symbol[] symbols, int endIndex) {
+        var sb = new StringBuilder();
+        for (int index = 0; index < endIndex; ++index) {
+            sb.append(symbols[index]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,262 @@
+package org.wangpai.mathlab.exp.exposed;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import org.wangpai.mathlab.basic.enumeration.Symbol;
+import org.wangpai.mathlab.basic.operand.Operand;
+import org.wangpai.mathlab.basic.operand.Rational;
+import org.wangpai.mathlab.exception.checked.MathlabCheckedException;
+import org.wangpai.mathlab.exp.model.CalculationResultOutput;
+
+/**
+ * 表达式缓存。以规范化之后的表达式为键，缓存其预编译结果（CompiledExpression）与计算结果（CalculationResultOutput）
+ *
+ * 淘汰策略为 LRU（最近最少使用）。当缓存的条目数超过 maxEntries，或估算的内存占用超过 maxMemoryBytes 时，
+ * 淘汰最久没有被访问的条目
+ *
+ * 本类是线程安全的。为了不阻塞其它线程，缓存未命中时的计算是在锁外进行的，
+ * 因此同一个表达式可能会被多个线程同时计算，但这不会影响结果的正确性
+ *
+ * @since 2026-10-18
+ */
+public class ExpressionCache {
+    /**
+     * 最大条目数
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final int maxEntries;
+
+    /**
+     * 最大内存占用（估算值，单位为字节）
+     */
+    @Getter(AccessLevel.PUBLIC)
+    private final long maxMemoryBytes;
+
+    /**
+     * 是否缓存计算结果。如果为 false，只缓存预编译结果
+     */
+    @Getter(AccessLevel.PUBLIC)
+    @Setter(AccessLevel.PUBLIC)
+    private volatile boolean cachingOutput = true;
+
+    /**
+     * 访问顺序的 LinkedHashMap，其第一个条目就是最久没有被访问的条目
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long memoryBytes = 0;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * 缓存条目。两个字段均可能为 null，代表尚未缓存
+     */
+    private static final class Entry {
+        private CompiledExpression compiled;
+        private CalculationResultOutput output;
+        private long memoryBytes;
+    }
+
+    public ExpressionCache(int maxEntries, long maxMemoryBytes) {
+        super();
+        if (maxEntries <= 0 || maxMemoryBytes <= 0) {
+            throw new IllegalArgumentException("错误：缓存的容量必须为正数");
+        }
+        this.maxEntries = maxEntries;
+        this.maxMemoryBytes = maxMemoryBytes;
+    }
+
+    /**
+     * 规范化表达式：将每个字符替换为其对应的 Symbol 的标准形式，如将“*”、“x”替换为“X”。未定义的字符保持不变
+     *
+     * 因为 CalculatorBackgroundFx 只通过 Symbol 来处理表达式，所以规范化前后的表达式的计算结果完全相同
+     *
+     * @since 2026-10-18
+     */
+    public static String normalize(String expression) {
+        var sb = new StringBuilder(expression.length());
+        for (int index = 0; index < expression.length(); ++index) {
+            char ch = expression.charAt(index);
+            var symbol = Symbol.fromChar(ch);
+            if (symbol == null) {
+                sb.append(ch);
+            } else {
+                sb.append(symbol);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 获取缓存的计算结果。返回的是缓存对象的副本，因此调用者可以修改它
+     *
+     * @return 如果没有缓存，返回 null
+     * @since 2026-10-18
+     */
+    public CalculationResultOutput getOutput(String expression) {
+        var key = ExpressionCache.normalize(expression);
+        CalculationResultOutput output;
+        synchronized (this) {
+            var entry = this.entries.get(key);
+            output = entry == null ? null : entry.output;
+        }
+        this.count(output != null);
+        return output == null ? null : output.clone();
+    }
+
+    /**
+     * 缓存计算结果。缓存的是 output 的副本
+     *
+     * @since 2026-10-18
+     */
+    public void putOutput(String expression, CalculationResultOutput output) {
+        if (!this.cachingOutput) {
+            return;
+        }
+        var key = ExpressionCache.normalize(expression);
+        var copy = output.clone();
+        if (copy.getResult() instanceof Rational) {
+            // 在放入缓存（即在多个线程之间共享）之前约分，使读取缓存的线程不必各自再约分（参见 Rational 的延迟约分模式）
+            ((Rational) copy.getResult()).reduceFraction();
+        }
+        synchronized (this) {
+            var entry = this.entries.computeIfAbsent(key, ignored -> new Entry());
+            entry.output = copy;
+            this.updateMemory(key, entry);
+            this.evict();
+        }
+    }
+
+    /**
+     * 获取预编译结果。如果没有缓存，就编译并缓存
+     *
+     * 编译失败时，异常会直接抛出，且不会被缓存
+     *
+     * @since 2026-10-18
+     */
+    public CompiledExpression getCompiled(String expression) throws MathlabCheckedException {
+        var key = ExpressionCache.normalize(expression);
+        synchronized (this) {
+            var entry = this.entries.get(key);
+            if (entry != null && entry.compiled != null) {
+                this.count(true);
+                return entry.compiled;
+            }
+        }
+        this.count(false);
+
+        var compiled = CompiledExpression.compile(key);
+        synchronized (this) {
+            var entry = this.entries.computeIfAbsent(key, ignored -> new Entry());
+            entry.compiled = compiled;
+            this.updateMemory(key, entry);
+            this.evict();
+        }
+        return compiled;
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * 估算的内存占用（单位为字节）
+     */
+    public synchronized long getMemoryBytes() {
+        return this.memoryBytes;
+    }
+
+    public long getHitCount() {
+        return this.hitCount.get();
+    }
+
+    public long getMissCount() {
+        return this.missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return this.evictionCount.get();
+    }
+
+    /**
+     * 清空缓存。统计数据不会被清空
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+        this.memoryBytes = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ExpressionCache(size=%d, memoryBytes=%d, hit=%d, miss=%d, eviction=%d)",
+                this.size(), this.getMemoryBytes(), this.getHitCount(), this.getMissCount(),
+                this.getEvictionCount());
+    }
+
+    private void count(boolean isHit) {
+        if (isHit) {
+            this.hitCount.incrementAndGet();
+        } else {
+            this.missCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * 此方法必须在持有锁时调用
+     */
+    private void updateMemory(String key, Entry entry) {
+        this.memoryBytes -= entry.memoryBytes;
+        entry.memoryBytes = ExpressionCache.estimate(key, entry);
+        this.memoryBytes += entry.memoryBytes;
+    }
+
+    /**
+     * 淘汰最久没有被访问的条目，直到满足容量限制。此方法必须在持有锁时调用
+     */
+    private void evict() {
+        var iterator = this.entries.values().iterator();
+        while ((this.entries.size() > this.maxEntries || this.memoryBytes > this.maxMemoryBytes)
+                && iterator.hasNext()) {
+            var eldest = iterator.next();
+            iterator.remove();
+            this.memoryBytes -= eldest.memoryBytes;
+            this.evictionCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * 估算一个条目的内存占用。这只是一个粗略的估算：
+     * 每个对象按 16 字节的对象头计算，每个字符按 2 字节计算，每个操作数按其分子、分母的位数计算
+     */
+    private static long estimate(String key, Entry entry) {
+        long bytes = 64 + ExpressionCache.estimate(key);
+        if (entry.compiled != null) {
+            bytes += 64 + 16L * entry.compiled.getInstructionCount();
+            bytes += ExpressionCache.estimate(entry.compiled.getExpression());
+        }
+        if (entry.output != null) {
+            bytes += 64 + ExpressionCache.estimate(entry.output.getStateMsg())
+                    + ExpressionCache.estimate(entry.output.getPromptMsg())
+                    + ExpressionCache.estimate(entry.output.getCalculationProcess())
+                    + ExpressionCache.estimate(entry.output.getResult());
+        }
+        return bytes;
+    }
+
+    private static long estimate(String str) {
+        return str == null ? 0 : 40 + 2L * str.length();
+    }
+
+    private static long estimate(Operand operand) {
+        if (operand instanceof Rational) {
+            var rational = (Rational) operand;
+            return 64 + (rational.getNumerator().bitLength() + rational.getDenominator().bitLength()) / 8;
+        }
+        return operand == null ? 0 : 64;
+    }
+}
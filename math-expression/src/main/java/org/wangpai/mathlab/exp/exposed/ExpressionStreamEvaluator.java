@@ -0,0 +1,292 @@
+package org.wangpai.mathlab.exp.exposed;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.wangpai.mathlab.basic.operand.Rational;
+import org.wangpai.mathlab.exp.model.CalculationResultOutput;
+
+/**
+ * 流式表达式计算器。逐行读取表达式，计算后逐行写出结果，适用于很大的表达式文件
+ *
+ * 输入中的每一行为一个表达式，空行会被跳过。每个表达式输出一条记录，记录的顺序与输入的顺序相同。
+ * 记录的字段为：行号、表达式，以及 CalculationResultOutput 的各字段。输出格式参见 OutputFormat
+ *
+ * 内存占用：读取、计算、写出三个阶段构成一条流水线。读取的表达式在计算完成并写出之前，
+ * 最多只能有 windowSize 个（即一个滑动窗口）。窗口满时，读取会暂停，直到最早的表达式的结果被写出为止（反压）。
+ * 因此，内存占用只与 windowSize 有关，而与输入的大小无关
+ *
+ * 本类的对象在设置完参数之后可以被多个线程同时使用
+ *
+ * @since 2026-10-18
+ */
+@Getter(AccessLevel.PUBLIC)
+@Accessors(chain = true)
+public class ExpressionStreamEvaluator {
+    /**
+     * 输出格式
+     */
+    public enum OutputFormat {
+        /**
+         * CSV（RFC 4180）。第一行为表头，字段中含有逗号、引号或换行符时会加上引号
+         */
+        CSV,
+
+        /**
+         * JSON Lines。每行为一个 JSON 对象
+         */
+        JSON_LINES
+    }
+
+    private static final String[] FIELD_NAMES = {
+            "line", "expression", "state", "result", "stateMsg", "promptMsg", "calculationProcess"};
+
+    private OutputFormat format = OutputFormat.CSV;
+
+    /**
+     * 计算时的并行度
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 滑动窗口的大小，即已读取但尚未写出的表达式的最大个数
+     */
+    private int windowSize = 1024;
+
+    public ExpressionStreamEvaluator setFormat(OutputFormat format) {
+        if (format == null) {
+            throw new IllegalArgumentException("错误：输出格式不能为 null");
+        }
+        this.format = format;
+        return this;
+    }
+
+    public ExpressionStreamEvaluator setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("错误：并行度必须为正数");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public ExpressionStreamEvaluator setWindowSize(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("错误：窗口大小必须为正数");
+        }
+        this.windowSize = windowSize;
+        return this;
+    }
+
+    /**
+     * 从文件 input 中读取表达式，将结果写入文件 output。文件的编码均为 UTF-8
+     *
+     * @return 计算的表达式个数
+     * @since 2026-10-18
+     */
+    public long evaluate(Path input, Path output) throws IOException {
+        try (var reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             var writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            return this.evaluate(reader, writer);
+        }
+    }
+
+    /**
+     * 从文件 input 中读取表达式，将结果写入 writer。本方法不会关闭 writer
+     *
+     * @return 计算的表达式个数
+     * @since 2026-10-18
+     */
+    public long evaluate(Path input, Writer writer) throws IOException {
+        try (var reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            return this.evaluate(reader, writer);
+        }
+    }
+
+    /**
+     * 从 reader 中读取表达式，将结果写入 writer。本方法不会关闭 reader 与 writer，但会在结束时刷新 writer
+     *
+     * 算法：调用者的线程负责读取与写出，计算在线程池中进行。已提交的计算任务按读取的顺序放入一个队列（滑动窗口），
+     * 队列满时，先等待并写出队首的结果，然后才读取下一行
+     *
+     * @return 计算的表达式个数
+     * @since 2026-10-18
+     */
+    public long evaluate(Reader reader, Writer writer) throws IOException {
+        var bufferedReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        var bufferedWriter = writer instanceof BufferedWriter ? (BufferedWriter) writer : new BufferedWriter(writer);
+        var window = new ArrayDeque<PendingRecord>(Math.min(this.windowSize, 1024));
+        ExecutorService pool = Executors.newFixedThreadPool(this.parallelism);
+        long count = 0;
+        try {
+            if (this.format == OutputFormat.CSV) {
+                this.writeCsvLine(bufferedWriter, FIELD_NAMES);
+            }
+
+            String line;
+            long lineNumber = 0;
+            while ((line = bufferedReader.readLine()) != null) {
+                ++lineNumber;
+                final var expression = line.strip();
+                if (expression.isEmpty()) {
+                    continue;
+                }
+                if (window.size() >= this.windowSize) {
+                    this.writeRecord(bufferedWriter, window.poll());
+                }
+                window.add(new PendingRecord(lineNumber, expression,
+                        pool.submit(() -> CalculatorApi.calculateIsolated(expression))));
+                ++count;
+            }
+            while (!window.isEmpty()) {
+                this.writeRecord(bufferedWriter, window.poll());
+            }
+            bufferedWriter.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+        return count;
+    }
+
+    private static final class PendingRecord {
+        private final long lineNumber;
+        private final String expression;
+        private final Future<CalculationResultOutput> output;
+
+        private PendingRecord(long lineNumber, String expression, Future<CalculationResultOutput> output) {
+            this.lineNumber = lineNumber;
+            this.expression = expression;
+            this.output = output;
+        }
+    }
+
+    /**
+     * 等待记录的计算结果，然后将其写出
+     */
+    private void writeRecord(Writer writer, PendingRecord record) throws IOException {
+        CalculationResultOutput output;
+        try {
+            output = record.output.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IOException("异常：流式计算被中断", exception);
+        } catch (ExecutionException exception) {
+            // calculateIsolated 不会抛出 RuntimeException，因此这里只可能是 Error
+            var cause = exception.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("异常：计算表达式时发生了错误", cause);
+        }
+
+        var result = output.getResult();
+        String resultStr = null;
+        if (result instanceof Rational) {
+            resultStr = ((Rational) result).toString(false);
+        } else if (result != null) {
+            resultStr = result.toString();
+        }
+        String[] fields = {
+                String.valueOf(record.lineNumber),
+                record.expression,
+                output.getState() == null ? null : output.getState().name(),
+                resultStr,
+                output.getStateMsg(),
+                output.getPromptMsg(),
+                output.getCalculationProcess()};
+
+        if (this.format == OutputFormat.CSV) {
+            this.writeCsvLine(writer, fields);
+        } else {
+            this.writeJsonLine(writer, fields);
+        }
+    }
+
+    private void writeCsvLine(Writer writer, String[] fields) throws IOException {
+        for (int index = 0; index < fields.length; ++index) {
+            if (index != 0) {
+                writer.write(',');
+            }
+            var field = fields[index];
+            if (field == null) {
+                continue;
+            }
+            if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0
+                    || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(field.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(field);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * 字段 line 输出为 JSON 数值，其它字段输出为 JSON 字符串（为 null 时输出为 null）
+     */
+    private void writeJsonLine(Writer writer, String[] fields) throws IOException {
+        writer.write('{');
+        for (int index = 0; index < fields.length; ++index) {
+            if (index != 0) {
+                writer.write(',');
+            }
+            writer.write('"');
+            writer.write(FIELD_NAMES[index]);
+            writer.write("\":");
+            var field = fields[index];
+            if (index == 0) {
+                writer.write(field);
+            } else if (field == null) {
+                writer.write("null");
+            } else {
+                ExpressionStreamEvaluator.writeJsonString(writer, field);
+            }
+        }
+        writer.write("}\n");
+    }
+
+    private static void writeJsonString(Writer writer, String str) throws IOException {
+        writer.write('"');
+        for (int index = 0; index < str.length(); ++index) {
+            char ch = str.charAt(index);
+            switch (ch) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (ch < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) ch));
+                    } else {
+                        writer.write(ch);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,159 @@
+package org.wangpai.mathlab.exp.model;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * 基于数组的栈。与 java.util.Stack 不同，本类没有同步，因此不是线程安全的
+ *
+ * 栈底的序号为 0，入栈、出栈操作均是在栈顶进行的。栈为空时，pop、peek 会抛出 EmptyStackException（与 Stack 相同）
+ *
+ * 撤销：调用 beginUndoRecord 之后，本栈会记录被弹出的原有元素，直到调用 endUndoRecord 为止。
+ * 之后可以通过方法 undo 将本栈恢复到调用 beginUndoRecord 时的状态。记录与撤销的代价均与这期间的出栈、入栈次数成正比
+ *
+ * @since 2026-10-18
+ */
+final class ArrayStack<T> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] elements;
+
+    private int size = 0;
+
+    /**
+     * 不为 null 时，说明正在记录
+     */
+    private UndoRecord record = null;
+
+    /**
+     * 撤销记录
+     */
+    static final class UndoRecord {
+        /**
+         * 开始记录时栈的大小
+         */
+        private final int markSize;
+
+        /**
+         * 记录期间栈的最小大小
+         */
+        private int lowWater;
+
+        /**
+         * 记录期间被弹出的原有元素。序号为 k 的元素原来位于栈中序号为 markSize - 1 - k 的位置
+         */
+        private Object[] saved = null;
+
+        private UndoRecord(int markSize) {
+            this.markSize = markSize;
+            this.lowWater = markSize;
+        }
+
+        private void save(Object element) {
+            int count = this.markSize - this.lowWater;
+            if (this.saved == null) {
+                this.saved = new Object[4];
+            } else if (count == this.saved.length) {
+                this.saved = Arrays.copyOf(this.saved, count * 2);
+            }
+            this.saved[count] = element;
+            --this.lowWater;
+        }
+    }
+
+    ArrayStack() {
+        this.elements = new Object[DEFAULT_CAPACITY];
+    }
+
+    private ArrayStack(Object[] elements, int size) {
+        this.elements = elements;
+        this.size = size;
+    }
+
+    void push(T element) {
+        if (this.size == this.elements.length) {
+            this.elements = Arrays.copyOf(this.elements, this.size * 2);
+        }
+        this.elements[this.size++] = element;
+    }
+
+    @SuppressWarnings("unchecked")
+    T pop() {
+        if (this.size == 0) {
+            throw new EmptyStackException();
+        }
+        var element = (T) this.elements[--this.size];
+        this.elements[this.size] = null; // 便于垃圾回收
+        if (this.record != null && this.size < this.record.lowWater) {
+            this.record.save(element);
+        }
+        return element;
+    }
+
+    @SuppressWarnings("unchecked")
+    T peek() {
+        if (this.size == 0) {
+            throw new EmptyStackException();
+        }
+        return (T) this.elements[this.size - 1];
+    }
+
+    /**
+     * 获取序号为 index 的元素。栈底的序号为 0
+     */
+    @SuppressWarnings("unchecked")
+    T get(int index) {
+        return (T) this.elements[index];
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    void clear() {
+        if (this.record != null) {
+            while (this.size > 0) {
+                this.pop();
+            }
+            return;
+        }
+        Arrays.fill(this.elements, 0, this.size, null);
+        this.size = 0;
+    }
+
+    void beginUndoRecord() {
+        this.record = new UndoRecord(this.size);
+    }
+
+    UndoRecord endUndoRecord() {
+        var ended = this.record;
+        this.record = null;
+        return ended;
+    }
+
+    /**
+     * 恢复到记录开始时的状态。调用此方法时，本栈必须处于记录结束时的状态
+     */
+    @SuppressWarnings("unchecked")
+    void undo(UndoRecord undoRecord) {
+        int oldSize = this.size;
+        this.size = undoRecord.lowWater;
+        for (int index = undoRecord.markSize - undoRecord.lowWater - 1; index >= 0; --index) {
+            this.push((T) undoRecord.saved[index]);
+        }
+        if (oldSize > this.size) {
+            Arrays.fill(this.elements, this.size, oldSize, null);
+        }
+    }
+
+    /**
+     * 复制的栈不会复制撤销记录
+     */
+    ArrayStack<T> copy() {
+        return new ArrayStack<>(this.elements.clone(), this.size);
+    }
+}
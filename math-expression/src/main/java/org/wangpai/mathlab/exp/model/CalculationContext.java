@@ -0,0 +1,43 @@
+package org.wangpai.mathlab.exp.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import static org.wangpai.mathlab.exp.model.CalculatorState.INIT;
+
+/**
+ * 表达式计算的上下文。储存单次（或同一个使用者多次）计算的状态与回调函数
+ *
+ * CalculatorBackgroundFx 本身不储存与计算有关的状态，所有的状态都储存在本类中。
+ * 因此，多个线程可以共享同一个 CalculatorBackgroundFx，只要每个线程使用各自的 CalculationContext 即可
+ *
+ * 注意：本类不是线程安全的，不能在多个线程之间共享
+ *
+ * @since 2026-10-18
+ */
+@Getter
+@Setter
+@Accessors(chain = true)
+public class CalculationContext {
+    private CalculatorState state = INIT;
+
+    /**
+     * 已生成计算过程的次数，用于计算过程的编号
+     */
+    private int calculationTimes = 0;
+
+    /**
+     * 规定：这些 xxxAction 函数对象只能在 CalculatorBackgroundFx 的 notifyXXX 方法中被调用
+     */
+
+    private Action autoCalculateAction = null;
+
+    private Action errorOccurredAction = null;
+
+    private Action defaultPromptMsgAction = null;
+
+    private Action processUpdatedAction = null;
+
+    private Action resultCameOutAction = null;
+}
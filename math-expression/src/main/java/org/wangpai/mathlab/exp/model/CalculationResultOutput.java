@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
 import org.wangpai.mathlab.basic.operand.Operand;
 
 import static org.wangpai.mathlab.exp.model.CalculatorState.INIT;
@@ -15,7 +16,8 @@ import static org.wangpai.mathlab.exp.model.CalculatorState.INIT;
 @Setter
 @ToString
 @Accessors(chain = true)
-public class CalculationResultOutput {
+@Slf4j
+public class CalculationResultOutput implements Cloneable {
     CalculatorState state = INIT;
 
     String stateMsg = "";
@@ -25,4 +27,19 @@ public class CalculationResultOutput {
     String calculationProcess = "";
 
     Operand result;
+
+    /**
+     * 浅克隆。因为各字段均为不可变对象（Rational 的值不会改变），所以不需要深克隆
+     *
+     * @since 2026-10-18
+     */
+    @Override
+    public CalculationResultOutput clone() {
+        try {
+            return (CalculationResultOutput) super.clone();
+        } catch (CloneNotSupportedException exception) {
+            log.error("发生了非自定义异常：", exception);
+            return null; // 此语句只用于占位
+        }
+    }
 }
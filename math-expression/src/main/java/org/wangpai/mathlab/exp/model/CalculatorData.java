@@ -1,9 +1,6 @@
 package org.wangpai.mathlab.exp.model;
 
-import java.util.Collections;
-import java.util.Stack;
-import lombok.AccessLevel;
-import lombok.Getter;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.wangpai.mathlab.basic.enumeration.Symbol;
 import org.wangpai.mathlab.basic.operand.Decimal;
@@ -20,12 +17,15 @@ import static org.wangpai.mathlab.basic.enumeration.Symbol.LEFT_BRACKET;
 import static org.wangpai.mathlab.basic.enumeration.Symbol.RIGHT_BRACKET;
 
 /**
+ * 本类的对象只在单次计算中使用，因此各栈均为不同步的数组栈（参见 ArrayStack、SymbolStack），而不是 java.util.Stack
+ *
  * @since 2021-8-1
+ * @lastModified 2026-10-18
  */
 @Slf4j
 public final class CalculatorData implements Cloneable {
     /**
-     * 注意：对于 Stack，其栈底的序号为 0，入栈、出栈操作均是在栈顶进行的
+     * 注意：对于栈，其栈底的序号为 0，入栈、出栈操作均是在栈顶进行的
      */
 
     /**
@@ -33,21 +33,81 @@ public final class CalculatorData implements Cloneable {
      *
      * 目前，这个栈里面储存的是有理数。这是由方法 loadOpnd 来决定的
      */
-    @Getter(AccessLevel.PUBLIC)
-    private Stack<Operand> opnds = new Stack<>();
+    private ArrayStack<Operand> opnds = new ArrayStack<>();
 
     // opndBuff：operand buffer 缓存的操作数的每一位的值，包括小数点
-    private Stack<Symbol> opndBuff = new Stack<>();
+    private SymbolStack opndBuff = new SymbolStack();
 
     // optrs：operator 运算符
-    private Stack<Operator> optrs = new Stack<>();
+    private ArrayStack<Operator> optrs = new ArrayStack<>();
 
     // exp：expresion 当前已读取的表达式
-    @Getter(AccessLevel.PUBLIC)
-    private Stack<Symbol> exp = new Stack<>();
+    private SymbolStack exp = new SymbolStack();
 
     // 对已读取的表达式进行计算后的表达式。其中，此表达式可为操作数或运算符
-    private Stack<Object> calculatedExp = new Stack<>();
+    private ArrayStack<Object> calculatedExp = new ArrayStack<>();
+
+    /**
+     * optrs 中左括号的个数减去右括号的个数。在 optrs 入栈、出栈时增量地维护，
+     * 使得括号匹配的检查不需要扫描 optrs
+     */
+    private int bracketDepth = 0;
+
+    /**
+     * 最近输入的操作数的状态。与 bracketDepth 一样在方法 pushSymbol 中增量地维护，
+     * 使得每次输入时的语法检查不需要扫描 opndBuff。
+     *
+     * 注意：此状态在操作数之后的运算符入栈时才重置，而不是在方法 loadOpnd 中重置。
+     * 因为运算符的优先级较低时，会被退回输入流并再次进行语法检查，此时操作数已经被 loadOpnd 取走了
+     */
+    private OperandState operandState = OperandState.EMPTY_OR_INTEGER;
+
+    /**
+     * 操作数的状态。只会按声明的顺序向后变化，直到操作数被清空
+     *
+     * @since 2026-10-18
+     */
+    private enum OperandState {
+        EMPTY_OR_INTEGER, // 没有小数点
+        HAS_DOT, // 有小数点，还没有循环节
+        REPETEND_OPEN, // 已输入循环节的左括号，还没有输入右括号
+        REPETEND_CLOSED // 循环节已结束
+    }
+
+    /**
+     * 撤销记录。其内容只能由本类读取
+     *
+     * @since 2026-10-18
+     */
+    public static final class UndoRecord {
+        private final ArrayStack.UndoRecord opnds;
+        private final SymbolStack.UndoRecord opndBuff;
+        private final ArrayStack.UndoRecord optrs;
+        private final SymbolStack.UndoRecord exp;
+        private final ArrayStack.UndoRecord calculatedExp;
+        private final int bracketDepth;
+        private final OperandState operandState;
+
+        private UndoRecord(CalculatorData calData, int bracketDepth, OperandState operandState) {
+            this.opnds = calData.opnds.endUndoRecord();
+            this.opndBuff = calData.opndBuff.endUndoRecord();
+            this.optrs = calData.optrs.endUndoRecord();
+            this.exp = calData.exp.endUndoRecord();
+            this.calculatedExp = calData.calculatedExp.endUndoRecord();
+            this.bracketDepth = bracketDepth;
+            this.operandState = operandState;
+        }
+    }
+
+    /**
+     * 最近一次开始记录时 bracketDepth 的值
+     */
+    private int recordedBracketDepth = 0;
+
+    /**
+     * 最近一次开始记录时 operandState 的值
+     */
+    private OperandState recordedOperandState = OperandState.EMPTY_OR_INTEGER;
 
     public CalculatorData() {
         super();
@@ -69,23 +129,34 @@ public final class CalculatorData implements Cloneable {
         return this.exp.peek();
     }
 
+    /**
+     * 当前已读取的表达式。返回的是副本，不会随本对象的变化而变化
+     *
+     * @since 2021-8-1
+     * @lastModified 2026-10-18
+     */
+    public List<Symbol> getExp() {
+        return this.exp.toList();
+    }
+
     public boolean optrsIsEmpty() {
-        return this.optrs.empty();
+        return this.optrs.isEmpty();
     }
 
     public boolean opndsIsEmpty() {
-        return this.opnds.empty();
+        return this.opnds.isEmpty();
     }
 
     public boolean opndBuffIsEmpty() {
-        return this.opndBuff.empty();
+        return this.opndBuff.isEmpty();
     }
 
     public boolean expIsEmpty() {
-        return this.exp.empty();
+        return this.exp.isEmpty();
     }
 
     public void pushToOptrs(Operator operator) {
+        this.updateBracketDepth(operator, 1);
         this.optrs.push(operator);
     }
 
@@ -94,7 +165,9 @@ public final class CalculatorData implements Cloneable {
     }
 
     public Operator popFromOptrs() {
-        return this.optrs.pop();
+        var operator = this.optrs.pop();
+        this.updateBracketDepth(operator, -1);
+        return operator;
     }
 
     public Symbol popFromExp() {
@@ -110,19 +183,77 @@ public final class CalculatorData implements Cloneable {
     }
 
     /**
-     * @lastModified 2021-8-8
+     * 括号 symbol 是否为当前操作数的循环节的括号（如 0.1(6) 中的括号），而不是表达式中的括号。
+     * 满足下列条件之一即可：
+     * > 1. 为左括号，且当前操作数已有小数点，还没有循环节
+     * > 2. 为右括号，且当前操作数的循环节还没有结束
+     *
+     * @since 2026-10-18
+     */
+    public boolean isRepetendBracket(Symbol symbol) {
+        if (symbol == LEFT_BRACKET) {
+            return this.operandState == OperandState.HAS_DOT;
+        } else if (symbol == RIGHT_BRACKET) {
+            return this.operandState == OperandState.REPETEND_OPEN;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * 当前操作数中是否已有小数点
+     *
+     * @since 2026-10-18
+     */
+    public boolean operandHasDot() {
+        return this.operandState != OperandState.EMPTY_OR_INTEGER;
+    }
+
+    /**
+     * 当前操作数是否已输入循环节的左括号，但还没有输入右括号
+     *
+     * @since 2026-10-18
+     */
+    public boolean repetendIsOpen() {
+        return this.operandState == OperandState.REPETEND_OPEN;
+    }
+
+    /**
+     * 当前操作数的循环节是否已结束。此时最近输入的符号就是循环节的右括号，它结束了当前操作数
+     *
+     * @since 2026-10-18
+     */
+    public boolean repetendIsClosed() {
+        return this.operandState == OperandState.REPETEND_CLOSED;
+    }
+
+    private void updateOperandState(Symbol symbol) {
+        if (symbol == DOT) {
+            this.operandState = OperandState.HAS_DOT;
+        } else if (symbol == LEFT_BRACKET) {
+            this.operandState = OperandState.REPETEND_OPEN;
+        } else if (symbol == RIGHT_BRACKET) {
+            this.operandState = OperandState.REPETEND_CLOSED;
+        }
+    }
+
+    /**
+     * @lastModified 2026-10-18
      * @since 2021-8-1
      */
     public void pushSymbol(Symbol symbol) {
-        if (symbol.isDigit() || symbol == DOT) {
+        if (symbol.isDigit() || symbol == DOT || this.isRepetendBracket(symbol)) {
+            this.updateOperandState(symbol);
             this.opndBuff.push(symbol);
         } else if (symbol == RIGHT_BRACKET) {
+            this.operandState = OperandState.EMPTY_OR_INTEGER;
+
             /**
              * 执行到此处，说明遇到成对的括号，且此对括号中就只包含一个操作数。
              * 此时应该将前面的左括号弹出
              */
 
-            this.optrs.pop();
+            this.popFromOptrs();
 
             /**
              * 因为需要弹出的是左括号，而不是左括号右边的操作数。
@@ -133,13 +264,14 @@ public final class CalculatorData implements Cloneable {
             this.calculatedExp.pop();
             this.calculatedExp.push(temp);
         } else {
+            this.operandState = OperandState.EMPTY_OR_INTEGER;
             Operator operator = null;
             try {
                 operator = new Operator(symbol);
             } catch (Exception exception) {
                 log.error("异常：", exception);
             }
-            this.optrs.push(operator);
+            this.pushToOptrs(operator);
             this.calculatedExp.push(operator);
         }
 
@@ -147,49 +279,52 @@ public final class CalculatorData implements Cloneable {
     }
 
     /**
+     * 注意：optrs 中实际上不会有右括号，因为右括号入栈时（参见 pushSymbol）会与左括号一起出栈
+     *
      * @return 左右括号相等时，返回 0；左括号多于右括号，返回 1；左括号小于右括号，返回 2
+     * @since 2021-8-1
+     * @lastModified 2026-10-18
      */
     public int bracketMatch() {
-        var antiOptrs = (Stack<Operator>) this.optrs.clone(); // antiOptrs：anti optr optr的反转
-        Collections.reverse(antiOptrs);
-
-        Stack<Symbol> brackets = new Stack<>();
-
-        while (!antiOptrs.empty()) {
-            var tempOptr = antiOptrs.pop().getSymbol();
-            switch (tempOptr) {
-                case LEFT_BRACKET:
-                    brackets.push(tempOptr);
-                    break;
-                case RIGHT_BRACKET:
-                    if (!brackets.empty() && LEFT_BRACKET == brackets.peek()) {
-                        brackets.pop();
-                    } else {
-                        return 2;
-                    }
-                default:
-                    break;
-            }
-        }
-
-        // 如果最后 brackets 为空，说明左右括号相等
-        if (brackets.empty()) {
+        if (this.bracketDepth == 0) {
             return 0;
-        } else { // 如果最后 brackets 不为空，说明左括号数量多于右括号
+        } else if (this.bracketDepth > 0) {
             return 1;
+        } else {
+            return 2;
         }
     }
 
     /**
-     * @lastModified 2021-8-8
+     * 如果此时再输入一个右括号，其是否有与之匹配的左括号
+     *
+     * @since 2026-10-18
+     */
+    public boolean hasUnmatchedLeftBracket() {
+        return this.bracketDepth > 0;
+    }
+
+    private void updateBracketDepth(Operator operator, int direction) {
+        if (operator == null) {
+            return;
+        }
+        if (operator.getSymbol() == LEFT_BRACKET) {
+            this.bracketDepth += direction;
+        } else if (operator.getSymbol() == RIGHT_BRACKET) {
+            this.bracketDepth -= direction;
+        }
+    }
+
+    /**
+     * @lastModified 2026-10-18
      * @since 2021-8-4
      */
     public boolean loadOpnd() {
-        if (this.opndBuff.empty()) {
+        if (this.opndBuff.isEmpty()) {
             return false;
         }
 
-        var rational = new Decimal(this.opndBuff.toArray(Symbol[]::new)).toRational();
+        var rational = Decimal.parseRational(this.opndBuff.toArray());
         this.opnds.push(rational);
         this.calculatedExp.push(rational);
         this.opndBuff.clear();
@@ -198,10 +333,10 @@ public final class CalculatorData implements Cloneable {
 
     /**
      * @since 2021-8-5
-     * @lastModified 2021-10-12
+     * @lastModified 2026-10-18
      */
     public Operand oneTimeCalculation() throws MathlabCheckedException {
-        var optr = this.optrs.pop();
+        var optr = this.popFromOptrs();
         var opndRight = this.opnds.pop();
         var opndLeft = this.opnds.pop();
         for (int i = 1; i <= 3; ++i) {
@@ -249,7 +384,7 @@ public final class CalculatorData implements Cloneable {
     }
 
     /**
-     * @lastModified 2021-8-8
+     * @lastModified 2026-10-18
      * @since 2021-8-1
      */
     @Override
@@ -261,17 +396,60 @@ public final class CalculatorData implements Cloneable {
             log.error("发生了非自定义异常：", exception);
         }
 
-        cloned.opnds = (Stack<Operand>) this.opnds.clone();
-        cloned.opndBuff = (Stack<Symbol>) this.opndBuff.clone();
-        cloned.optrs = (Stack<Operator>) this.optrs.clone();
-        cloned.exp = (Stack<Symbol>) this.exp.clone();
-        cloned.calculatedExp = (Stack<Object>) this.calculatedExp.clone();
+        cloned.opnds = this.opnds.copy();
+        cloned.opndBuff = this.opndBuff.copy();
+        cloned.optrs = this.optrs.copy();
+        cloned.exp = this.exp.copy();
+        cloned.calculatedExp = this.calculatedExp.copy();
 
         return cloned;
     }
 
+    /**
+     * 开始记录本对象的变化，直到调用 endUndoRecord 为止。之后可以通过方法 undo 将本对象恢复到此时的状态
+     *
+     * 记录与撤销的代价均只与这期间的入栈、出栈次数成正比，而与已读取的表达式的长度无关
+     *
+     * @since 2026-10-18
+     */
+    public void beginUndoRecord() {
+        this.opnds.beginUndoRecord();
+        this.opndBuff.beginUndoRecord();
+        this.optrs.beginUndoRecord();
+        this.exp.beginUndoRecord();
+        this.calculatedExp.beginUndoRecord();
+        this.recordedBracketDepth = this.bracketDepth;
+        this.recordedOperandState = this.operandState;
+    }
+
+    /**
+     * @since 2026-10-18
+     */
+    public UndoRecord endUndoRecord() {
+        return new UndoRecord(this, this.recordedBracketDepth, this.recordedOperandState);
+    }
+
+    /**
+     * 恢复到 record 开始记录时的状态
+     *
+     * 如果有多个撤销记录，必须按与记录相反的顺序撤销。即，调用此方法时，本对象必须处于 record 记录结束时的状态
+     *
+     * @since 2026-10-18
+     */
+    public CalculatorData undo(UndoRecord record) {
+        this.opnds.undo(record.opnds);
+        this.opndBuff.undo(record.opndBuff);
+        this.optrs.undo(record.optrs);
+        this.exp.undo(record.exp);
+        this.calculatedExp.undo(record.calculatedExp);
+        this.bracketDepth = record.bracketDepth;
+        this.operandState = record.operandState;
+        return this;
+    }
+
     /**
      * @since 2021-8-4
+     * @lastModified 2026-10-18
      */
     public CalculatorData clearAllCalData() {
         this.opnds.clear();
@@ -279,28 +457,27 @@ public final class CalculatorData implements Cloneable {
         this.optrs.clear();
         this.exp.clear();
         this.calculatedExp.clear();
+        this.bracketDepth = 0;
+        this.operandState = OperandState.EMPTY_OR_INTEGER;
         return this;
     }
 
     /**
      * @since 2021-8-9
+     * @lastModified 2026-10-18
      */
     public String expToString() {
-        StringBuilder sb = new StringBuilder();
-        for (var symbol : this.exp) {
-            sb.append(symbol);
-        }
-        return sb.toString();
+        return this.exp.toString();
     }
 
     /**
      * @since 2021-8-9
-     * @lastModified 2021-10-12
+     * @lastModified 2026-10-18
      */
     public String calculatedExpToString() {
         StringBuilder sb = new StringBuilder();
-        for (var ele : this.calculatedExp) {
-            sb.append(ele);
+        for (int index = 0; index < this.calculatedExp.size(); ++index) {
+            sb.append(this.calculatedExp.get(index));
         }
         return sb.toString();
     }
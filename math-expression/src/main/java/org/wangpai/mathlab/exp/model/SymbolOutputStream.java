@@ -1,5 +1,6 @@
 package org.wangpai.mathlab.exp.model;
 
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -16,7 +17,8 @@ public final class SymbolOutputStream extends OutputStream<Symbol> {
      *
      * 注意：此字段的形参不要改为“List<Symbol []>”
      *
-     * 如果本对象是由特殊的方法初始化的，则此字段可能为 null
+     * 如果本对象是由特殊的方法初始化的，则此字段可能为 null。
+     * 由字符初始化时，词法分析由 SymbolTokenizer 一次完成，不再生成此字段（为 null）
      */
     protected List<String> sSInfo;
 
@@ -77,17 +79,26 @@ public final class SymbolOutputStream extends OutputStream<Symbol> {
     }
 
     /**
-     * @lastModified 2021-8-8
+     * @lastModified 2026-10-18
      * @since 2021-8-1
      */
     public SymbolOutputStream init(String str) throws UndefinedException {
-        return this.init(str.toCharArray());
+        return this.init(str, SymbolTokenizer.DEFAULT);
+    }
+
+    /**
+     * 使用指定的词法分析器进行初始化，可用于支持由多个字符组成的符号（参见 SymbolTokenizer.withToken）
+     *
+     * @since 2026-10-18
+     */
+    public SymbolOutputStream init(CharSequence text, SymbolTokenizer tokenizer) throws UndefinedException {
+        var ordinals = tokenizer.tokenize(text);
+        return this.init(SymbolTokenizer.toSymbols(ordinals, ordinals.length));
     }
 
     public SymbolOutputStream init(Symbol[] symbols) {
         this.sSInfo = null;
         super.length = symbols.length;
-        super.outputStream = new ArrayList<>();
         this.resetIndex();
 
         super.outputStream = new ArrayList<>(Arrays.asList(symbols));
@@ -95,23 +106,14 @@ public final class SymbolOutputStream extends OutputStream<Symbol> {
         return this;
     }
 
+    /**
+     * 算法：参见 SymbolTokenizer
+     *
+     * @since 2021-8-1
+     * @lastModified 2026-10-18
+     */
     public SymbolOutputStream init(char[] charArray) throws UndefinedException {
-        var preInitCheck = SymbolOutputStream.preInitCheck(charArray);
-        if (preInitCheck != null) {
-            throw new UndefinedException("异常：输入了未定义符号", preInitCheck);
-        }
-
-        this.sSInfo = SymbolOutputStream.tidy(charArray);
-        super.length = this.sSInfo.size();
-        super.outputStream = new ArrayList<>(super.length);
-        this.resetIndex();
-
-        for (var originSymbol : this.sSInfo) {
-            Symbol symbol = Symbol.getEnum(originSymbol);
-            super.outputStream.add(symbol);
-        }
-
-        return this;
+        return this.init(CharBuffer.wrap(charArray), SymbolTokenizer.DEFAULT);
     }
 
     /**
@@ -163,57 +165,15 @@ public final class SymbolOutputStream extends OutputStream<Symbol> {
         return super.clone();
     }
 
-    /**
-     * 将输入进行语义解析。如果一个运算符由二个及以上的元素组成，此方法会将这几个元素合并
-     *
-     * 如果此方法检测出了 symbols 中的错误，会将具体的错误点作为异常的第二个参数抛出
-     *
-     * 因为目前每个按钮对应的符号都由一个字符组成，所以目前这个函数不需要作额外的事情
-     *
-     * @since 2021-8-1
-     */
-    private static List<String> tidy(char[] charArray) throws UndefinedException {
-        var result = new ArrayList<String>();
-        for (var ch : charArray) {
-            result.add(Character.toString(ch));
-        }
-
-        if (false) { // 示意代码
-            throw new UndefinedException("敬请期待", charArray);
-        }
-
-        return result;
-    }
-
     /**
      * @return 返回值为 null，代表本方法没有检测出错误。
      * 如果检测出错误，则此方法会将前面没有错误的字符串返回。
      * 如果输入的字符串在一开始就有错误，则将返回空串（不是 null）
+     * @lastModified 2026-10-18
      */
-    private static String preInitCheck(char[] charArray) {
-        List<String> originSymbols = null;
-        try {
-            originSymbols = SymbolOutputStream.tidy(charArray);
-        } catch (UndefinedException exception) {
-            var data = exception.getData();
-            if (data instanceof String) {
-                return (String) data;
-            }
-        }
-
-        // 已检测的部分
-        StringBuilder detectedParts = new StringBuilder();
-
-        for (var originSymbol : originSymbols) {
-            Symbol symbol = Symbol.getEnum(originSymbol);
-            if (symbol == null) {
-                return detectedParts.toString();
-            } else {
-                detectedParts.append(originSymbol);
-            }
-        }
-
-        return null;
+    public static String preInitCheck(CharSequence text) {
+        int index = SymbolTokenizer.DEFAULT.findUndefined(text);
+        return index < 0 ? null : text.subSequence(0, index).toString();
     }
 
     /**
@@ -224,8 +184,4 @@ public final class SymbolOutputStream extends OutputStream<Symbol> {
     public Symbol[] toArray() {
         return this.outputStream.toArray(Symbol[]::new);
     }
-
-    public static String preInitCheck(String str) {
-        return SymbolOutputStream.preInitCheck(str.toCharArray());
-    }
 }
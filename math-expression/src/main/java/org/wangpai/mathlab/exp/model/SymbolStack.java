@@ -0,0 +1,178 @@
+package org.wangpai.mathlab.exp.model;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.List;
+import org.wangpai.mathlab.basic.enumeration.Symbol;
+
+/**
+ * 元素为 Symbol 的栈。内部只储存每个 Symbol 的序号（ordinal），每个元素只占一个字节
+ *
+ * 与 java.util.Stack 不同，本类没有同步，因此不是线程安全的。
+ * 栈底的序号为 0，入栈、出栈操作均是在栈顶进行的。栈为空时，pop、peek 会抛出 EmptyStackException（与 Stack 相同）
+ *
+ * 撤销记录的用法与 ArrayStack 相同
+ *
+ * @since 2026-10-18
+ */
+final class SymbolStack {
+    private static final int DEFAULT_CAPACITY = 32;
+
+    private byte[] ordinals;
+
+    private int size = 0;
+
+    /**
+     * 不为 null 时，说明正在记录
+     */
+    private UndoRecord record = null;
+
+    /**
+     * 撤销记录。各字段的含义与 ArrayStack.UndoRecord 相同
+     */
+    static final class UndoRecord {
+        private final int markSize;
+
+        private int lowWater;
+
+        private byte[] saved = null;
+
+        private UndoRecord(int markSize) {
+            this.markSize = markSize;
+            this.lowWater = markSize;
+        }
+
+        private void save(byte ordinal) {
+            int count = this.markSize - this.lowWater;
+            if (this.saved == null) {
+                this.saved = new byte[8];
+            } else if (count == this.saved.length) {
+                this.saved = Arrays.copyOf(this.saved, count * 2);
+            }
+            this.saved[count] = ordinal;
+            --this.lowWater;
+        }
+    }
+
+    SymbolStack() {
+        this.ordinals = new byte[DEFAULT_CAPACITY];
+    }
+
+    private SymbolStack(byte[] ordinals, int size) {
+        this.ordinals = ordinals;
+        this.size = size;
+    }
+
+    void push(Symbol symbol) {
+        if (this.size == this.ordinals.length) {
+            this.ordinals = Arrays.copyOf(this.ordinals, this.size * 2);
+        }
+        this.ordinals[this.size++] = (byte) symbol.ordinal();
+    }
+
+    Symbol pop() {
+        if (this.size == 0) {
+            throw new EmptyStackException();
+        }
+        var ordinal = this.ordinals[--this.size];
+        if (this.record != null && this.size < this.record.lowWater) {
+            this.record.save(ordinal);
+        }
+        return Symbol.fromOrdinal(ordinal);
+    }
+
+    Symbol peek() {
+        if (this.size == 0) {
+            throw new EmptyStackException();
+        }
+        return Symbol.fromOrdinal(this.ordinals[this.size - 1]);
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    void clear() {
+        if (this.record != null) {
+            while (this.size > 0) {
+                this.pop();
+            }
+            return;
+        }
+        this.size = 0;
+    }
+
+    void beginUndoRecord() {
+        this.record = new UndoRecord(this.size);
+    }
+
+    UndoRecord endUndoRecord() {
+        var ended = this.record;
+        this.record = null;
+        return ended;
+    }
+
+    /**
+     * 恢复到记录开始时的状态。调用此方法时，本栈必须处于记录结束时的状态
+     */
+    void undo(UndoRecord undoRecord) {
+        this.size = undoRecord.lowWater;
+        for (int index = undoRecord.markSize - undoRecord.lowWater - 1; index >= 0; --index) {
+            if (this.size == this.ordinals.length) {
+                this.ordinals = Arrays.copyOf(this.ordinals, this.size * 2);
+            }
+            this.ordinals[this.size++] = undoRecord.saved[index];
+        }
+    }
+
+    /**
+     * 语义与 Stack.search 相同：返回 symbol 距栈顶的距离（栈顶为 1）。如果栈中没有 symbol，返回 -1
+     */
+    int search(Symbol symbol) {
+        var ordinal = (byte) symbol.ordinal();
+        for (int index = this.size - 1; index >= 0; --index) {
+            if (this.ordinals[index] == ordinal) {
+                return this.size - index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 按从栈底到栈顶的顺序输出
+     */
+    Symbol[] toArray() {
+        var symbols = new Symbol[this.size];
+        for (int index = 0; index < this.size; ++index) {
+            symbols[index] = Symbol.fromOrdinal(this.ordinals[index]);
+        }
+        return symbols;
+    }
+
+    /**
+     * 按从栈底到栈顶的顺序输出。返回的是副本，不会随本栈的变化而变化
+     */
+    List<Symbol> toList() {
+        return Arrays.asList(this.toArray());
+    }
+
+    /**
+     * 复制的栈不会复制撤销记录
+     */
+    SymbolStack copy() {
+        return new SymbolStack(this.ordinals.clone(), this.size);
+    }
+
+    @Override
+    public String toString() {
+        var sb = new StringBuilder(this.size);
+        for (int index = 0; index < this.size; ++index) {
+            sb.append(Symbol.fromOrdinal(this.ordinals[index]));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,170 @@
+package org.wangpai.mathlab.exp.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.wangpai.mathlab.basic.enumeration.Symbol;
+import org.wangpai.mathlab.exception.checked.UndefinedException;
+
+/**
+ * 词法分析器：将字符序列转化为 Symbol 序列
+ *
+ * 只遍历一次字符序列，结果为每个 Symbol 的序号（ordinal）组成的 byte 数组（可用 Symbol.fromOrdinal 还原），
+ * 除了结果本身之外不会创建任何对象
+ *
+ * 单个字符的符号通过查表得到（参见 Symbol.fromChar）。
+ * 此外，还可以通过方法 withToken 注册由多个字符组成的符号（如“**”、“÷”），此时采用最长匹配的原则
+ *
+ * 本类的对象是不可变的，可以在多个线程之间共享
+ *
+ * @since 2026-10-18
+ */
+public final class SymbolTokenizer {
+    /**
+     * 只支持单个字符的符号的词法分析器
+     */
+    public static final SymbolTokenizer DEFAULT = new SymbolTokenizer(Map.of());
+
+    /**
+     * 多字符符号。键为符号的第一个字符，值为以该字符开头的所有符号，按长度从长到短排列
+     */
+    private final Map<Character, Token[]> multiCharTokens;
+
+    private static final class Token {
+        private final String text;
+        private final byte ordinal;
+
+        private Token(String text, Symbol symbol) {
+            this.text = text;
+            this.ordinal = (byte) symbol.ordinal();
+        }
+    }
+
+    private SymbolTokenizer(Map<Character, Token[]> multiCharTokens) {
+        this.multiCharTokens = multiCharTokens;
+    }
+
+    /**
+     * 注册一个符号的外形。本对象不会改变，返回的是一个新的词法分析器
+     *
+     * 如果 text 与已有的外形相同，新注册的外形优先
+     *
+     * @since 2026-10-18
+     */
+    public SymbolTokenizer withToken(String text, Symbol symbol) {
+        if (text == null || text.isEmpty() || symbol == null) {
+            throw new IllegalArgumentException("错误：符号及其外形不能为空");
+        }
+        var tokens = new HashMap<>(this.multiCharTokens);
+        var old = tokens.getOrDefault(text.charAt(0), new Token[0]);
+        var merged = new Token[old.length + 1];
+        int count = 0;
+        merged[count++] = new Token(text, symbol);
+        for (var token : old) {
+            if (!token.text.equals(text)) {
+                merged[count++] = token;
+            }
+        }
+        merged = Arrays.copyOf(merged, count);
+        Arrays.sort(merged, (first, second) -> second.text.length() - first.text.length()); // 稳定排序
+        tokens.put(text.charAt(0), merged);
+        return new SymbolTokenizer(Map.copyOf(tokens));
+    }
+
+    /**
+     * @return 每个 Symbol 的序号
+     * @throws UndefinedException 含有未定义符号。异常的 data 为第一个未定义符号之前的字符串（参见 SymbolOutputStream.preInitCheck），
+     *                            其长度即为第一个未定义符号的位置
+     * @since 2026-10-18
+     */
+    public byte[] tokenize(CharSequence text) throws UndefinedException {
+        int length = text.length();
+        var ordinals = new byte[length]; // 符号的个数不会多于字符的个数
+        int count = 0;
+        int index = 0;
+        while (index < length) {
+            int matched = this.match(text, index, ordinals, count);
+            if (matched == 0) {
+                throw new UndefinedException("异常：输入了未定义符号", text.subSequence(0, index).toString());
+            }
+            index += matched;
+            ++count;
+        }
+        return count == length ? ordinals : Arrays.copyOf(ordinals, count);
+    }
+
+    /**
+     * 第一个未定义符号的位置
+     *
+     * @return 如果没有未定义符号，返回 -1
+     * @since 2026-10-18
+     */
+    public int findUndefined(CharSequence text) {
+        int length = text.length();
+        int index = 0;
+        while (index < length) {
+            int matched = this.match(text, index, null, 0);
+            if (matched == 0) {
+                return index;
+            }
+            index += matched;
+        }
+        return -1;
+    }
+
+    /**
+     * 将 ordinals 的前 count 个元素还原为 Symbol
+     *
+     * @since 2026-10-18
+     */
+    public static Symbol[] toSymbols(byte[] ordinals, int count) {
+        var symbols = new Symbol[count];
+        for (int index = 0; index < count; ++index) {
+            symbols[index] = Symbol.fromOrdinal(ordinals[index]);
+        }
+        return symbols;
+    }
+
+    /**
+     * 匹配位于 index 处的一个符号。如果 ordinals 不为 null，将其序号写入 ordinals[position]
+     *
+     * @return 匹配的字符个数。为 0 时，说明没有匹配到任何符号
+     */
+    private int match(CharSequence text, int index, byte[] ordinals, int position) {
+        char ch = text.charAt(index);
+        if (!this.multiCharTokens.isEmpty()) {
+            var tokens = this.multiCharTokens.get(ch);
+            if (tokens != null) {
+                for (var token : tokens) {
+                    if (SymbolTokenizer.regionMatches(text, index, token.text)) {
+                        if (ordinals != null) {
+                            ordinals[position] = token.ordinal;
+                        }
+                        return token.text.length();
+                    }
+                }
+            }
+        }
+
+        var symbol = Symbol.fromChar(ch);
+        if (symbol == null) {
+            return 0;
+        }
+        if (ordinals != null) {
+            ordinals[position] = (byte) symbol.ordinal();
+        }
+        return 1;
+    }
+
+    private static boolean regionMatches(CharSequence text, int index, String token) {
+        if (index + token.length() > text.length()) {
+            return false;
+        }
+        for (int offset = 0; offset < token.length(); ++offset) {
+            if (text.charAt(index + offset) != token.charAt(offset)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,132 @@
+package org.wangpai.mathlab.exp.exposed;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.wangpai.mathlab.basic.operand.Rational;
+import org.wangpai.mathlab.exception.checked.MathlabCheckedException;
+import org.wangpai.mathlab.exception.checked.SyntaxException;
+import org.wangpai.mathlab.exp.model.CalculationResultOutput;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 多线程压力测试：所有线程共享同一个计算引擎，检查 1 至 N 个线程时计算结果的正确性
+ *
+ * 吞吐量参见 math-benchmark 中的 CalculatorApiThroughputBenchmark
+ *
+ * @since 2026-10-18
+ */
+public class CalculatorApiConcurrencyTest {
+    private static final String[] EXPRESSIONS = {
+            "1-(1-6)=",
+            "(1-2)-(3-4)=",
+            "1+22*88+33+44=",
+            "1+22*(88+33+55)+44=",
+            "1+22*(88/(1-3)+55)+44=",
+            "234234.623*6345-234/1234+234*(254-45.23542)=",
+            "3-2-1=",
+            "8/4/2=",
+            "1/0=",
+            "1++2=",
+            "(1+2=",
+            "0.125*(8-0.5)/3="};
+
+    private static final int TIMES_PER_THREAD = 200;
+
+    @Test
+    public void calculateExpressionWithoutCache() throws Exception {
+        var expected = new CalculationResultOutput[EXPRESSIONS.length];
+        for (int index = 0; index < EXPRESSIONS.length; ++index) {
+            expected[index] = CalculatorApi.calculateExpressionWithoutCache(EXPRESSIONS[index]);
+        }
+
+        for (int threads = 1; threads <= maxThreads(); threads *= 2) {
+            runConcurrently(threads, order -> {
+                for (int count = 0; count < TIMES_PER_THREAD; ++count) {
+                    int index = (order + count) % EXPRESSIONS.length;
+                    var actual = CalculatorApi.calculateExpressionWithoutCache(EXPRESSIONS[index]);
+                    assertSameOutput(expected[index], actual, EXPRESSIONS[index]);
+                }
+            });
+        }
+    }
+
+    @Test
+    public void evaluateCompiled() throws Exception {
+        var compiled = new ArrayList<CompiledExpression>();
+        // 预期结果。为 null 时，说明计算过程中会出错（如除数为 0），evaluate 应抛出 SyntaxException
+        var expected = new ArrayList<Rational>();
+        for (var expression : EXPRESSIONS) {
+            try {
+                compiled.add(CompiledExpression.compile(expression));
+            } catch (MathlabCheckedException ignored) {
+                continue; // 语法错误的表达式不参与本测试
+            }
+            expected.add((Rational) CalculatorApi.calculateExpressionWithoutCache(expression).getResult());
+        }
+
+        for (int threads = 1; threads <= maxThreads(); threads *= 2) {
+            runConcurrently(threads, order -> {
+                for (int count = 0; count < TIMES_PER_THREAD * 50; ++count) {
+                    int index = (order + count) % compiled.size();
+                    var expression = compiled.get(index);
+                    if (expected.get(index) == null) {
+                        assertThrows(SyntaxException.class, expression::evaluate, expression.getExpression());
+                    } else {
+                        assertEquals(expected.get(index), expression.evaluate(), expression.getExpression());
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * 线程数为 1、2、4……直至 CPU 核数（至多为 8）
+     */
+    private static int maxThreads() {
+        return Math.min(Runtime.getRuntime().availableProcessors(), 8);
+    }
+
+    private interface Task {
+        void run(int order) throws Exception;
+    }
+
+    /**
+     * 让所有线程同时开始执行 task，等待它们全部结束。task 中抛出的异常（包括断言失败）会被重新抛出
+     */
+    private static void runConcurrently(int threads, Task task) throws Exception {
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<Future<Object>>();
+            for (int order = 0; order < threads; ++order) {
+                final int order_ = order;
+                Callable<Object> callable = () -> {
+                    start.await();
+                    task.run(order_);
+                    return null;
+                };
+                futures.add(executor.submit(callable));
+            }
+            start.countDown();
+            for (var future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertSameOutput(CalculationResultOutput expected, CalculationResultOutput actual,
+                                         String expression) {
+        assertEquals(expected.getResult(), actual.getResult(), expression);
+        assertEquals(expected.getStateMsg(), actual.getStateMsg(), expression);
+        assertEquals(expected.getPromptMsg(), actual.getPromptMsg(), expression);
+        assertEquals(expected.getCalculationProcess(), actual.getCalculationProcess(), expression);
+    }
+}
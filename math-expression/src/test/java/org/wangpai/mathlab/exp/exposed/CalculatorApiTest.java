@@ -0,0 +1,58 @@
+package org.wangpai.mathlab.exp.exposed;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.wangpai.mathlab.exp.model.CalculatorState;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @since 2026-10-18
+ */
+public class CalculatorApiTest {
+    /**
+     * 结果的顺序应与输入的顺序相同，且与逐个计算的结果相同
+     */
+    @Test
+    public void calculateAll() {
+        var expressions = new ArrayList<String>();
+        for (int index = 1; index <= 500; ++index) {
+            expressions.add(index + "*(" + index + "+1)/2=");
+        }
+
+        for (int parallelism : new int[]{1, 2, 4}) {
+            var results = CalculatorApi.calculateAll(expressions, parallelism);
+            assertEquals(expressions.size(), results.size());
+            for (int index = 0; index < expressions.size(); ++index) {
+                assertEquals(CalculatorApi.calculateExpressionWithoutCache(expressions.get(index)).getResult(),
+                        results.get(index).getResult(), expressions.get(index));
+            }
+        }
+
+        assertEquals(CalculatorApi.calculateAll(expressions.stream(), 3).get(99).getResult(),
+                CalculatorApi.calculateAll(expressions.iterator(), 3).get(99).getResult());
+    }
+
+    /**
+     * 出错的表达式只影响它自己的结果
+     */
+    @Test
+    public void calculateAll_error() {
+        List<String> expressions = Arrays.asList("1+2=", "1/0=", "(1).5=", null, "3*4=");
+        var results = CalculatorApi.calculateAll(expressions, 2);
+
+        assertEquals(CalculatorApi.calculateExpression("1+2=").getResult(), results.get(0).getResult());
+        assertFalse(results.get(1).getStateMsg().isEmpty());
+        assertEquals(CalculatorState.ERROR, results.get(2).getState());
+        assertNull(results.get(2).getResult());
+        assertEquals(CalculatorState.ERROR, results.get(3).getState());
+        assertEquals(CalculatorApi.calculateExpression("3*4=").getResult(), results.get(4).getResult());
+
+        assertThrows(IllegalArgumentException.class, () -> CalculatorApi.calculateAll(expressions, 0));
+    }
+}
@@ -0,0 +1,155 @@
+package org.wangpai.mathlab.exp.exposed;
+
+import org.junit.jupiter.api.Test;
+import org.wangpai.mathlab.basic.enumeration.Symbol;
+import org.wangpai.mathlab.basic.operand.Rational;
+import org.wangpai.mathlab.exception.checked.MathlabCheckedException;
+import org.wangpai.mathlab.exception.checked.SyntaxException;
+import org.wangpai.mathlab.exp.model.SymbolOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since 2026-10-18
+ */
+public class CalculatorSessionTest {
+    private static final String[] EXPRESSIONS = {
+            "1-(1-6)=",
+            "(1-2)-(3-4)=",
+            "1+22*(88/(1-3)+55)+44=",
+            "234234.623*6345-234/1234+234*(254-45.23542)=",
+            "((1+2)*3)/(4-5)=",
+            "8/4/2=",
+            "(0.1(6))=",
+            "(1+0.(3))*3=",
+            "2-1.2(34)/0.(5)="};
+
+    /**
+     * 逐个符号输入时，每一步的自动计算结果都应与 CalculatorApi 对该前缀补充等号之后的计算结果相同
+     */
+    @Test
+    public void append() throws MathlabCheckedException {
+        for (var expression : EXPRESSIONS) {
+            var session = new CalculatorSession();
+            var symbols = new SymbolOutputStream().init(expression).toArray();
+            var prefix = new StringBuilder();
+            for (var symbol : symbols) {
+                session.append(symbol);
+                prefix.append(symbol);
+                assertEquals(prefix.toString(), session.getExpression());
+                var completed = symbol == Symbol.EQUAL ? prefix.toString() : prefix + "=";
+                assertEquals(CalculatorApi.calculateExpressionWithoutCache(completed).getResult(),
+                        session.getResult(), completed);
+            }
+            assertTrue(session.isFinished());
+            assertEquals(symbols.length, session.length());
+        }
+    }
+
+    /**
+     * 优先级较低的运算符会在计算之后被退回并重新读取（参见 CalculatorBackgroundFx.readSymbol），
+     * 此时也要与 CalculatorBackgroundFx 一样重新进行语法检查。逐键输入的结果应与一次性计算的结果相同
+     */
+    @Test
+    public void append_rollback() throws MathlabCheckedException {
+        String[] expressions = {"1*2*3-4/2+1=", "(1+0.(3))=", "(1+0.(3))*3=", "2-1.2(34)/0.(5)=",
+                "(1+2*3)-4=", "1+2*(3-0.1(6))="};
+        for (var expression : expressions) {
+            var expected = CalculatorApi.calculateExpressionWithoutCache(expression).getResult();
+            var session = new CalculatorSession();
+            try {
+                for (var symbol : new SymbolOutputStream().init(expression).toArray()) {
+                    session.append(symbol);
+                }
+            } catch (SyntaxException exception) {
+                assertNull(expected, expression); // 逐键输入时报错的表达式，一次性计算时也应报错
+                continue;
+            }
+            assertEquals(expected, session.getResult(), expression);
+        }
+    }
+
+    /**
+     * 删除之后的状态应与直接输入该前缀的状态相同
+     */
+    @Test
+    public void deleteLast() throws MathlabCheckedException {
+        for (var expression : EXPRESSIONS) {
+            var session = new CalculatorSession().append(expression);
+            var symbols = new SymbolOutputStream().init(expression).toArray();
+            for (int length = symbols.length - 1; length >= 0; --length) {
+                assertEquals(symbols[length], session.deleteLast());
+                var expected = new CalculatorSession();
+                for (int index = 0; index < length; ++index) {
+                    expected.append(symbols[index]);
+                }
+                assertEquals(expected.getExpression(), session.getExpression());
+                assertEquals(expected.getResult(), session.getResult(), expected.getExpression());
+            }
+            assertTrue(session.isEmpty());
+            assertNull(session.deleteLast());
+
+            // 删除之后可以继续输入
+            session.append(expression);
+            assertEquals(CalculatorApi.calculateExpressionWithoutCache(expression).getResult(), session.getResult());
+        }
+    }
+
+    /**
+     * 有语法错误的输入不会改变会话的状态
+     */
+    @Test
+    public void append_error() throws MathlabCheckedException {
+        var session = new CalculatorSession().append("1+(2");
+        assertThrows(SyntaxException.class, () -> session.append(Symbol.ADD.toString() + Symbol.ADD));
+        assertEquals("1+(2", session.getExpression());
+        assertThrows(SyntaxException.class, () -> session.append(Symbol.EQUAL));
+        assertEquals("1+(2", session.getExpression());
+        assertNull(session.getResult());
+
+        session.append(")");
+        assertEquals(new Rational(3), session.getResult());
+        assertThrows(SyntaxException.class, () -> session.append(Symbol.RIGHT_BRACKET));
+
+        session.append("/0");
+        assertNull(session.getResult()); // 除数为 0
+        session.deleteLast();
+        session.append("3=");
+        assertEquals(new Rational(5, 3), session.getResult());
+        assertFalse(session.isEmpty());
+        assertThrows(SyntaxException.class, () -> session.append(Symbol.ONE));
+        assertEquals("1+(2)/3=", session.getExpression());
+
+        // 循环节结束之后不能直接输入左括号，但可以输入表达式中的右括号
+        var repetend = new CalculatorSession().append("(0.1(6)");
+        assertThrows(SyntaxException.class, () -> repetend.append(Symbol.LEFT_BRACKET));
+        assertEquals("(0.1(6)", repetend.getExpression());
+        repetend.append(")=");
+        assertEquals(new Rational(1, 6), repetend.getResult());
+    }
+
+    /**
+     * 长表达式的逐键输入与删除
+     */
+    @Test
+    public void longExpression() throws MathlabCheckedException {
+        final int terms = 20000;
+        var session = new CalculatorSession();
+        for (int index = 0; index < terms; ++index) {
+            if (index != 0) {
+                session.append(Symbol.ADD);
+            }
+            session.append(Symbol.LEFT_BRACKET).append(Symbol.ONE).append(Symbol.RIGHT_BRACKET);
+            session.getResult();
+        }
+        assertEquals(new Rational(terms), session.getResult());
+        for (int index = 0; index < 4; ++index) {
+            session.deleteLast();
+        }
+        assertEquals(new Rational(terms - 1), session.getResult());
+    }
+}
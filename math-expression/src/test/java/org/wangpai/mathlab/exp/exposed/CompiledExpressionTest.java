@@ -0,0 +1,138 @@
+package org.wangpai.mathlab.exp.exposed;
+
+import org.junit.jupiter.api.Test;
+import org.wangpai.mathlab.basic.operand.Rational;
+import org.wangpai.mathlab.exception.checked.MathlabCheckedException;
+import org.wangpai.mathlab.exception.checked.SyntaxException;
+import org.wangpai.mathlab.exception.checked.UndefinedException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @since 2026-10-18
+ */
+public class CompiledExpressionTest {
+    /**
+     * 计算结果应与 CalculatorApi.calculateExpression 相同
+     */
+    @Test
+    public void evaluate() throws MathlabCheckedException {
+        String[] expressions = {
+                "1-(1-6)=",
+                "(1-2)-(3-4)=",
+                "1+22*88+33+44=",
+                "1+22*(88+33+55)+44=",
+                "1+22*(88/(1-3)+55)+44=",
+                "234234.623*6345-234/1234+234*(254-45.23542)=",
+                "1.2+3=",
+                "0.5+1=",
+                "(1)=",
+                "3-2-1=",
+                "8/4/2=",
+                "((1+2)*3)=",
+                "1=2",
+                "0.(3)*3=",
+                "1+0.1(6)*6=",
+                "(0.(142857)+1)*7=",
+                "2-1.2(34)/0.(5)=",
+                "(0.1(6))=",
+                "(1+0.(3))*3="};
+        for (var expression : expressions) {
+            var compiled = CompiledExpression.compile(expression);
+            assertEquals(CalculatorApi.calculateExpression(expression).getResult(), compiled.evaluate(),
+                    expression);
+            // 可以反复计算
+            assertEquals(compiled.evaluate(), compiled.evaluate(), expression);
+        }
+
+        // 可以省略等号
+        assertEquals(new Rational(14), CalculatorApi.compile("2*(3+4)").evaluate());
+        assertEquals("2 3 4 + X", CalculatorApi.compile("2*(3+4)").toPostfixString());
+        assertEquals("1 2 - 3 4 - -", CalculatorApi.compile("(1-2)-(3-4)=").toPostfixString());
+    }
+
+    @Test
+    public void compile_error() throws MathlabCheckedException {
+        String[] expressions = {"", "=", "1+", "(1+2", "1.=", ".1", "01+1", "1------2", "((1+2))",
+                "(1+(2))", "1+2)", "()", "1(2)",
+                "0.(3", "0.()", "0.(3)5", "0.(3).1", "0.(1+2)"};
+        for (var expression : expressions) {
+            assertThrows(SyntaxException.class, () -> CompiledExpression.compile(expression), expression);
+            assertNull(CalculatorApi.calculateExpression(expression + "=").getResult(), expression);
+        }
+        // CalculatorBackgroundFx 对于以下表达式没有报错，但其计算结果是无意义的
+        assertThrows(SyntaxException.class, () -> CompiledExpression.compile("(1)(2)"));
+        assertThrows(SyntaxException.class, () -> CompiledExpression.compile("(1).5"));
+        assertThrows(SyntaxException.class, () -> CompiledExpression.compile("0.1(2)(3)"));
+
+        var exception = assertThrows(SyntaxException.class, () -> CompiledExpression.compile("1+2*+3"));
+        assertEquals("1+2X", exception.getData());
+        assertThrows(UndefinedException.class, () -> CompiledExpression.compile("1+a"));
+        // 循环节的括号不是表达式中的括号
+        assertEquals(new Rational(2), CalculatorApi.compile("0.(3)*6").evaluate());
+        assertEquals("[1/3] 1 + [1/6] X",
+                CalculatorApi.compile("(0.(3)+1)*0.1(6)").toPostfixString());
+    }
+
+    /**
+     * 含有循环小数的表达式，两种解析方式的语法检查结果、计算结果应相同
+     */
+    @Test
+    public void repetend_parity() throws MathlabCheckedException {
+        String[] expressions = {"(0.1(6))=", "(1+0.(3))*3=", "((0.(3)+1)*0.1(6))=", "(1.(5)-0.(3))*2=",
+                "0.(3)+(0.1(6)+1)="};
+        for (var expression : expressions) {
+            var expected = CalculatorApi.calculateExpressionWithoutCache(expression).getResult();
+            assertNotNull(expected, expression);
+            assertEquals(expected, CompiledExpression.compile(expression).evaluate(), expression);
+        }
+        assertEquals(new Rational(1, 6), CompiledExpression.compile("(0.1(6))=").evaluate());
+        assertEquals(new Rational(4), CompiledExpression.compile("(1+0.(3))*3=").evaluate());
+
+        String[] errors = {"0.1(6)(3)=", "0.(3)(1+2)=", "(0.(3)(1))=", "((0.(3)))=", "(0.(3)+)=", "(0.(3)=",
+                "(0.()3)="};
+        for (var expression : errors) {
+            assertThrows(SyntaxException.class, () -> CompiledExpression.compile(expression), expression);
+            assertNull(CalculatorApi.calculateExpressionWithoutCache(expression).getResult(), expression);
+        }
+    }
+
+    @Test
+    public void evaluate_zeroDivisor() throws MathlabCheckedException {
+        var compiled = CompiledExpression.compile("1/(1-1)=");
+        var exception = assertThrows(SyntaxException.class, compiled::evaluate);
+        assertEquals("错误：除数为 0", exception.getMessage());
+    }
+
+    @Test
+    public void evaluate_shared() throws Exception {
+        var compiled = CompiledExpression.compile("1+22*(88/(1-3)+55)+44=");
+        var expected = compiled.evaluate();
+        var threads = new Thread[8];
+        var results = new Rational[threads.length];
+        for (int index = 0; index < threads.length; ++index) {
+            final int order = index;
+            threads[index] = new Thread(() -> {
+                try {
+                    for (int time = 0; time < 1000; ++time) {
+                        results[order] = compiled.evaluate();
+                    }
+                } catch (MathlabCheckedException exception) {
+                    results[order] = null;
+                }
+            });
+            threads[index].start();
+        }
+        for (var thread : threads) {
+            thread.join();
+        }
+        for (var result : results) {
+            assertEquals(expected, result);
+        }
+        assertSame(compiled.getExpression(), compiled.toString());
+    }
+}
@@ -0,0 +1,97 @@
+package org.wangpai.mathlab.exp.exposed;
+
+import org.junit.jupiter.api.Test;
+import org.wangpai.mathlab.basic.operand.Rational;
+import org.wangpai.mathlab.exception.checked.MathlabCheckedException;
+import org.wangpai.mathlab.exp.model.CalculationResultOutput;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since 2026-10-18
+ */
+public class ExpressionCacheTest {
+    @Test
+    public void normalize() {
+        assertEquals("1X2+3X4=", ExpressionCache.normalize("1*2+3x4="));
+        assertEquals("1+a", ExpressionCache.normalize("1+a"));
+    }
+
+    @Test
+    public void getOutput() {
+        var cache = new ExpressionCache(16, 1024 * 1024);
+        assertNull(cache.getOutput("1+2="));
+        assertEquals(1, cache.getMissCount());
+
+        var output = new CalculationResultOutput().setResult(new Rational(3)).setPromptMsg("msg");
+        cache.putOutput("1+2=", output);
+        output.setPromptMsg("changed"); // 缓存的是副本，不受影响
+
+        var cached = cache.getOutput("1+2=");
+        assertNotNull(cached);
+        assertEquals("msg", cached.getPromptMsg());
+        assertEquals(new Rational(3), cached.getResult());
+        cached.setPromptMsg("changed"); // 返回的是副本，修改它不影响缓存
+        assertEquals("msg", cache.getOutput("1+2=").getPromptMsg());
+        assertEquals(2, cache.getHitCount());
+
+        cache.setCachingOutput(false);
+        cache.putOutput("3+4=", output);
+        assertNull(cache.getOutput("3+4="));
+    }
+
+    @Test
+    public void getCompiled() throws MathlabCheckedException {
+        var cache = new ExpressionCache(16, 1024 * 1024);
+        var compiled = cache.getCompiled("2*(3+4)");
+        assertSame(compiled, cache.getCompiled("2X(3+4)")); // 规范化之后相同
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(new Rational(14), compiled.evaluate());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void evict() throws MathlabCheckedException {
+        var cache = new ExpressionCache(2, 1024 * 1024);
+        var first = cache.getCompiled("1+1");
+        cache.getCompiled("1+2");
+        cache.getCompiled("1+1"); // 访问之后，“1+2”成为最久没有被访问的条目
+        cache.getCompiled("1+3");
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertSame(first, cache.getCompiled("1+1"));
+        assertEquals(2, cache.getHitCount());
+
+        // 内存限制
+        var smallCache = new ExpressionCache(100, 2000);
+        for (int index = 1; index <= 100; ++index) {
+            smallCache.getCompiled("1+" + index);
+        }
+        assertTrue(smallCache.getMemoryBytes() <= 2000);
+        assertTrue(smallCache.size() < 100);
+        assertEquals(100 - smallCache.size(), smallCache.getEvictionCount());
+
+        smallCache.clear();
+        assertEquals(0, smallCache.size());
+        assertEquals(0, smallCache.getMemoryBytes());
+    }
+
+    @Test
+    public void calculatorApi() {
+        var cache = CalculatorApi.getCache();
+        long hitCount = cache.getHitCount();
+        var first = CalculatorApi.calculateExpression("9+8*(76/(5-3)+4)+3=");
+        var second = CalculatorApi.calculateExpression("9+8X(76/(5-3)+4)+3=");
+        assertNotSame(first, second);
+        assertEquals(first.toString(), second.toString());
+        assertEquals(hitCount + 1, cache.getHitCount());
+        assertEquals(CalculatorApi.calculateExpressionWithoutCache("9+8*(76/(5-3)+4)+3=").toString(),
+                first.toString());
+    }
+}
@@ -0,0 +1,115 @@
+package org.wangpai.mathlab.exp.exposed;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import org.junit.jupiter.api.Test;
+import org.wangpai.mathlab.exp.exposed.ExpressionStreamEvaluator.OutputFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since 2026-10-18
+ */
+public class ExpressionStreamEvaluatorTest {
+    @Test
+    public void evaluate_csv() throws IOException {
+        var input = "1+2=\n\n1/0=\n(1).5=\n3*4=\n";
+        var output = new StringWriter();
+        long count = new ExpressionStreamEvaluator().setParallelism(2).setWindowSize(2)
+                .evaluate(new StringReader(input), output);
+
+        assertEquals(4, count);
+        var lines = output.toString().split("\r\n");
+        assertEquals("line,expression,state,result,stateMsg,promptMsg,calculationProcess", lines[0]);
+        assertTrue(lines[1].startsWith("1,1+2=,INIT,3,"), lines[1]);
+        assertTrue(lines[2].startsWith("3,1/0=,"), lines[2]);
+        assertTrue(lines[3].startsWith("4,(1).5=,ERROR,,"), lines[3]);
+        assertTrue(output.toString().contains("\r\n5,3*4=,INIT,12,"));
+    }
+
+    @Test
+    public void evaluate_jsonLines() throws IOException {
+        var input = Files.createTempFile("expressions", ".txt");
+        var output = Files.createTempFile("results", ".jsonl");
+        try {
+            Files.writeString(input, "1-(1-6)=\n8/4/2=\n");
+            long count = new ExpressionStreamEvaluator().setFormat(OutputFormat.JSON_LINES).evaluate(input, output);
+
+            assertEquals(2, count);
+            var lines = Files.readAllLines(output);
+            assertEquals(2, lines.size());
+            assertTrue(lines.get(0).startsWith("{\"line\":1,\"expression\":\"1-(1-6)=\",\"state\":\"INIT\",\"result\":\"6\","),
+                    lines.get(0));
+            assertTrue(lines.get(1).startsWith("{\"line\":2,\"expression\":\"8/4/2=\",\"state\":\"INIT\",\"result\":\"1\","),
+                    lines.get(1));
+            assertTrue(lines.get(1).endsWith("}"));
+        } finally {
+            Files.delete(input);
+            Files.delete(output);
+        }
+    }
+
+    /**
+     * 输入与输出都不在内存中保存，以此检验流水线不会缓存全部的输入
+     */
+    @Test
+    public void evaluate_large() throws IOException {
+        final int total = 50000;
+        var input = new Reader() {
+            private int lineCount = 0;
+            private String current = "";
+            private int position = 0;
+
+            @Override
+            public int read(char[] buffer, int offset, int length) {
+                int read = 0;
+                while (read < length) {
+                    if (this.position == this.current.length()) {
+                        if (this.lineCount == total) {
+                            break;
+                        }
+                        this.current = (this.lineCount % 7) + "*(" + (this.lineCount % 5) + "+1)=\n";
+                        this.position = 0;
+                        ++this.lineCount;
+                    }
+                    buffer[offset + read++] = this.current.charAt(this.position++);
+                }
+                return read == 0 ? -1 : read;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        var output = new Writer() {
+            private long lineCount = 0;
+
+            @Override
+            public void write(char[] buffer, int offset, int length) {
+                for (int index = offset; index < offset + length; ++index) {
+                    if (buffer[index] == '\n') {
+                        ++this.lineCount;
+                    }
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        long count = new ExpressionStreamEvaluator().setFormat(OutputFormat.JSON_LINES).setWindowSize(64)
+                .evaluate(input, output);
+        assertEquals(total, count);
+        assertEquals(total, output.lineCount);
+    }
+}
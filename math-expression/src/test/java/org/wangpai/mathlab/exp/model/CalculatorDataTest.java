@@ -1,9 +1,12 @@
 package org.wangpai.mathlab.exp.model;
 
 import org.junit.jupiter.api.Test;
+import org.wangpai.mathlab.basic.enumeration.Symbol;
 import org.wangpai.mathlab.exception.checked.UndefinedException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class CalculatorDataTest {
     @Test
@@ -16,4 +19,30 @@ public class CalculatorDataTest {
         }
         assertEquals(str, calData.toString());
     }
+
+    @Test
+    public void bracketMatch() throws UndefinedException {
+        var calData = new CalculatorData();
+        assertEquals(0, calData.bracketMatch());
+        assertFalse(calData.hasUnmatchedLeftBracket());
+
+        var outputStream = new SymbolOutputStream().init("((1");
+        while (outputStream.hasNext()) {
+            calData.pushSymbol(outputStream.next());
+        }
+        assertEquals(1, calData.bracketMatch());
+        assertTrue(calData.hasUnmatchedLeftBracket());
+
+        calData.loadOpnd();
+        calData.pushSymbol(Symbol.RIGHT_BRACKET);
+        calData.pushSymbol(Symbol.RIGHT_BRACKET);
+        assertEquals(0, calData.bracketMatch());
+        assertEquals("((1))", calData.expToString());
+        assertEquals(5, calData.getExp().size());
+
+        var cloned = (CalculatorData) calData.clone();
+        calData.clearAllCalData();
+        assertEquals("((1))", cloned.expToString());
+        assertTrue(calData.expIsEmpty());
+    }
 }
\ No newline at end of file
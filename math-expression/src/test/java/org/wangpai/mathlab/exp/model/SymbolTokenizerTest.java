@@ -0,0 +1,74 @@
+package org.wangpai.mathlab.exp.model;
+
+import org.junit.jupiter.api.Test;
+import org.wangpai.mathlab.basic.enumeration.Symbol;
+import org.wangpai.mathlab.exception.checked.UndefinedException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @since 2026-10-18
+ */
+public class SymbolTokenizerTest {
+    @Test
+    public void tokenize() throws UndefinedException {
+        var text = "1+22*(88/(1-3)+55)x 44=";
+        var ordinals = SymbolTokenizer.DEFAULT.tokenize(text);
+        assertEquals(text.length(), ordinals.length);
+        for (int index = 0; index < text.length(); ++index) {
+            assertEquals(Symbol.fromChar(text.charAt(index)), Symbol.fromOrdinal(ordinals[index]));
+        }
+        assertEquals(0, SymbolTokenizer.DEFAULT.tokenize("").length);
+    }
+
+    /**
+     * 异常的 data 为第一个未定义符号之前的字符串
+     */
+    @Test
+    public void tokenize_undefined() {
+        var exception = assertThrows(UndefinedException.class,
+                () -> SymbolTokenizer.DEFAULT.tokenize("123abc456"));
+        assertEquals("123", exception.getData());
+
+        assertEquals(3, SymbolTokenizer.DEFAULT.findUndefined("123abc456"));
+        assertEquals(0, SymbolTokenizer.DEFAULT.findUndefined("中"));
+        assertEquals(-1, SymbolTokenizer.DEFAULT.findUndefined("1+2="));
+    }
+
+    /**
+     * 多字符符号采用最长匹配的原则，且不影响 DEFAULT
+     */
+    @Test
+    public void withToken() throws UndefinedException {
+        var tokenizer = SymbolTokenizer.DEFAULT
+                .withToken("÷", Symbol.DIVIDE)
+                .withToken("**", Symbol.MULTIPLY)
+                .withToken("***", Symbol.ADD);
+
+        assertArrayEquals(new Symbol[]{Symbol.EIGHT, Symbol.DIVIDE, Symbol.TWO},
+                this.toSymbols(tokenizer.tokenize("8÷2")));
+        assertArrayEquals(new Symbol[]{Symbol.TWO, Symbol.MULTIPLY, Symbol.THREE},
+                this.toSymbols(tokenizer.tokenize("2**3")));
+        assertArrayEquals(new Symbol[]{Symbol.TWO, Symbol.ADD, Symbol.MULTIPLY, Symbol.THREE},
+                this.toSymbols(tokenizer.tokenize("2*****3")));
+        assertArrayEquals(new Symbol[]{Symbol.MULTIPLY},
+                this.toSymbols(tokenizer.tokenize("*")));
+
+        assertEquals(-1, tokenizer.findUndefined("8÷2"));
+        assertEquals(1, SymbolTokenizer.DEFAULT.findUndefined("8÷2"));
+        assertThrows(IllegalArgumentException.class, () -> tokenizer.withToken("", Symbol.ADD));
+    }
+
+    @Test
+    public void symbolOutputStream() throws UndefinedException {
+        var tokenizer = SymbolTokenizer.DEFAULT.withToken("÷", Symbol.DIVIDE);
+        var outputStream = new SymbolOutputStream().init("8÷2=", tokenizer);
+        assertArrayEquals(new SymbolOutputStream().init("8/2=").toArray(), outputStream.toArray());
+    }
+
+    private Symbol[] toSymbols(byte[] ordinals) {
+        return SymbolTokenizer.toSymbols(ordinals, ordinals.length);
+    }
+}
@@ -1,45 +1,114 @@
 package org.wangpai.mathlab.basic.algorithm;
 
+import java.math.BigInteger;
 import org.wangpai.mathlab.basic.operand.Figure;
 import org.wangpai.mathlab.basic.operand.Rational;
 import org.wangpai.mathlab.basic.operation.FigureOperation;
+import org.wangpai.mathlab.exception.unchecked.LogicalException;
 
 /**
  * @since 2022-8-25
  */
 public class AlgorithmUtil {
     /**
-     * 大整数相除防溢出快速算法（一层）。将两个大整数相除，并把结果转化为 double 类型
+     * double 的有效位数（含隐含的最高位）
+     */
+    private static final int DOUBLE_PRECISION = 53;
+
+    /**
+     * 绝对值不超过此值的 long 可以精确地转化为 double
+     */
+    private static final long MAX_EXACT_LONG = 1L << DOUBLE_PRECISION;
+
+    /**
+     * 将两个整数相除，并把结果转化为 double 类型。结果是正确舍入的（与精确的商最接近的 double，相等时取偶数）
      *
-     * 其中，rational 的分子、分母可以各自很大
+     * 算法：
+     * 1. 分子、分母都不超过 53 位时，它们都可以精确地转化为 double。而 IEEE 754 的除法本身是正确舍入的，因此直接相除
+     * 2. 否则，先根据两者的位数之差移位，使得一次 BigInteger 除法得到的商恰好有 55 ~ 56 位。
+     * 余数不为 0 时，将其记为粘滞位（sticky bit）。然后按“四舍六入五成双”舍入到 53 位（结果为非规约数时少于 53 位）。
+     * 因为舍入只进行了一次，所以结果是正确舍入的
      *
-     * @since 2022-8-25
+     * @param divisor 不能为 0
+     * @since 2026-10-18
      */
-    public static double rational2doubleQuickly(Rational rational) {
-        Figure dividend = rational.getNumerator(); // dividend：被除数
-        Figure divisor = rational.getDenominator(); // divisor：除数
-        final long maxLong = Long.MAX_VALUE;
-        final Figure max = new Figure(maxLong);
-        if (FigureOperation.greaterOrEqual(dividend, max) || FigureOperation.greaterOrEqual(divisor, max)) {
-            Figure[] a1 = FigureOperation.divideAndRemainder(dividend, max);
-            long b1 = a1[0].getOriginBigInteger().longValueExact();
-            double c1 = (double) (a1[1].getOriginBigInteger().longValueExact());
+    public static double divideToDouble(Figure dividend, Figure divisor) {
+        if (dividend.isLong() && divisor.isLong()) {
+            long first = dividend.getLongValue();
+            long second = divisor.getLongValue();
+            if (-MAX_EXACT_LONG <= first && first <= MAX_EXACT_LONG
+                    && -MAX_EXACT_LONG <= second && second <= MAX_EXACT_LONG) {
+                return (double) first / (double) second;
+            }
+        }
+        return AlgorithmUtil.divideToDouble(dividend.toBigInteger(), divisor.toBigInteger());
+    }
 
-            Figure[] a2 = FigureOperation.divideAndRemainder(divisor, max);
-            long b2 = a2[0].getOriginBigInteger().longValueExact();
-            double c2 = (double) (a2[1].getOriginBigInteger().longValueExact());
+    /**
+     * 算法：参见方法 divideToDouble(Figure, Figure)
+     *
+     * @param divisor 不能为 0
+     * @since 2026-10-18
+     */
+    public static double divideToDouble(BigInteger dividend, BigInteger divisor) {
+        if (divisor.signum() == 0) {
+            throw new LogicalException("错误：0 不能作除数");
+        }
+        boolean negative = dividend.signum() * divisor.signum() < 0;
+        if (dividend.signum() == 0) {
+            return 0.0;
+        }
+        var first = dividend.abs();
+        var second = divisor.abs();
 
-            return (b1 + c1 / maxLong) / (b2 + c2 / maxLong);
-        } else {
-            // 将分子、分母中较大的那个数转换为类型 double 来运算，因为 double 比 long 的范围大
-            if (rational.isProperFraction()) {
-                return rational.getNumerator().getOriginBigInteger().longValueExact()
-                        / (double) (rational.getDenominator().getOriginBigInteger().longValueExact());
-            } else {
-                return (double) (rational.getNumerator().getOriginBigInteger().longValueExact())
-                        / rational.getDenominator().getOriginBigInteger().longValueExact();
-            }
+        // 商位于 [2^(bitDifference - 1), 2^(bitDifference + 1)) 之中
+        long bitDifference = (long) first.bitLength() - second.bitLength();
+        if (bitDifference > Double.MAX_EXPONENT + 1) {
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        if (bitDifference < Double.MIN_EXPONENT - DOUBLE_PRECISION - 2) {
+            return negative ? -0.0 : 0.0;
+        }
+
+        // 使商 quotient = floor(first * 2^shift / second) 恰好有 55 ~ 56 位：53 位有效位，1 位舍入位，以及 1 位余量
+        int shift = (int) (DOUBLE_PRECISION + 2 - bitDifference);
+        var quotientAndRemainder = shift >= 0
+                ? first.shiftLeft(shift).divideAndRemainder(second)
+                : first.divideAndRemainder(second.shiftLeft(-shift));
+        long quotient = quotientAndRemainder[0].longValue();
+        boolean sticky = quotientAndRemainder[1].signum() != 0;
+
+        // 精确的商位于 [2^exponent, 2^(exponent + 1)) 之中。结果的最低位为 2^unitExponent（非规约数的最低位固定为 2^-1074）
+        int quotientBits = Long.SIZE - Long.numberOfLeadingZeros(quotient);
+        int exponent = quotientBits - 1 - shift;
+        int unitExponent = Math.max(exponent - (DOUBLE_PRECISION - 1), Double.MIN_EXPONENT - (DOUBLE_PRECISION - 1));
+        int drop = unitExponent + shift; // 需要舍去的位数，至少为 2
+        if (drop > quotientBits) { // 商小于最小非规约数的一半
+            return negative ? -0.0 : 0.0;
         }
+
+        long mantissa = quotient >>> drop;
+        long dropped = quotient & ((1L << drop) - 1);
+        long half = 1L << (drop - 1);
+        if (dropped > half || (dropped == half && (sticky || (mantissa & 1) != 0))) {
+            ++mantissa; // 进位后即使变为 2^53，也可以精确表示
+        }
+
+        // mantissa * 2^(drop - shift) 可以精确表示（或者溢出为无穷大），因此 scalb 不会再次舍入
+        double result = Math.scalb((double) mantissa, drop - shift);
+        return negative ? -result : result;
+    }
+
+    /**
+     * 将有理数转化为 double 类型。结果是正确舍入的
+     *
+     * 其中，rational 的分子、分母可以各自很大
+     *
+     * @since 2022-8-25
+     * @lastModified 2026-10-18
+     */
+    public static double rational2doubleQuickly(Rational rational) {
+        return AlgorithmUtil.divideToDouble(rational.getNumerator(), rational.getDenominator());
     }
 
     /**
@@ -49,11 +118,15 @@ public class AlgorithmUtil {
      *
      * 本递归版可以计算位数更多的大数相除
      *
+     * 注意：每一层递归都会引入舍入误差，因此结果不一定是正确舍入的。当 b1、b2 均为 0 时，应使用方法 divideToDouble
+     *
      * @since 2022-8-25
+     * @lastModified 2026-10-18
      */
+    @Deprecated
     public static double dividedBetweenBigIntegers(Figure a1, double b1, Figure a2, double b2) {
         final long maxLong = Long.MAX_VALUE;
-        final Figure max = new Figure(maxLong);
+        final Figure max = Figure.valueOf(maxLong);
         if (FigureOperation.greaterOrEqual(a1, max) || FigureOperation.greaterOrEqual(a2, max)) {
             Figure[] a1Group = FigureOperation.divideAndRemainder(a1, max);
             Figure c1 = a1Group[0];
@@ -68,4 +141,43 @@ public class AlgorithmUtil {
             return (a1.getOriginBigInteger().longValueExact() + b1) / (a2.getOriginBigInteger().longValueExact() + b2);
         }
     }
+
+    /**
+     * 二进制 GCD 算法（Stein 算法）。求两个 long 的最大公约数。GCD：Greatest Common Divisor
+     *
+     * 此算法只使用移位与减法，不使用除法，因此比辗转相除法更快
+     *
+     * 注意事项：
+     * > first、second 均不能为 Long.MIN_VALUE，因为它的绝对值会溢出
+     * > 当这两个数只有一个为 0 时，结果为另一个数的绝对值。
+     * > 特别地，当这两个数均为 0 时，结果为 0。
+     * > 其它情况下，结果为正数
+     *
+     * @since 2026-10-18
+     */
+    public static long binaryGcd(long first, long second) {
+        first = Math.abs(first);
+        second = Math.abs(second);
+        if (first == 0) {
+            return second;
+        }
+        if (second == 0) {
+            return first;
+        }
+
+        int commonShift = Long.numberOfTrailingZeros(first | second); // 两个数的公因子 2 的个数
+        first >>= Long.numberOfTrailingZeros(first);
+        do {
+            second >>= Long.numberOfTrailingZeros(second);
+            // 此时 first、second 均为奇数。让 first 为较小者，然后用它们的差（偶数）代替 second
+            if (first > second) {
+                long temp = first;
+                first = second;
+                second = temp;
+            }
+            second -= first;
+        } while (second != 0);
+
+        return first << commonShift;
+    }
 }
@@ -0,0 +1,351 @@
+package org.wangpai.mathlab.basic.algorithm;
+
+import java.math.BigInteger;
+
+/**
+ * 大整数的最大公约数算法。GCD：Greatest Common Divisor
+ *
+ * 对于位数很大的整数，BigInteger.gcd 的耗时是平方级的。本类提供了如下两种算法：
+ * > Lehmer 算法：只使用两个数的最高 62 位来推算出多步辗转相除的商，然后一次性地作用于两个大整数。
+ * 这样可以大大减少大整数除法的次数
+ * > Half-GCD 算法：递归地使用两个数的高半部分来推算出能将其位数减半的变换矩阵，
+ * 然后一次性地作用于两个大整数。因为 BigInteger 的乘法是次平方级的，所以本算法也是次平方级的
+ *
+ * 本类的所有变换都是行列式为 ±1 的整数矩阵，因此变换后的两个数与变换前的两个数的最大公约数相同。
+ * 如果某次变换的效果不理想（如出现负数、没有缩小），就会退回为一次普通的辗转相除，因此结果总是正确的
+ *
+ * 阈值可以通过如下系统属性来设置（单位为二进制位）：
+ * > mathlab.gcd.lehmer.threshold：不小于此值时使用 Lehmer 算法，否则使用 BigInteger.gcd。默认为 4096
+ * > mathlab.gcd.halfgcd.threshold：不小于此值时使用 Half-GCD 算法。默认为 65536
+ *
+ * @since 2026-10-18
+ */
+public class GcdAlgorithm {
+    public static final int LEHMER_THRESHOLD =
+            GcdAlgorithm.readThreshold("mathlab.gcd.lehmer.threshold", 4096);
+
+    public static final int HALF_GCD_THRESHOLD =
+            GcdAlgorithm.readThreshold("mathlab.gcd.halfgcd.threshold", 65536);
+
+    /**
+     * Half-GCD 递归到此位数以下时，改用 Lehmer 算法
+     */
+    private static final int HALF_GCD_BASE_CASE = 2048;
+
+    /**
+     * Half-GCD 中，为了让由高半部分推算出的变换矩阵也适用于整个数，所保留的余量（单位为二进制位）
+     */
+    private static final int GUARD_BITS = 64;
+
+    /**
+     * Lehmer 算法中，用于推算商的最高位的位数。取 62 是为了让 long 运算不会溢出
+     */
+    private static final int LEHMER_DIGIT_BITS = 62;
+
+    private static int readThreshold(String propertyName, int defaultValue) {
+        String property = System.getProperty(propertyName);
+        if (property != null) {
+            try {
+                return Math.max(Long.SIZE, Integer.parseInt(property.trim()));
+            } catch (NumberFormatException ignored) {
+                // 如果系统属性不合法，使用默认值
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * 求两个数的最大公约数。结果与 BigInteger.gcd 相同
+     *
+     * 根据两个数的位数，自动选择 BigInteger.gcd、Lehmer 算法或 Half-GCD 算法
+     *
+     * @since 2026-10-18
+     */
+    public static BigInteger gcd(BigInteger first, BigInteger second) {
+        BigInteger a = first.abs();
+        BigInteger b = second.abs();
+        if (a.compareTo(b) < 0) {
+            BigInteger temp = a;
+            a = b;
+            b = temp;
+        }
+
+        while (b.signum() != 0) {
+            if (b.bitLength() < LEHMER_THRESHOLD) {
+                return a.gcd(b);
+            }
+            if (a.bitLength() - b.bitLength() > LEHMER_DIGIT_BITS) { // 两个数的位数相差过大时，一次除法就能缩小很多
+                BigInteger remainder = a.mod(b);
+                a = b;
+                b = remainder;
+                continue;
+            }
+
+            BigInteger[] reduced;
+            if (a.bitLength() >= HALF_GCD_THRESHOLD) {
+                reduced = GcdAlgorithm.apply(GcdAlgorithm.halfGcd(a, b), a, b);
+            } else {
+                reduced = GcdAlgorithm.lehmerStep(a, b, null);
+            }
+
+            BigInteger newA = reduced[0].abs(); // 变换矩阵是幺模矩阵，因此取绝对值不会影响最大公约数
+            BigInteger newB = reduced[1].abs();
+            if (newA.compareTo(newB) < 0) {
+                BigInteger temp = newA;
+                newA = newB;
+                newB = temp;
+            }
+            if (newA.compareTo(a) >= 0) { // 如果没有缩小，退回为一次普通的辗转相除
+                BigInteger remainder = a.mod(b);
+                a = b;
+                b = remainder;
+            } else {
+                a = newA;
+                b = newB;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * 仅使用 Lehmer 算法求两个数的最大公约数。此方法主要用于性能对比、调整阈值
+     *
+     * @since 2026-10-18
+     */
+    public static BigInteger lehmerGcd(BigInteger first, BigInteger second) {
+        BigInteger a = first.abs();
+        BigInteger b = second.abs();
+        if (a.compareTo(b) < 0) {
+            BigInteger temp = a;
+            a = b;
+            b = temp;
+        }
+
+        while (b.signum() != 0) {
+            if (a.bitLength() < Long.SIZE) {
+                return BigInteger.valueOf(AlgorithmUtil.binaryGcd(a.longValue(), b.longValue()));
+            }
+            BigInteger[] reduced = GcdAlgorithm.lehmerStep(a, b, null);
+            a = reduced[0];
+            b = reduced[1];
+        }
+        return a;
+    }
+
+    /**
+     * 变换矩阵。(α, β) = T·(a, b)，即：α = t00·a + t01·b，β = t10·a + t11·b
+     *
+     * @since 2026-10-18
+     */
+    private static final class Matrix {
+        private BigInteger t00;
+        private BigInteger t01;
+        private BigInteger t10;
+        private BigInteger t11;
+
+        private Matrix(BigInteger t00, BigInteger t01, BigInteger t10, BigInteger t11) {
+            this.t00 = t00;
+            this.t01 = t01;
+            this.t10 = t10;
+            this.t11 = t11;
+        }
+
+        private static Matrix identity() {
+            return new Matrix(BigInteger.ONE, BigInteger.ZERO, BigInteger.ZERO, BigInteger.ONE);
+        }
+
+        /**
+         * 左乘 [a b; c d]，即 this = [a b; c d]·this
+         */
+        private void leftMultiply(long a, long b, long c, long d) {
+            BigInteger newT00 = GcdAlgorithm.linear(a, this.t00, b, this.t10);
+            BigInteger newT01 = GcdAlgorithm.linear(a, this.t01, b, this.t11);
+            BigInteger newT10 = GcdAlgorithm.linear(c, this.t00, d, this.t10);
+            BigInteger newT11 = GcdAlgorithm.linear(c, this.t01, d, this.t11);
+            this.t00 = newT00;
+            this.t01 = newT01;
+            this.t10 = newT10;
+            this.t11 = newT11;
+        }
+
+        /**
+         * 左乘 other，即 this = other·this
+         */
+        private void leftMultiply(Matrix other) {
+            BigInteger newT00 = other.t00.multiply(this.t00).add(other.t01.multiply(this.t10));
+            BigInteger newT01 = other.t00.multiply(this.t01).add(other.t01.multiply(this.t11));
+            BigInteger newT10 = other.t10.multiply(this.t00).add(other.t11.multiply(this.t10));
+            BigInteger newT11 = other.t10.multiply(this.t01).add(other.t11.multiply(this.t11));
+            this.t00 = newT00;
+            this.t01 = newT01;
+            this.t10 = newT10;
+            this.t11 = newT11;
+        }
+
+        /**
+         * 一次辗转相除：(α, β) → (β, α - q·β)，即左乘 [0 1; 1 -q]
+         */
+        private void euclidStep(BigInteger quotient) {
+            BigInteger newT10 = this.t00.subtract(quotient.multiply(this.t10));
+            BigInteger newT11 = this.t01.subtract(quotient.multiply(this.t11));
+            this.t00 = this.t10;
+            this.t01 = this.t11;
+            this.t10 = newT10;
+            this.t11 = newT11;
+        }
+
+        /**
+         * 交换 α 与 β，即左乘 [0 1; 1 0]
+         */
+        private void swapRows() {
+            BigInteger temp0 = this.t00;
+            BigInteger temp1 = this.t01;
+            this.t00 = this.t10;
+            this.t01 = this.t11;
+            this.t10 = temp0;
+            this.t11 = temp1;
+        }
+    }
+
+    /**
+     * 计算 x·a + y·b
+     */
+    private static BigInteger linear(long x, BigInteger a, long y, BigInteger b) {
+        return a.multiply(BigInteger.valueOf(x)).add(b.multiply(BigInteger.valueOf(y)));
+    }
+
+    private static BigInteger[] apply(Matrix matrix, BigInteger a, BigInteger b) {
+        return new BigInteger[]{
+                matrix.t00.multiply(a).add(matrix.t01.multiply(b)),
+                matrix.t10.multiply(a).add(matrix.t11.multiply(b))};
+    }
+
+    /**
+     * Lehmer 算法的一步（Knuth《计算机程序设计艺术》第 2 卷算法 L）
+     *
+     * 只使用 a 的最高 62 位以及 b 在相同位置上的部分，推算出多步辗转相除的商，直到无法确定商为止。
+     * 然后将这些商合成为一个矩阵，一次性地作用于 a、b。如果一个商也推算不出来，就进行一次普通的辗转相除
+     *
+     * 要求 a >= b > 0。返回值为变换后的 (a, b)，仍满足 a >= b >= 0。如果 matrix 不为 null，本次变换会累积到 matrix 上
+     *
+     * @since 2026-10-18
+     */
+    private static BigInteger[] lehmerStep(BigInteger a, BigInteger b, Matrix matrix) {
+        int shift = Math.max(0, a.bitLength() - LEHMER_DIGIT_BITS);
+        long x = a.shiftRight(shift).longValue();
+        long y = b.shiftRight(shift).longValue();
+
+        long cofactorA = 1;
+        long cofactorB = 0;
+        long cofactorC = 0;
+        long cofactorD = 1;
+        if (shift == 0) { // 两个数都在 62 位以内，此时推算出来的商就是精确的
+            while (y != 0) {
+                long quotient = x / y;
+                long temp = cofactorA - quotient * cofactorC;
+                cofactorA = cofactorC;
+                cofactorC = temp;
+                temp = cofactorB - quotient * cofactorD;
+                cofactorB = cofactorD;
+                cofactorD = temp;
+                temp = x - quotient * y;
+                x = y;
+                y = temp;
+            }
+        } else {
+            // 真实的 a/b 介于 (x + A)/(y + C) 与 (x + B)/(y + D) 之间。当这两个商相同时，该商就是真实的商
+            while (y + cofactorC != 0 && y + cofactorD != 0) {
+                long quotient = (x + cofactorA) / (y + cofactorC);
+                if (quotient != (x + cofactorB) / (y + cofactorD)) {
+                    break;
+                }
+                long temp = cofactorA - quotient * cofactorC;
+                cofactorA = cofactorC;
+                cofactorC = temp;
+                temp = cofactorB - quotient * cofactorD;
+                cofactorB = cofactorD;
+                cofactorD = temp;
+                temp = x - quotient * y;
+                x = y;
+                y = temp;
+            }
+        }
+
+        if (cofactorB == 0) { // 一个商也没有推算出来，进行一次普通的辗转相除
+            BigInteger[] quotientAndRemainder = a.divideAndRemainder(b);
+            if (matrix != null) {
+                matrix.euclidStep(quotientAndRemainder[0]);
+            }
+            return new BigInteger[]{b, quotientAndRemainder[1]};
+        }
+
+        if (matrix != null) {
+            matrix.leftMultiply(cofactorA, cofactorB, cofactorC, cofactorD);
+        }
+        return new BigInteger[]{
+                GcdAlgorithm.linear(cofactorA, a, cofactorB, b),
+                GcdAlgorithm.linear(cofactorC, a, cofactorD, b)};
+    }
+
+    /**
+     * Half-GCD 算法。要求 a >= b >= 0
+     *
+     * 返回变换矩阵 T，使得 (α, β) = T·(a, b) 满足 α >= β >= 0，且 β 的位数大约只有 a 的一半
+     *
+     * 算法：
+     * 1. 对 a、b 的高半部分递归调用本方法，得到的矩阵能将 a、b 的位数缩小约 1/4
+     * 2. 对缩小后的 α、β 的高位部分再次递归调用本方法，得到的矩阵能将其位数再缩小约 1/4
+     * 3. 剩余的少量位数使用 Lehmer 算法来缩小
+     *
+     * 步骤 1、2 只使用了高位部分，因此得到的矩阵作用于整个数时，结果可能不准确。
+     * 本方法会保留 GUARD_BITS 位的余量来保证其准确性。如果仍然出现了负数，将放弃本次变换
+     *
+     * @since 2026-10-18
+     */
+    private static Matrix halfGcd(BigInteger a, BigInteger b) {
+        int half = a.bitLength() / 2;
+        int target = half + GUARD_BITS;
+        Matrix matrix = Matrix.identity();
+        if (b.bitLength() <= target) {
+            return matrix;
+        }
+
+        BigInteger alpha = a;
+        BigInteger beta = b;
+        while (beta.signum() != 0 && beta.bitLength() > target) {
+            int alphaBits = alpha.bitLength();
+            int gap = alphaBits - target; // 还需要缩小的位数
+            if (alphaBits < HALF_GCD_BASE_CASE || gap < 2 * GUARD_BITS
+                    || alphaBits - beta.bitLength() > LEHMER_DIGIT_BITS) {
+                BigInteger[] reduced = GcdAlgorithm.lehmerStep(alpha, beta, matrix);
+                alpha = reduced[0];
+                beta = reduced[1];
+                continue;
+            }
+
+            // 只取高位部分，使其位数为还需要缩小的位数的 2 倍（但不超过 a 的一半）。这样对高位部分减半，就能将整个数缩小 gap 位
+            int shift = alphaBits - Math.min(2 * gap, half);
+            Matrix subMatrix = GcdAlgorithm.halfGcd(alpha.shiftRight(shift), beta.shiftRight(shift));
+            BigInteger[] reduced = GcdAlgorithm.apply(subMatrix, alpha, beta);
+            if (reduced[0].signum() < 0 || reduced[1].signum() < 0
+                    || Math.max(reduced[0].bitLength(), reduced[1].bitLength()) >= alphaBits) {
+                // 高位部分推算出的矩阵不适用于整个数，放弃此矩阵，改用 Lehmer 算法
+                reduced = GcdAlgorithm.lehmerStep(alpha, beta, matrix);
+                alpha = reduced[0];
+                beta = reduced[1];
+                continue;
+            }
+
+            matrix.leftMultiply(subMatrix);
+            alpha = reduced[0];
+            beta = reduced[1];
+            if (alpha.compareTo(beta) < 0) {
+                matrix.swapRows();
+                BigInteger temp = alpha;
+                alpha = beta;
+                beta = temp;
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,206 @@
+package org.wangpai.mathlab.basic.algorithm;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import org.wangpai.mathlab.basic.operand.Figure;
+import org.wangpai.mathlab.exception.unchecked.LogicalException;
+
+/**
+ * 整数的幂表：base^0、base^1、base^2、...，用于需要反复使用 10 或 2 的幂的场合（如小数的解析、缩放与输出）
+ *
+ * 表是按需增长的：只有用到了某个指数，才会计算到这个指数为止的所有的幂。每一项都由前一项乘以 base 得到，
+ * 因此增长的总代价与表中所有项的位数之和成正比，且每一项只会计算一次
+ *
+ * 表占用的内存是有上限的。表中每一项的内存按其字节数加上对象头的估计值来计算（参见方法 getMemoryUsage）。
+ * 如果增长会使内存超出上限，超出的部分不会缓存，而是每次都直接计算。
+ * 共享的 TEN、TWO 的上限可以通过系统属性 mathlab.power.table.max.bytes 来设置（单位为字节），默认为 4 MiB
+ *
+ * 线程安全：读取时不加锁（表本身是不可变的数组，增长时会替换整个数组），只有增长、修改上限时才加锁
+ *
+ * @since 2026-10-18
+ */
+public final class PowerTable {
+    public static final long DEFAULT_MAX_BYTES =
+            Math.max(0, Long.getLong("mathlab.power.table.max.bytes", 4L << 20));
+
+    public static final PowerTable TEN = new PowerTable(10, DEFAULT_MAX_BYTES);
+
+    public static final PowerTable TWO = new PowerTable(2, DEFAULT_MAX_BYTES);
+
+    /**
+     * 每一项除数据本身之外所占用的内存的估计值：Figure、BigInteger、int[] 的对象头与字段，以及表中的引用
+     */
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final BigInteger base;
+
+    /**
+     * table[k] 为 base^k。长度至少为 1
+     */
+    private volatile Figure[] table;
+
+    private volatile long memoryUsage;
+
+    private volatile long maxBytes;
+
+    /**
+     * @param base     必须大于 1
+     * @param maxBytes 表占用的内存的上限（单位为字节）
+     * @since 2026-10-18
+     */
+    public PowerTable(long base, long maxBytes) {
+        if (base <= 1) {
+            throw new LogicalException("错误：幂表的底数必须大于 1");
+        }
+        this.base = BigInteger.valueOf(base);
+        this.maxBytes = maxBytes;
+        this.table = new Figure[]{Figure.ONE};
+        this.memoryUsage = PowerTable.estimateBytes(BigInteger.ONE);
+    }
+
+    /**
+     * @return base^exponent
+     * @throws LogicalException exponent 为负数
+     * @since 2026-10-18
+     */
+    public Figure power(int exponent) {
+        if (exponent < 0) {
+            throw new LogicalException("错误：幂表不支持负数次方");
+        }
+        var current = this.table;
+        if (exponent >= current.length) {
+            current = this.grow(exponent);
+        }
+        if (exponent < current.length) {
+            return current[exponent];
+        }
+
+        // 超出内存上限，不缓存。在表中最后一项的基础上计算
+        int lastExponent = current.length - 1;
+        var last = current[lastExponent].toBigInteger();
+        if (this.base.equals(BigInteger.TWO)) {
+            return Figure.valueOf(last.shiftLeft(exponent - lastExponent));
+        }
+        return Figure.valueOf(last.multiply(this.base.pow(exponent - lastExponent)));
+    }
+
+    /**
+     * 与方法 power 相同，只是结果为 BigInteger
+     *
+     * @since 2026-10-18
+     */
+    public BigInteger bigPower(int exponent) {
+        return this.power(exponent).toBigInteger();
+    }
+
+    public long getBase() {
+        return this.base.longValue();
+    }
+
+    /**
+     * 已缓存的项数。已缓存的指数为 0 ~ size() - 1
+     *
+     * @since 2026-10-18
+     */
+    public int size() {
+        return this.table.length;
+    }
+
+    /**
+     * 已缓存的项所占用的内存的估计值（单位为字节）
+     *
+     * @since 2026-10-18
+     */
+    public long getMemoryUsage() {
+        return this.memoryUsage;
+    }
+
+    public long getMaxBytes() {
+        return this.maxBytes;
+    }
+
+    /**
+     * 修改内存上限。如果新的上限小于已占用的内存，将从指数大的一端开始丢弃缓存的项（base^0 总是保留）
+     *
+     * @since 2026-10-18
+     */
+    public synchronized PowerTable setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+        var current = this.table;
+        int length = current.length;
+        long usage = this.memoryUsage;
+        while (length > 1 && usage > maxBytes) {
+            --length;
+            usage -= PowerTable.estimateBytes(current[length].toBigInteger());
+        }
+        if (length < current.length) {
+            this.table = Arrays.copyOf(current, length);
+            this.memoryUsage = usage;
+        }
+        return this;
+    }
+
+    /**
+     * 丢弃所有缓存的项（base^0 除外）
+     *
+     * @since 2026-10-18
+     */
+    public synchronized PowerTable clear() {
+        this.table = new Figure[]{Figure.ONE};
+        this.memoryUsage = PowerTable.estimateBytes(BigInteger.ONE);
+        return this;
+    }
+
+    /**
+     * 增长到包含 exponent 为止。为了减少增长的次数，每次至少增长为原来的两倍，但不会超出内存上限
+     *
+     * @return 增长之后的表。如果超出了内存上限，表中可能不包含 exponent
+     */
+    private synchronized Figure[] grow(int exponent) {
+        var current = this.table;
+        if (exponent < current.length) {
+            return current; // 其它线程已经增长过了
+        }
+
+        // 每一项至少占用 ENTRY_OVERHEAD + 1 个字节，因此剩余的内存最多只能再容纳这么多项
+        long affordable = current.length + Math.max(0, this.maxBytes - this.memoryUsage) / (ENTRY_OVERHEAD + 1);
+        int targetLength = (int) Math.min(Math.min(Integer.MAX_VALUE, affordable),
+                Math.max(exponent + 1L, current.length * 2L));
+        if (targetLength <= current.length) {
+            return current;
+        }
+        var grown = new Figure[targetLength];
+        System.arraycopy(current, 0, grown, 0, current.length);
+        int length = current.length;
+        long usage = this.memoryUsage;
+        var last = current[length - 1].toBigInteger();
+        while (length < targetLength) {
+            var next = this.multiplyByBase(last);
+            long bytes = PowerTable.estimateBytes(next);
+            if (usage + bytes > this.maxBytes) {
+                break;
+            }
+            grown[length++] = Figure.valueOf(next);
+            usage += bytes;
+            last = next;
+        }
+
+        if (length == current.length) {
+            return current;
+        }
+        this.table = length == targetLength ? grown : Arrays.copyOf(grown, length);
+        this.memoryUsage = usage;
+        return this.table;
+    }
+
+    private BigInteger multiplyByBase(BigInteger value) {
+        if (this.base.equals(BigInteger.TWO)) {
+            return value.shiftLeft(1);
+        }
+        return value.multiply(this.base);
+    }
+
+    private static long estimateBytes(BigInteger value) {
+        return (value.bitLength() >> 3) + 1 + ENTRY_OVERHEAD;
+    }
+}
@@ -18,7 +18,11 @@ import lombok.Getter;
  *
  * 特殊功能符号指无特定意义的符号，这种符号的语义由使用者临时指定
  *
+ * 括号紧跟在小数的小数部分之后时，表示循环节，属于操作数的一部分，如 0.1(6)（参见 Decimal）。
+ * 因为表达式中左括号的前面不能是数字、小数点，所以这两种用法不会产生歧义
+ *
  * @since 2021-8-2
+ * @lastModified 2026-10-18
  */
 public enum Symbol {
     /**
@@ -84,17 +88,69 @@ public enum Symbol {
         this.extendSymbols = symbols;
     }
 
+    /**
+     * 缓存 Symbol.values() 的结果，因为每次调用 Symbol.values() 都会复制一次数组
+     */
+    private static final Symbol[] VALUES = Symbol.values();
+
+    /**
+     * 从字符到 Symbol 的查找表。序号为字符的编码，只包含 ASCII 字符
+     */
+    private static final Symbol[] CHAR_TABLE = new Symbol[128];
+
+    static {
+        // 按定义的顺序填表，且不覆盖已有的项。因此，多个 Symbol 外形相同时（如 SPACE 与 WRAP），结果与方法 getEnum 相同
+        for (var aSymbol : VALUES) {
+            Symbol.register(aSymbol.symbol, aSymbol);
+            if (aSymbol.hasExtend) {
+                for (var bSymbol : aSymbol.extendSymbols) {
+                    Symbol.register(bSymbol, aSymbol);
+                }
+            }
+        }
+    }
+
+    private static void register(String shape, Symbol aSymbol) {
+        if (shape.length() == 1 && shape.charAt(0) < CHAR_TABLE.length && CHAR_TABLE[shape.charAt(0)] == null) {
+            CHAR_TABLE[shape.charAt(0)] = aSymbol;
+        }
+    }
+
+    /**
+     * 从字符到 Symbol 的转化。与方法 getEnum 的结果相同，但只需要一次查表，且不会创建任何对象
+     *
+     * @return 如果 ch 不对应任何 Symbol，返回 null
+     * @since 2026-10-18
+     */
+    public static Symbol fromChar(char ch) {
+        return ch < CHAR_TABLE.length ? CHAR_TABLE[ch] : null;
+    }
+
+    /**
+     * 从序号（ordinal）到 Symbol 的转化，用于以序号储存 Symbol 的场合。不会复制数组
+     *
+     * @since 2026-10-18
+     */
+    public static Symbol fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
 
     /**
      * 因为枚举具有唯一性，而 String 类型的 targetSymbol
      * 与 Symbol 类型的 aSymbol 具有多对一的关系，
      * 因此，此方法进行从 String 到 Symbol 之间的转化时，会丢失原 String 的信息
      *
+     * 目前所有的符号都只由一个字符组成，此时直接查表（参见方法 fromChar）
+     *
      * @since 2021-7-30
+     * @lastModified 2026-10-18
      */
     public static Symbol getEnum(String targetSymbol) {
-        var symbols = Symbol.values();
-        for (var aSymbol : symbols) {
+        if (targetSymbol != null && targetSymbol.length() == 1) {
+            return Symbol.fromChar(targetSymbol.charAt(0));
+        }
+
+        for (var aSymbol : VALUES) {
             if (aSymbol.symbol.equals(targetSymbol)) {
                 return aSymbol;
             } else if (aSymbol.hasExtend) {
@@ -1,9 +1,11 @@
 package org.wangpai.mathlab.basic.operand;
 
+import java.math.BigInteger;
 import lombok.extern.slf4j.Slf4j;
+import org.wangpai.mathlab.basic.algorithm.AlgorithmUtil;
+import org.wangpai.mathlab.basic.algorithm.GcdAlgorithm;
+import org.wangpai.mathlab.basic.algorithm.PowerTable;
 import org.wangpai.mathlab.basic.enumeration.Symbol;
-import org.wangpai.mathlab.basic.operation.FigureOperation;
-import org.wangpai.mathlab.basic.operation.RationalOperation;
 import org.wangpai.mathlab.exception.checked.UndefinedException;
 import org.wangpai.mathlab.exception.unchecked.LogicalException;
 import org.wangpai.mathlab.tool.TypeConverter;
@@ -11,7 +13,10 @@ import org.wangpai.mathlab.tool.TypeConverter;
 /**
  * 小数。可以允许负数
  *
+ * 支持循环小数：小数部分末尾用括号括起来的数字为循环节，如 0.1(6) 表示 0.1666...，-3.(142857) 表示 -3.142857142857...
+ *
  * @since 2021-8-2
+ * @lastModified 2026-10-18
  */
 @Slf4j
 public final class Decimal implements Operand {
@@ -20,9 +25,29 @@ public final class Decimal implements Operand {
      * 为了便于实现这一点，这里不使用库类 BigDecimal 作为内部实现。
      */
     private Symbol[] integerPart; // 高位的序号小（高位在前）
-    private Symbol[] decimalPart; // 高位的序号小（高位在前）
+    private Symbol[] decimalPart; // 高位的序号小（高位在前）。不含循环节
+    private Symbol[] repetendPart; // 循环节，不含括号。高位的序号小（高位在前）。不是循环小数时，长度为 0
     private boolean sign; // 是否有负号
 
+    /**
+     * long 能够精确表示的十进制数的位数
+     */
+    private static final int LONG_DIGITS = 18;
+
+    /**
+     * 10 的 0 ~ LONG_DIGITS 次方
+     */
+    private static final long[] LONG_POWERS_OF_TEN = new long[LONG_DIGITS + 1];
+
+    private static final BigInteger FIVE = BigInteger.valueOf(5);
+
+    static {
+        LONG_POWERS_OF_TEN[0] = 1;
+        for (int exponent = 1; exponent <= LONG_DIGITS; ++exponent) {
+            LONG_POWERS_OF_TEN[exponent] = LONG_POWERS_OF_TEN[exponent - 1] * 10;
+        }
+    }
+
     public Decimal() {
         super();
     }
@@ -40,8 +65,9 @@ public final class Decimal implements Operand {
     /**
      * 初始化
      *
-     * @param decimal 可以含小数点、负号。高位在前
+     * @param decimal 可以含小数点、负号、循环节。高位在前
      * @since 2021-8-2
+     * @lastModified 2026-10-18
      */
     public Decimal init(Symbol[] decimal) {
         if (!arrayIsDecimal(decimal)) {
@@ -50,25 +76,36 @@ public final class Decimal implements Operand {
 
         this.sign = !Decimal.arrayIsPositive(decimal);
         int pointLocation = Decimal.locatePoint(decimal);
+        int repetendLocation = Decimal.locateRepetend(decimal);
         int digitStart = TypeConverter.boolean2int(this.sign);
         int integerLength;
         int decimalLength;
+        int repetendLength;
 
         if (pointLocation == -1) {
             integerLength = decimal.length - digitStart;
             decimalLength = 0;
-        } else {
+            repetendLength = 0;
+        } else if (repetendLocation == -1) {
             integerLength = pointLocation - digitStart;
             decimalLength = decimal.length - (pointLocation + 1);
+            repetendLength = 0;
+        } else {
+            integerLength = pointLocation - digitStart;
+            decimalLength = repetendLocation - (pointLocation + 1);
+            repetendLength = decimal.length - 1 - (repetendLocation + 1); // 最后一个符号为右括号
         }
 
         this.integerPart = new Symbol[integerLength];
         this.decimalPart = new Symbol[decimalLength];
+        this.repetendPart = new Symbol[repetendLength];
 
         System.arraycopy(decimal, digitStart,
                 this.integerPart, 0, integerLength);
         System.arraycopy(decimal, pointLocation + 1,
                 this.decimalPart, 0, decimalLength);
+        System.arraycopy(decimal, repetendLocation + 1,
+                this.repetendPart, 0, repetendLength);
 
         return this;
     }
@@ -78,12 +115,13 @@ public final class Decimal implements Operand {
      *
      * @param decimal 可以含小数点、负号。高位在前
      * @since 2021-8-2
+     * @lastModified 2026-10-18
      */
     public Decimal init(char[] decimal) throws UndefinedException {
         int symbolLength = decimal.length;
         var symbols = new Symbol[symbolLength];
         for (int order = 0; order < symbolLength; ++order) {
-            symbols[order] = Symbol.getEnum(String.valueOf(decimal[order]));
+            symbols[order] = Symbol.fromChar(decimal[order]);
             if (symbols[order] == null) {
                 throw new UndefinedException("异常：使用了未定义符号");
             }
@@ -103,60 +141,214 @@ public final class Decimal implements Operand {
     }
 
     /**
+     * 算法：参见方法 parseRational
+     *
      * @since 2021-8-3
+     * @lastModified 2026-10-18
      */
     public Rational toRational() {
-        Rational result = new Rational(0);
-        int integerLength = this.integerPart.length;
-        int decimalLength = this.decimalPart.length;
-
-        Figure digit; // 此变量在循环外定义是为了提高效率，避免变量的反复创建
-        /**
-         * 整数部分的计算要从最低位开始，而在 this 中整数部分是高位在前，因此要从数组尾端开始遍历
-         */
-        for (int order = integerLength - 1; order >= 0; --order) {
-            digit = new Figure(Integer.valueOf(this.integerPart[order].toString()));
-            // 下面表达式指的是：result = result + digit * pow(10, digit 对应的整数的位数 -1)
-            try {
-                result = RationalOperation.add(result,
-                        RationalOperation.multiply(digit,
-                                FigureOperation.power(
-                                        10,
-                                        integerLength - order - 1)));
-            } catch (Exception exception) {
-                log.error("异常：", exception);
-            }
+        return Decimal.toRational(this.sign, this.integerPart, 0, this.integerPart.length,
+                this.decimalPart, 0, this.decimalPart.length,
+                this.repetendPart, 0, this.repetendPart.length);
+    }
+
+    /**
+     * 将小数直接转化为最简分数，不需要先构造 Decimal 对象
+     *
+     * 算法：
+     * 1. 去掉小数部分末尾的 0，然后将所有数字拼接为整数 digits，将小数部分的位数记为 scale，则结果为 digits / 10^scale
+     * 2. 不超过 18 位数字时，只使用 long 累加；否则每 18 位数字作为一块，先用 long 累加，再并入 BigInteger
+     * 3. 因为 10^scale 只有质因数 2 和 5，所以约分时只需要去掉 digits 与 10^scale 的公因数 2、5，不需要求最大公约数
+     *
+     * 循环小数直接使用公式计算，不需要逐项求和：设小数部分中不循环的部分有 m 位，循环节有 k 位，
+     * 将整数部分与不循环的部分拼接为整数 A，再将循环节拼接在 A 之后得到整数 B，则结果为 (B - A) / (10^m * (10^k - 1))。
+     * 例如，0.1(6) = (16 - 1) / (10 * 9) = 1/6。此时的分母含有 2、5 以外的质因数，因此需要求最大公约数来约分
+     *
+     * @param decimal 可以含小数点、负号、循环节。高位在前
+     * @throws LogicalException decimal 不是合法的小数（参见方法 arrayIsDecimal）
+     * @since 2026-10-18
+     */
+    public static Rational parseRational(Symbol[] decimal) {
+        if (!Decimal.arrayIsDecimal(decimal)) {
+            throw new LogicalException("错误：不是合法的小数");
+        }
+
+        boolean sign = !Decimal.arrayIsPositive(decimal);
+        int digitStart = TypeConverter.boolean2int(sign);
+        int pointLocation = Decimal.locatePoint(decimal);
+        if (pointLocation == -1) {
+            return Decimal.toRational(sign, decimal, digitStart, decimal.length, decimal, 0, 0);
+        }
+        int repetendLocation = Decimal.locateRepetend(decimal);
+        if (repetendLocation == -1) {
+            return Decimal.toRational(sign, decimal, digitStart, pointLocation,
+                    decimal, pointLocation + 1, decimal.length);
+        } else {
+            return Decimal.toRational(sign, decimal, digitStart, pointLocation,
+                    decimal, pointLocation + 1, repetendLocation,
+                    decimal, repetendLocation + 1, decimal.length - 1);
+        }
+    }
+
+    /**
+     * 循环节为 repetendPart 中 [repetendFrom, repetendTo) 的数字，其余同下一个重载方法。算法参见方法 parseRational
+     */
+    private static Rational toRational(boolean sign, Symbol[] integerPart, int integerFrom, int integerTo,
+                                       Symbol[] decimalPart, int decimalFrom, int decimalTo,
+                                       Symbol[] repetendPart, int repetendFrom, int repetendTo) {
+        if (repetendFrom == repetendTo) {
+            return Decimal.toRational(sign, integerPart, integerFrom, integerTo, decimalPart, decimalFrom, decimalTo);
+        }
+        // 注意：有循环节时，不循环的部分末尾的 0 不能去掉，因为它决定了循环节的位置
+        int scale = decimalTo - decimalFrom;
+        int period = repetendTo - repetendFrom;
+
+        var digits = new DigitAccumulator();
+        digits.append(integerPart, integerFrom, integerTo);
+        digits.append(decimalPart, decimalFrom, decimalTo);
+        boolean prefixIsLong = digits.isLong();
+        long longPrefix = digits.longValue();
+        var bigPrefix = prefixIsLong ? null : digits.toBigInteger();
+        digits.append(repetendPart, repetendFrom, repetendTo);
+
+        if (digits.isLong() && scale + period <= LONG_DIGITS) {
+            long numerator = digits.longValue() - longPrefix;
+            long denominator = LONG_POWERS_OF_TEN[scale] * (LONG_POWERS_OF_TEN[period] - 1);
+            long gcd = AlgorithmUtil.binaryGcd(numerator, denominator);
+            numerator /= gcd;
+            return Rational.ofReduced(Figure.valueOf(sign ? -numerator : numerator),
+                    Figure.valueOf(denominator / gcd));
+        }
+
+        var numerator = digits.toBigInteger().subtract(prefixIsLong ? BigInteger.valueOf(longPrefix) : bigPrefix);
+        var denominator = PowerTable.TEN.bigPower(period).subtract(BigInteger.ONE)
+                .multiply(PowerTable.TEN.bigPower(scale));
+        var gcd = GcdAlgorithm.gcd(numerator, denominator);
+        numerator = numerator.divide(gcd);
+        return Rational.ofReduced(Figure.valueOf(sign ? numerator.negate() : numerator),
+                Figure.valueOf(denominator.divide(gcd)));
+    }
+
+    /**
+     * 整数部分为 integerPart 中 [integerFrom, integerTo) 的数字，小数部分为 decimalPart 中 [decimalFrom, decimalTo) 的数字
+     */
+    private static Rational toRational(boolean sign, Symbol[] integerPart, int integerFrom, int integerTo,
+                                       Symbol[] decimalPart, int decimalFrom, int decimalTo) {
+        // 小数部分末尾的 0 不影响值。去掉之后，若 scale 不为 0，则 digits 的个位不为 0
+        while (decimalTo > decimalFrom && decimalPart[decimalTo - 1] == Symbol.ZERO) {
+            --decimalTo;
         }
+        int scale = decimalTo - decimalFrom;
+
+        var digits = new DigitAccumulator();
+        digits.append(integerPart, integerFrom, integerTo);
+        digits.append(decimalPart, decimalFrom, decimalTo);
 
-        /**
-         * 小数部分的计算要从最高位开始，而在 this 中小数部分是高位在前，因此要从数组首端开始遍历
-         */
-        for (int order = 0; order < decimalLength; ++order) {
-            digit = new Figure(Integer.valueOf(this.decimalPart[order].toString()));
-            // 下面表达式指的是：result = result + digit / pow(10, digit 对应的小数的位数)
-            try {
-                result = RationalOperation.add(result,
-                        RationalOperation.divide(digit,
-                                FigureOperation.power(10,
-                                        order + 1)));
-            } catch (Exception exception) {
-                log.error("异常：", exception);
+        if (digits.isLong() && scale < LONG_POWERS_OF_TEN.length) {
+            return Decimal.reduce(sign ? -digits.longValue() : digits.longValue(), scale);
+        } else {
+            var numerator = digits.toBigInteger();
+            return Decimal.reduce(sign ? numerator.negate() : numerator, scale);
+        }
+    }
+
+    /**
+     * 约分 numerator / 10^scale。要求 scale 不为 0 时，numerator 的个位不为 0
+     */
+    private static Rational reduce(long numerator, int scale) {
+        if (scale == 0) {
+            return new Rational(numerator);
+        }
+
+        long denominator = LONG_POWERS_OF_TEN[scale];
+        // numerator 不是 10 的倍数，因此公因数只可能是 2 的幂或 5 的幂，不可能同时含有 2 和 5
+        int twos = Math.min(Long.numberOfTrailingZeros(numerator), scale);
+        numerator >>= twos;
+        denominator >>= twos;
+        if (twos == 0) {
+            for (int fives = 0; fives < scale && numerator % 5 == 0; ++fives) {
+                numerator /= 5;
+                denominator /= 5;
             }
         }
 
-        if (this.sign) {
-            result = RationalOperation.getOpposite(result);
+        return Rational.ofReduced(Figure.valueOf(numerator), Figure.valueOf(denominator));
+    }
+
+    /**
+     * 约分 numerator / 10^scale。要求 scale 不为 0 时，numerator 的个位不为 0
+     */
+    private static Rational reduce(BigInteger numerator, int scale) {
+        if (scale == 0) {
+            return new Rational(Figure.valueOf(numerator));
         }
 
-        return result;
+        int twos = Math.min(numerator.getLowestSetBit(), scale);
+        int fives = 0;
+        numerator = numerator.shiftRight(twos);
+        if (twos == 0) {
+            while (fives < scale) {
+                var quotientAndRemainder = numerator.divideAndRemainder(FIVE);
+                if (quotientAndRemainder[1].signum() != 0) {
+                    break;
+                }
+                numerator = quotientAndRemainder[0];
+                ++fives;
+            }
+        }
+        BigInteger denominator;
+        if (fives == 0) {
+            denominator = PowerTable.TEN.bigPower(scale).shiftRight(twos);
+        } else {
+            denominator = FIVE.pow(scale - fives).shiftLeft(scale);
+        }
+
+        return Rational.ofReduced(Figure.valueOf(numerator), Figure.valueOf(denominator));
     }
 
+    /**
+     * 将十进制数字逐位拼接为整数。每 LONG_DIGITS 位数字作为一块，先用 long 累加，块满之后再并入 BigInteger
+     */
+    private static final class DigitAccumulator {
+        private long chunk = 0;
+        private int chunkLength = 0;
+        private BigInteger big = null; // 为 null 时，说明所有的数字都在 chunk 中
+
+        private void append(Symbol[] digits, int from, int to) {
+            for (int order = from; order < to; ++order) {
+                if (this.chunkLength == LONG_DIGITS) {
+                    this.big = this.toBigInteger();
+                    this.chunk = 0;
+                    this.chunkLength = 0;
+                }
+                this.chunk = this.chunk * 10 + digits[order].getOrder();
+                ++this.chunkLength;
+            }
+        }
+
+        private boolean isLong() {
+            return this.big == null;
+        }
+
+        private long longValue() {
+            return this.chunk;
+        }
+
+        private BigInteger toBigInteger() {
+            if (this.big == null) {
+                return BigInteger.valueOf(this.chunk);
+            }
+            return this.big.multiply(BigInteger.valueOf(LONG_POWERS_OF_TEN[this.chunkLength]))
+                    .add(BigInteger.valueOf(this.chunk));
+        }
+    }
 
     /**
      * 判断形参是否是合法的小数
      *
-     * @param decimal 可以含小数点、负号。高位在前
+     * @param decimal 可以含小数点、负号、循环节。循环节必须位于小数点之后、末尾，且至少有一位数字，如 0.1(6)
      * @since 2021-8-2
+     * @lastModified 2026-10-18
      */
     public static boolean arrayIsDecimal(Symbol[] decimal) {
         if (decimal == null) {
@@ -192,6 +384,9 @@ public final class Decimal implements Operand {
                     continue;
                 }
             }
+            if (bit == Symbol.LEFT_BRACKET) { // 循环节之后只能有右括号，因此不必再继续循环
+                return pointNum == 1 && Decimal.isRepetend(decimal, order);
+            }
             return false;
         }
 
@@ -228,12 +423,47 @@ public final class Decimal implements Operand {
         return -1;
     }
 
+    /**
+     * 调用该方法之前，要保证形参是符合语法的小数
+     *
+     * 定位循环节的左括号的位置。如果不是循环小数，将返回 -1
+     *
+     * @since 2026-10-18
+     */
+    public static int locateRepetend(Symbol[] decimal) {
+        for (int order = decimal.length - 1; order >= 0; --order) {
+            if (decimal[order] == Symbol.LEFT_BRACKET) {
+                return order;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 从 decimal[leftBracket] 开始直到末尾，是否为括号括起来的、至少有一位数字的循环节
+     */
+    private static boolean isRepetend(Symbol[] decimal, int leftBracket) {
+        int rightBracket = decimal.length - 1;
+        if (rightBracket <= leftBracket + 1 || decimal[rightBracket] != Symbol.RIGHT_BRACKET) {
+            return false;
+        }
+        for (int order = leftBracket + 1; order < rightBracket; ++order) {
+            if (!decimal[order].isDigit()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @lastModified 2026-10-18
+     */
     public static Symbol[] symbolArray2charArray(char[] charArray) throws UndefinedException {
         int symbolLength = charArray.length;
         var symbols = new Symbol[symbolLength];
-        for (char ch : charArray) {
-            var symbol = Symbol.getEnum(Character.toString(ch));
-            if (symbol == null) {
+        for (int order = 0; order < symbolLength; ++order) {
+            symbols[order] = Symbol.fromChar(charArray[order]);
+            if (symbols[order] == null) {
                 throw new UndefinedException("错误：检测到未定义符号");
             }
         }
@@ -5,7 +5,6 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
-import org.wangpai.mathlab.basic.operation.FigureOperation;
 import org.wangpai.mathlab.exception.checked.OverflowException;
 import org.wangpai.mathlab.exception.unchecked.LogicalException;
 
@@ -16,69 +15,111 @@ import org.wangpai.mathlab.exception.unchecked.LogicalException;
  *
  * @since 2021-7-22
  */
-public class Figure implements Operand {
+public class Figure implements Operand, Comparable<Figure> {
     private static int MAX_SMALL = Integer.MAX_VALUE;
     private static int MIN_SMALL = Integer.MIN_VALUE;
 
+    /**
+     * 本类的数据分为三级表示：int 范围、long 范围、BigInteger 范围。
+     * 为了提高效率，只有超出 long 范围时才使用 BigInteger
+     *
+     * 规定：isSmall 为 true 时，isLong 一定为 true
+     */
+    @Getter
+    private boolean isSmall = true; // 标记本对象是否在 int 范围内
     @Getter
-    private boolean isSmall = true; // 标记本对象是小整数还是大整数。为了提高效率，没有必要全都用大整数
-    private int small;
-    private BigInteger big;
+    private boolean isLong = true; // 标记本对象是否在 long 范围内
+    private long small; // 当 isLong 为 true 时，使用此字段储存数据
+    private BigInteger big; // 当 isLong 为 false 时，使用此字段储存数据
 
     /**
      * 标记本对象是不是常量。是常量的对象，不能对其使用自增、自减函数。
      * 由于 Java 的语法限制，无法在定义自增函数的同时，确保 Figure 常量不被破坏，因此只能以此加以逻辑限制
+     *
+     * 由方法 valueOf 得到的对象都是常量
      */
+    @Getter
     @Accessors(chain = true)
     @Setter(AccessLevel.PRIVATE)
     private boolean isFinal = false;
 
     /**
-     * 注意：不能直接使用 Figure 常量进行赋值！必须使用它的 clone 方法
+     * 注意：如果需要对 Figure 常量进行自增、自减，必须使用它的 clone 方法
      */
-    public final static Figure ZERO = new Figure(0).setFinal(true);
-    public final static Figure ONE = new Figure(1).setFinal(true);
-    public final static Figure TWO = new Figure(2).setFinal(true);
+    public final static Figure ZERO = Figure.valueOf(0);
+    public final static Figure ONE = Figure.valueOf(1);
+    public final static Figure TWO = Figure.valueOf(2);
+    public final static Figure MINUS_ONE = Figure.valueOf(-1);
+
+    /**
+     * 小整数常量缓存。其原理与 Integer.valueOf 的缓存相同
+     *
+     * 缓存的范围为 [-range, range]，其中 range 可以通过系统属性 mathlab.figure.cache.range 来设置，默认为 1024
+     *
+     * @since 2026-10-18
+     */
+    private static class FigureCache {
+        static final int DEFAULT_RANGE = 1024;
+        static final int range;
+        static final Figure[] cache;
+
+        static {
+            int configuredRange = DEFAULT_RANGE;
+            String property = System.getProperty("mathlab.figure.cache.range");
+            if (property != null) {
+                try {
+                    configuredRange = Math.max(2, Integer.parseInt(property.trim())); // 至少要能缓存常量 -1、0、1、2
+                } catch (NumberFormatException ignored) {
+                    // 如果系统属性不合法，使用默认值
+                }
+            }
+            range = Math.min(configuredRange, (Integer.MAX_VALUE - 1) / 2);
+
+            cache = new Figure[2 * range + 1];
+            for (int index = 0; index < cache.length; ++index) {
+                cache[index] = new Figure(index - range).setFinal(true);
+            }
+        }
+    }
 
     protected Figure() {
         super();
     }
 
     /**
-     * 此方法使用的是深克隆
+     * 因为 BigInteger 是不可变类，所以对于大整数，此方法会直接共享 other 中的 BigInteger，而不会复制它
      *
      * @since 2021-8-3
-     * @lastModified 2022-9-9
+     * @lastModified 2026-10-18
      */
     public Figure(Figure other) {
         super();
         this.isFinal = false; // 凡是手动创建的都不算做常量
         this.isSmall = other.isSmall;
-        if (other.isSmall) {
+        this.isLong = other.isLong;
+        if (other.isLong) {
             this.small = other.small;
         } else {
-            this.big = Figure.cloneBigInteger(other.big);
+            this.big = other.big;
         }
     }
 
     /**
-     * 此方法使用的是深克隆
+     * 因为 BigInteger 是不可变类，所以此方法会直接共享 num，而不会复制它
      *
      * @since 2021-8-3
-     * @lastModified 2022-9-9
+     * @lastModified 2026-10-18
      */
     public Figure(BigInteger num) {
         super();
         this.isFinal = false; // 凡是手动创建的都不算做常量
-        long longResult = 0;
-        try {
-            longResult = num.longValueExact();
-        } catch (ArithmeticException exception) {
-            this.big = Figure.cloneBigInteger(num); // 如果抛出异常说明是大整数
+        if (num.bitLength() < Long.SIZE) { // 此判断不会像 longValueExact 那样需要依赖抛出异常
+            this.setValue(num.longValue());
+        } else {
+            this.big = num;
             this.isSmall = false;
-            return;
+            this.isLong = false;
         }
-        this.valueOf(longResult);
     }
 
     /**
@@ -86,24 +127,64 @@ public class Figure implements Operand {
      */
     public Figure(long num) {
         super();
-        this.valueOf(num);
+        this.setValue(num);
     }
 
     /**
-     * 注意：此方法不会涉及对字段 isFinal 的初始化
+     * 得到一个值为 num 的 Figure 常量。对于小整数，此方法会直接返回缓存的对象，不会创建新对象
      *
-     * @since 2022-9-9
+     * 注意：此方法返回的对象不能使用自增、自减函数。如果需要，使用它的 clone 方法
+     *
+     * @since 2026-10-18
+     */
+    public static Figure valueOf(long num) {
+        if (num >= -FigureCache.range && num <= FigureCache.range) {
+            return FigureCache.cache[(int) num + FigureCache.range];
+        }
+        return new Figure(num).setFinal(true);
+    }
+
+    /**
+     * 得到一个值为 num 的 Figure 常量。如果 num 在 long 范围内，则等同于方法 valueOf(long)
+     *
+     * @since 2026-10-18
+     */
+    public static Figure valueOf(BigInteger num) {
+        if (num.bitLength() < Long.SIZE) {
+            return Figure.valueOf(num.longValue());
+        }
+        return new Figure(num).setFinal(true);
+    }
+
+    /**
+     * 得到本对象的常量形式。如果本对象已经是常量，直接返回本对象
+     *
+     * @since 2026-10-18
      */
-    private void valueOf(long num) {
-        if (couldSmall(num) == 0) {
-            this.small = (int) num;
-            this.isSmall = true;
+    public Figure toFinal() {
+        if (this.isFinal) {
+            return this;
+        }
+        if (this.isLong) {
+            return Figure.valueOf(this.small);
         } else {
-            this.big = BigInteger.valueOf(num);
-            this.isSmall = false;
+            return new Figure(this).setFinal(true);
         }
     }
 
+    /**
+     * 注意：此方法不会涉及对字段 isFinal 的初始化
+     *
+     * @since 2022-9-9
+     * @lastModified 2026-10-18
+     */
+    private void setValue(long num) {
+        this.small = num;
+        this.big = null;
+        this.isLong = true;
+        this.isSmall = couldSmall(num) == 0;
+    }
+
     /**
      * 判断 long 类型是否可以转换为 int。如果可以，返回 0；如果正数溢出，返回 1；如果负数溢出，返回 -1
      *
@@ -120,41 +201,45 @@ public class Figure implements Operand {
     }
 
     /**
-     * 此方法只会返回数据副本
+     * 因为 BigInteger 是不可变类，所以对于大整数，此方法会直接返回原始 BigInteger 数据，而不会复制它
      *
      * @since 2022-9-9
+     * @lastModified 2026-10-18
      */
     public BigInteger toBigInteger() {
-        if (this.isSmall) {
+        if (this.isLong) {
             return BigInteger.valueOf(this.small);
         } else {
-            return cloneBigInteger(this.big);
+            return this.big;
         }
     }
 
     /**
-     * 此方法可能返回原始 BigInteger 数据，因此有数据被意外修改的风险。只有对效率要求很高时才能调用本方法！
+     * 因为 BigInteger 是不可变类，所以此方法现在与方法 toBigInteger 等价。保留此方法是为了兼容
      *
      * @since 2022-9-9
+     * @lastModified 2026-10-18
      */
     public BigInteger getOriginBigInteger() {
-        if (this.isSmall) {
+        if (this.isLong) {
             return BigInteger.valueOf(this.small);
         } else {
             return this.big;
         }
     }
 
-    private static BigInteger cloneBigInteger(BigInteger bigInteger) {
-        return new BigInteger(bigInteger.toString());
-    }
-
     /**
+     * 此方法总是返回一个非常量的新对象，因此可以用于对 Figure 常量进行自增、自减
+     *
+     * 对于大整数，克隆的对象与本对象共享同一个 BigInteger，因此克隆的开销与数的位数无关。
+     * 这是安全的，因为 BigInteger 是不可变类，且自增、自减只会替换字段 big，不会修改原来的 BigInteger
+     *
      * @since 2022-9-9
+     * @lastModified 2026-10-18
      */
     @Override
     public Figure clone() {
-        if (this.isSmall) {
+        if (this.isLong) {
             return new Figure(this.small);
         } else {
             return new Figure(this.big);
@@ -187,9 +272,11 @@ public class Figure implements Operand {
     }
 
     /**
-     * 算法：相减结果为 0 即为相等
+     * 算法：因为本类的三级表示是唯一的（只有超出 long 范围时才使用 BigInteger），
+     * 所以只需要比较同一级的数据，不需要进行减法运算
      *
      * @since 2021-8-5
+     * @lastModified 2026-10-18
      */
     public boolean equals(Figure other) {
         if (this == other) {
@@ -199,16 +286,81 @@ public class Figure implements Operand {
             return false;
         }
 
-        try {
-            return FigureOperation.subtract(this, other).isZero();
-        } catch (Exception exception) {
-            return false;  // 只要此处抛出了异常，均视为相等判断失败
+        if (this.isLong != other.isLong) {
+            return false;
+        }
+        if (this.isLong) {
+            return this.small == other.small;
+        } else {
+            return this.big.equals(other.big);
+        }
+    }
+
+    /**
+     * 此方法与方法 equals 保持一致：意义上相等的 Figure，其 hashCode 一定相等
+     *
+     * @since 2026-10-18
+     */
+    @Override
+    public int hashCode() {
+        if (this.isLong) {
+            return Long.hashCode(this.small);
+        } else {
+            return this.big.hashCode();
+        }
+    }
+
+    /**
+     * 算法：
+     * 1. 如果两个数都在 long 范围内，直接比较 long
+     * 2. 如果只有一个数超出 long 范围，那么超出 long 范围的数的绝对值一定更大，因此只需要看它的符号
+     * 3. 如果两个数都超出 long 范围，使用 BigInteger 比较
+     *
+     * @since 2026-10-18
+     */
+    @Override
+    public int compareTo(Figure other) {
+        if (this.isLong && other.isLong) {
+            return Long.compare(this.small, other.small);
+        }
+        if (this.isLong) {
+            return -other.big.signum();
+        }
+        if (other.isLong) {
+            return this.big.signum();
+        }
+        return this.big.compareTo(other.big);
+    }
+
+    /**
+     * 求符号。正数返回 1，0 返回 0，负数返回 -1
+     *
+     * @since 2026-10-18
+     */
+    public int signum() {
+        if (this.isLong) {
+            return Long.signum(this.small);
+        } else {
+            return this.big.signum();
+        }
+    }
+
+    /**
+     * 求二进制位数（不含符号位），与 BigInteger.bitLength 相同
+     *
+     * @since 2026-10-18
+     */
+    public int bitLength() {
+        if (this.isLong) {
+            return Long.SIZE - Long.numberOfLeadingZeros(this.small < 0 ? ~this.small : this.small);
+        } else {
+            return this.big.bitLength();
         }
     }
 
     @Override
     public String toString() {
-        if (this.isSmall) {
+        if (this.isLong) {
             return String.valueOf(this.small);
         } else {
             return this.big.toString();
@@ -221,36 +373,32 @@ public class Figure implements Operand {
      * @since 2022-9-9
      */
     public boolean tryToLong() {
-        if (this.isSmall) {
-            return true;
-        }
-
-        try {
-            this.big.longValueExact();
-        } catch (ArithmeticException exception) {
-            return false;
-        }
-        return true; // 如果不抛出异常就认为可以转换为 long 类型
+        return this.isLong;
     }
 
     /**
      * 将 Figure 转化成 long
      *
      * @since 2022-8-29
-     * @lastModified 2022-9-9
+     * @lastModified 2026-10-18
      */
     public long toLong() throws OverflowException {
-        if (this.isSmall) {
-            return this.small;
-        }
-
-        long result;
-        try {
-            result = this.big.longValueExact();
-        } catch (ArithmeticException exception) {
+        if (!this.isLong) {
             throw new OverflowException("本 Figure 对象超出 long 类型的范围，转换失败");
         }
-        return result;
+
+        return this.small;
+    }
+
+    /**
+     * 直接返回 long 数据，不作任何检查。只有 isLong 为 true 时才能调用本方法！
+     *
+     * 此方法是为了避免方法 toLong 的异常处理开销而提供给运算类使用的
+     *
+     * @since 2026-10-18
+     */
+    public long getLongValue() {
+        return this.small;
     }
 
     /**
@@ -263,12 +411,12 @@ public class Figure implements Operand {
             throw new OverflowException("本 Figure 对象超出 int 类型的范围，转换失败");
         }
 
-        return this.small;
+        return (int) this.small;
     }
 
     @Override
     public boolean isZero() {
-        if (this.isSmall) {
+        if (this.isLong) {
             return this.small == 0;
         } else {
             return this.big.equals(BigInteger.ZERO);
@@ -277,7 +425,7 @@ public class Figure implements Operand {
 
     @Override
     public boolean isPositive() {
-        if (this.isSmall) {
+        if (this.isLong) {
             return this.small > 0;
         } else {
             /**
@@ -301,37 +449,17 @@ public class Figure implements Operand {
      * 因为这个方法需要改变自身，所以不将其独立到工厂方法中
      *
      * @since 2022-8-24
+     * @lastModified 2026-10-18
      */
     public Figure increaseOne() throws LogicalException {
         if (this.isFinal) {
             throw new LogicalException("错误：不能对常量【" + this + "】进行自增");
         }
 
-        if (this.isSmall) { // 如果现在是小整数
-            if (this.small == MAX_SMALL) {
-                this.isSmall = false;
-                this.big = BigInteger.valueOf(MAX_SMALL).add(BigInteger.ONE);
-            } else {
-                ++this.small;
-            }
-        } else { // 如果现在是大整数
-            long longResult;
-            try {
-                longResult = this.toLong();
-            } catch (OverflowException exception) {
-                /**
-                 * 抛出异常说明现在已经超出 long 的范围，
-                 * 此时加 1 不管怎样都是不可能缩小到 int 的范围的
-                 */
-                this.big = this.big.add(BigInteger.ONE);
-                return this;
-            }
-            if (longResult == MIN_SMALL - (long) 1) { // 如果此时不把 1 强制转换为 long，会发生无声溢出
-                this.small = MIN_SMALL;
-                this.isSmall = true;
-            } else {
-                this.big = this.big.add(BigInteger.ONE);
-            }
+        if (this.isLong && this.small != Long.MAX_VALUE) { // 如果现在是 long 范围，且加 1 不会溢出
+            this.setValue(this.small + 1);
+        } else {
+            this.setValue(this.toBigIntegerForSelfChange().add(BigInteger.ONE));
         }
         return this;
     }
@@ -342,38 +470,42 @@ public class Figure implements Operand {
      * 因为这个方法需要改变自身，所以不将其独立到工厂方法中
      *
      * @since 2022-8-24
+     * @lastModified 2026-10-18
      */
     public Figure decreaseOne() throws LogicalException {
         if (this.isFinal) {
             throw new LogicalException("错误：不能对常量【" + this + "】进行自减");
         }
 
-        if (this.isSmall) { // 如果现在是小整数
-            if (this.small == MIN_SMALL) {
-                this.isSmall = false;
-                this.big = BigInteger.valueOf(MIN_SMALL).subtract(BigInteger.ONE);
-            } else {
-                --this.small;
-            }
-        } else { // 如果现在是大整数
-            long longResult;
-            try {
-                longResult = this.toLong();
-            } catch (OverflowException exception) {
-                /**
-                 * 抛出异常说明现在已经超出 long 的范围，
-                 * 此时加 1 不管怎样都是不可能缩小到 int 的范围的
-                 */
-                this.big = this.big.subtract(BigInteger.ONE);
-                return this;
-            }
-            if (longResult == MAX_SMALL + (long) 1) { // 如果此时不把 1 强制转换为 long，会发生无声溢出
-                this.small = MAX_SMALL;
-                this.isSmall = true;
-            } else {
-                this.big = this.big.subtract(BigInteger.ONE);
-            }
+        if (this.isLong && this.small != Long.MIN_VALUE) { // 如果现在是 long 范围，且减 1 不会溢出
+            this.setValue(this.small - 1);
+        } else {
+            this.setValue(this.toBigIntegerForSelfChange().subtract(BigInteger.ONE));
         }
         return this;
     }
+
+    /**
+     * 供自增、自减使用。此方法不会复制 BigInteger
+     *
+     * @since 2026-10-18
+     */
+    private BigInteger toBigIntegerForSelfChange() {
+        return this.isLong ? BigInteger.valueOf(this.small) : this.big;
+    }
+
+    /**
+     * 供自增、自减使用。运算结果如果能缩小到 long 范围，则将其降级为 long 表示
+     *
+     * @since 2026-10-18
+     */
+    private void setValue(BigInteger num) {
+        if (num.bitLength() < Long.SIZE) {
+            this.setValue(num.longValue());
+        } else {
+            this.big = num;
+            this.isSmall = false;
+            this.isLong = false;
+        }
+    }
 }
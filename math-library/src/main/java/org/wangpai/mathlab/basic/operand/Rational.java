@@ -1,27 +1,57 @@
 package org.wangpai.mathlab.basic.operand;
 
+import java.math.BigInteger;
+import java.math.RoundingMode;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 import org.wangpai.mathlab.basic.algorithm.AlgorithmUtil;
+import org.wangpai.mathlab.basic.algorithm.PowerTable;
+import org.wangpai.mathlab.basic.enumeration.Symbol;
 import org.wangpai.mathlab.basic.operation.FigureOperation;
-import org.wangpai.mathlab.basic.operation.RationalOperation;
 import org.wangpai.mathlab.exception.checked.MathlabCheckedException;
 import org.wangpai.mathlab.exception.checked.SyntaxException;
+import org.wangpai.mathlab.exception.unchecked.LogicalException;
 import org.wangpai.mathlab.tool.DigitalStringUtil;
 
 /**
  * Rational Number：有理数
  *
+ * 注意：本类的分子、分母均为 Figure 常量（参见方法 Figure.valueOf），因此可以在多个 Rational 之间共享
+ *
+ * 无论是否约分，本类的分母恒为正数
+ *
+ * 分子、分母以及是否已约分的标记保存在同一个不可变对象（Parts）中。延迟约分模式下，toString、equals、hashCode
+ * 等方法会约分，但约分只是将其整体替换为值相同的最简形式。每个方法都只读取一次 Parts，
+ * 因此多个线程共享同一个 Rational 时，不会读到不匹配的分子、分母，hashCode 也不会改变
+ *
  * @since 2021-8-1
+ * @lastModified 2026-10-18
  */
-public class Rational implements Operand {
-    @Getter(AccessLevel.PUBLIC)
-    private Figure numerator; // 分子
+public class Rational implements Operand, Comparable<Rational> {
+    /**
+     * 分子、分母以及是否已约分。所有字段都是 final 的，因此即使没有同步，其它线程读到的也是完整的对象
+     *
+     * @since 2026-10-18
+     */
+    private static final class Parts {
+        private final Figure numerator; // 分子
+        private final Figure denominator; // 分母
+        private final boolean isReduced; // 是否已经约分
+
+        private Parts(Figure numerator, Figure denominator, boolean isReduced) {
+            this.numerator = numerator;
+            this.denominator = denominator;
+            this.isReduced = isReduced;
+        }
+    }
 
-    @Getter(AccessLevel.PUBLIC)
-    private Figure denominator; // 分母
+    /**
+     * 只会被替换为值相同的 Parts（参见方法 reducedParts），因此不需要 volatile：
+     * 一个线程读到替换前或替换后的 Parts 都是正确的
+     */
+    private Parts parts;
 
     /**
      * 标记本对象是不是常量。是常量的对象，不能对其使用自增、自减函数。
@@ -31,22 +61,48 @@ public class Rational implements Operand {
     @Setter(AccessLevel.PRIVATE)
     private boolean isFinal = false;
 
+    /**
+     * 延迟约分模式。开启此模式后，新建的 Rational 暂不约分，直到调用 toString、equals、hashCode 等方法，
+     * 或者分子、分母的二进制位数之和达到 lazyReductionThreshold 时，才进行约分。
+     * 在大量连加等累积运算中，这可以减少求最大公约数的次数
+     *
+     * 默认不开启。可以通过系统属性 mathlab.rational.lazy.reduction 或方法 setLazyReduction 来开启
+     *
+     * 注意：开启此模式后，方法 getNumerator、getDenominator 的结果可能不是最简分数的分子、分母。
+     * 如果需要最简分数，应先调用方法 reduceFraction
+     */
+    @Getter(AccessLevel.PUBLIC)
+    @Setter(AccessLevel.PUBLIC)
+    private static volatile boolean lazyReduction = Boolean.getBoolean("mathlab.rational.lazy.reduction");
+
+    /**
+     * 延迟约分模式下，分子、分母的二进制位数之和达到此值时，立即约分。
+     * 可以通过系统属性 mathlab.rational.lazy.threshold 来设置
+     */
+    @Getter(AccessLevel.PUBLIC)
+    @Setter(AccessLevel.PUBLIC)
+    private static volatile int lazyReductionThreshold = Integer.getInteger("mathlab.rational.lazy.threshold", 4096);
+
     /**
      * 注意：不能直接使用 Rational 常量进行赋值！必须使用它的 clone 方法
      */
     public final static Rational ZERO = new Rational(0).setFinal(true);
     public final static Rational ONE = new Rational(1).setFinal(true);
 
+    private static final BigInteger FIVE = BigInteger.valueOf(5);
+
     protected Rational() {
         super();
     }
 
     public Rational(Rational other) {
         super();
-        this.numerator = other.numerator;
-        this.denominator = other.denominator;
-
-        this.reduceFraction();
+        var otherParts = other.parts;
+        if (otherParts.isReduced) {
+            this.parts = otherParts;
+        } else {
+            this.reduceOrDefer(otherParts.numerator, otherParts.denominator);
+        }
     }
 
     /**
@@ -59,10 +115,7 @@ public class Rational implements Operand {
         if (denominator.isZero()) {
             throw new SyntaxException("错误：0 不能作分母");
         }
-        this.numerator = numerator.clone();
-        this.denominator = denominator.clone();
-
-        this.reduceFraction();
+        this.reduceOrDefer(numerator.toFinal(), denominator.toFinal());
     }
 
     public Rational(long numerator, long denominator)
@@ -71,30 +124,62 @@ public class Rational implements Operand {
         if (denominator == 0) {
             throw new SyntaxException("错误：0 不能作分母");
         }
-        this.numerator = new Figure(numerator);
-        this.denominator = new Figure(denominator);
-
-        this.reduceFraction();
+        this.reduceOrDefer(Figure.valueOf(numerator), Figure.valueOf(denominator));
     }
 
     public Rational(Figure numerator) {
         super();
-        this.numerator = numerator.clone();
-        this.denominator = new Figure(1);
+        this.parts = new Parts(numerator.toFinal(), Figure.ONE, true);
     }
 
     public Rational(long numerator) {
-        this(new Figure(numerator));
+        this(Figure.valueOf(numerator));
+    }
+
+    /**
+     * 由已知为最简分数的分子、分母直接构造，不再求最大公约数。供已经完成约分的算法使用（如最简分数的乘方）
+     *
+     * 注意：本方法不作任何检查。调用者必须保证分子、分母互质，且分母为正数，否则本对象的各种运算结果都是错误的
+     *
+     * @since 2026-10-18
+     */
+    public static Rational ofReduced(Figure numerator, Figure denominator) {
+        var rational = new Rational();
+        rational.parts = new Parts(numerator.toFinal(), denominator.toFinal(), true);
+        return rational;
+    }
+
+    /**
+     * 注意：开启延迟约分模式后，结果可能不是最简分数的分子。参见 lazyReduction
+     *
+     * @lastModified 2026-10-18
+     */
+    public Figure getNumerator() {
+        return this.parts.numerator;
+    }
+
+    /**
+     * 注意：开启延迟约分模式后，结果可能不是最简分数的分母。参见 lazyReduction
+     *
+     * @lastModified 2026-10-18
+     */
+    public Figure getDenominator() {
+        return this.parts.denominator;
     }
 
     @Override
     public boolean isZero() {
-        return this.numerator.isZero();
+        return this.parts.numerator.isZero();
     }
 
+    /**
+     * 因为分母恒为正数，所以不需要约分
+     *
+     * @lastModified 2026-10-18
+     */
     @Override
     public boolean isPositive() {
-        return this.reduceFraction().numerator.isPositive();
+        return this.parts.numerator.isPositive();
     }
 
     @Override
@@ -102,11 +187,24 @@ public class Rational implements Operand {
         return Operand.super.isNegative();
     }
 
+    /**
+     * 本对象是否已经约分。没有开启延迟约分模式时，总是为 true
+     *
+     * @since 2026-10-18
+     */
+    public boolean isReduced() {
+        return this.parts.isReduced;
+    }
+
+    /**
+     * 因为 Parts 是不可变的，所以克隆时不需要复制它
+     *
+     * @lastModified 2026-10-18
+     */
     @Override
     public Rational clone() {
         Rational cloned = new Rational();
-        cloned.numerator = this.numerator.clone();
-        cloned.denominator = this.denominator.clone();
+        cloned.parts = this.parts;
 
         return cloned;
     }
@@ -140,9 +238,12 @@ public class Rational implements Operand {
     }
 
     /**
-     * 算法：相减结果为 0 即为相等
+     * 算法：先约分。约分后分母恒为正数，因此两个数相等当且仅当分子、分母分别相等
+     *
+     * 约分的结果会保存在两个对象中（参见方法 reducedParts），但不会改变它们的值
      *
      * @since 2021-8-5
+     * @lastModified 2026-10-18
      */
     public boolean equals(Rational other) {
         if (this == other) {
@@ -152,17 +253,67 @@ public class Rational implements Operand {
             return false;
         }
 
-        try {
-            return RationalOperation.subtract(this, other).isZero();
-        } catch (Exception exception) {
-            return false;  // 只要此处抛出了异常，均视为相等判断失败
+        var thisParts = this.reducedParts();
+        var otherParts = other.reducedParts();
+        return thisParts.numerator.equals(otherParts.numerator) && thisParts.denominator.equals(otherParts.denominator);
+    }
+
+    /**
+     * 此方法与方法 equals 保持一致：意义上相等的 Rational，其 hashCode 一定相等。为此，此方法会先约分
+     *
+     * 特别地，分母为 1 时，其 hashCode 与其分子的 hashCode 相同。这是为了与值相同的 Figure 保持一致
+     *
+     * @since 2026-10-18
+     */
+    @Override
+    public int hashCode() {
+        var parts = this.reducedParts();
+        if (parts.denominator.equals(Figure.ONE)) {
+            return parts.numerator.hashCode();
         }
+        return 31 * parts.numerator.hashCode() + parts.denominator.hashCode();
+    }
+
+    /**
+     * 算法：
+     * 1. 如果两个数的符号不同，直接根据符号判断
+     * 2. 如果两个数的分母相同，直接比较分子
+     * 3. 否则交叉相乘后比较：a/b 与 c/d 的大小关系同 a*d 与 c*b 的大小关系（b、d 同号时）
+     *
+     * 此方法不需要约分，因此不会进行求最大公约数的运算
+     *
+     * @since 2026-10-18
+     */
+    @Override
+    public int compareTo(Rational other) {
+        var thisParts = this.parts;
+        var otherParts = other.parts;
+        int thisSign = thisParts.numerator.signum() * thisParts.denominator.signum();
+        int otherSign = otherParts.numerator.signum() * otherParts.denominator.signum();
+        if (thisSign != otherSign) {
+            return Integer.compare(thisSign, otherSign);
+        }
+        if (thisSign == 0) {
+            return 0;
+        }
+
+        if (thisParts.denominator.equals(otherParts.denominator)) {
+            int result = thisParts.numerator.compareTo(otherParts.numerator);
+            return thisParts.denominator.signum() > 0 ? result : -result;
+        }
+
+        int result = FigureOperation.multiply(thisParts.numerator, otherParts.denominator)
+                .compareTo(FigureOperation.multiply(otherParts.numerator, thisParts.denominator));
+        // 交叉相乘相当于两边同时乘以 b*d。如果 b*d 为负数，需要反转比较结果
+        return thisParts.denominator.signum() == otherParts.denominator.signum() ? result : -result;
     }
 
     /**
      * @since 2021-10-12
+     * @lastModified 2026-10-18
      */
     public String toString(boolean needShowBrackets) {
+        var parts = this.reducedParts();
         if (needShowBrackets) {
             /**
              * 规定外加括号的样式
@@ -171,31 +322,31 @@ public class Rational implements Operand {
             final var RIGHT_BRACKET = "]";
 
             // 如果此有理数为整数，不输出分母
-            if (this.denominator.equals(new Figure(1))) {
+            if (parts.denominator.equals(Figure.ONE)) {
                 // 如果此整数为负数，外加括号
-                if (this.numerator.isNegative()) {
+                if (parts.numerator.isNegative()) {
                     return new StringBuilder()
                             .append(LEFT_BRACKET)
-                            .append(this.numerator)
+                            .append(parts.numerator)
                             .append(RIGHT_BRACKET)
                             .toString();
                 }
                 // 如果此整数为正数，直接转化，不外加括号
-                return this.numerator.toString();
+                return parts.numerator.toString();
             } else {
                 return new StringBuilder()
                         .append(LEFT_BRACKET)
-                        .append(this.numerator).append("/").append(this.denominator)
+                        .append(parts.numerator).append("/").append(parts.denominator)
                         .append(RIGHT_BRACKET)
                         .toString();
             }
         } else {
             // 如果此有理数为整数，不输出分母
-            if (this.denominator.equals(new Figure(1))) {
-                return this.numerator.toString();
+            if (parts.denominator.equals(Figure.ONE)) {
+                return parts.numerator.toString();
             } else {
                 return new StringBuilder()
-                        .append(this.numerator).append("/").append(this.denominator)
+                        .append(parts.numerator).append("/").append(parts.denominator)
                         .toString();
             }
         }
@@ -211,45 +362,36 @@ public class Rational implements Operand {
     }
 
     /**
+     * 结果是正确舍入的（与本有理数最接近的 double）。算法参见 AlgorithmUtil.divideToDouble
+     *
+     * 因为结果只与本有理数的值有关，所以此方法不需要先约分
+     *
      * @since 2021-8-1
-     * @lastModified 2022-9-1
+     * @lastModified 2026-10-18
      */
     public double toDouble() {
-        if (FigureOperation.greaterThan(this.numerator, new Figure(Long.MAX_VALUE))
-                || FigureOperation.greaterThan(this.denominator, new Figure(Long.MAX_VALUE))) {
-            return this.toDoubleForBig();
-        } else {
-            return this.toDoubleForSmall();
-        }
+        var parts = this.parts;
+        return AlgorithmUtil.divideToDouble(parts.numerator, parts.denominator);
     }
 
     /**
-     * 此方法不能用于分子或分母超出 long 类型的分数，但此方法的转换结果可能更精确
+     * 现在与方法 toDouble 相同。保留此方法是为了兼容
      *
      * @since 2021-8-1
+     * @lastModified 2026-10-18
      */
     public double toDoubleForSmall() {
-        /**
-         * 将分子、分母中较大的那个数转换为类型 double 来运算
-         */
-        if (this.isProperFraction()) {
-            return this.numerator.getOriginBigInteger().longValueExact()
-                    / ((double) this.denominator.getOriginBigInteger().longValueExact());
-        } else {
-            return ((double) this.numerator.getOriginBigInteger().longValueExact())
-                    / this.denominator.getOriginBigInteger().longValueExact();
-        }
+        return this.toDouble();
     }
 
     /**
-     * 此方法可以用于分子或分母很大的情形，但此方法的转换结果可能会导致精确度下降
+     * 现在与方法 toDouble 相同。保留此方法是为了兼容
      *
      * @since 2022-8-25
+     * @lastModified 2026-10-18
      */
     public double toDoubleForBig() {
-        // 这里使用了笔者自研的“大整数相除防溢出递归算法”
-        return AlgorithmUtil.dividedBetweenBigIntegers(
-                this.getNumerator(), 0, this.getDenominator(), 0);
+        return this.toDouble();
     }
 
     /**
@@ -277,6 +419,167 @@ public class Rational implements Operand {
         }
     }
 
+    /**
+     * 将有理数精确地转化为小数字符串，保留 digits 位小数，多余的部分按 roundingMode 舍入。
+     * 结果与 BigDecimal 的 divide(divisor, digits, roundingMode).toPlainString() 相同
+     *
+     * 算法：将分子乘以 10^digits（参见 PowerTable）之后，只需进行一次 BigInteger 除法即可得到所有的数字，
+     * 然后根据余数决定是否进位。BigInteger 的大数除法与 toString 都是次平方级的，因此 digits 很大时也不会是平方级的耗时
+     *
+     * @param digits 小数的位数，不能为负数
+     * @throws ArithmeticException roundingMode 为 RoundingMode.UNNECESSARY，但结果不精确（与 BigDecimal 相同）
+     * @since 2026-10-18
+     */
+    public String toDecimalString(int digits, RoundingMode roundingMode) {
+        if (digits < 0) {
+            throw new LogicalException("错误：小数的位数不能为负数");
+        }
+
+        var parts = this.parts;
+        var numerator = parts.numerator.toBigInteger();
+        var denominator = parts.denominator.toBigInteger();
+        boolean negative = numerator.signum() < 0;
+        var quotientAndRemainder = numerator.abs().multiply(PowerTable.TEN.bigPower(digits))
+                .divideAndRemainder(denominator);
+        var quotient = quotientAndRemainder[0];
+        var remainder = quotientAndRemainder[1];
+        if (remainder.signum() != 0 && Rational.needIncrement(quotient, remainder, denominator, negative, roundingMode)) {
+            quotient = quotient.add(BigInteger.ONE);
+        }
+
+        var sb = new StringBuilder();
+        if (negative && quotient.signum() != 0) {
+            sb.append(Symbol.SUBTRACT);
+        }
+        Rational.appendWithPoint(sb, quotient.toString(), digits);
+        return sb.toString();
+    }
+
+    /**
+     * 将有理数精确地转化为循环小数字符串，循环节用括号括起来。如：1/6 为“0.1(6)”，-22/7 为“-3.(142857)”，1/4 为“0.25”
+     *
+     * 算法：
+     * 1. 设最简分数的分母为 2^a * 5^b * q（q 与 10 互质），则不循环部分的位数为 max(a, b)，不需要逐位试除
+     * 2. 在不循环部分之后，余数序列 r -> 10r mod 分母 是纯循环的，因此只需从第一个余数出发，数出回到它所需的步数，
+     * 即为循环节的长度。这只需要保存一个余数，因此内存是有界的。步数超出 maxPeriod 时放弃
+     * 3. 不循环部分与循环节的数字都各自只需要一次 BigInteger 除法
+     *
+     * @param maxPeriod 循环节长度的上限
+     * @return 如果循环节的长度超出 maxPeriod，返回 null
+     * @since 2026-10-18
+     */
+    public String toRepeatingDecimalString(int maxPeriod) {
+        var parts = this.reducedParts();
+        var numerator = parts.numerator.toBigInteger();
+        var denominator = parts.denominator.toBigInteger();
+
+        int twos = denominator.getLowestSetBit();
+        int fives = 0;
+        var rest = denominator.shiftRight(twos);
+        while (true) {
+            var quotientAndRemainder = rest.divideAndRemainder(FIVE);
+            if (quotientAndRemainder[1].signum() != 0) {
+                break;
+            }
+            rest = quotientAndRemainder[0];
+            ++fives;
+        }
+        int preperiod = Math.max(twos, fives);
+
+        var sb = new StringBuilder();
+        if (numerator.signum() < 0) {
+            sb.append(Symbol.SUBTRACT);
+        }
+        var integerAndRemainder = numerator.abs().divideAndRemainder(denominator);
+        sb.append(integerAndRemainder[0]);
+        if (integerAndRemainder[1].signum() == 0) {
+            return sb.toString();
+        }
+        sb.append(Symbol.DOT);
+
+        // 不循环部分
+        var prefixAndRemainder = integerAndRemainder[1].multiply(PowerTable.TEN.bigPower(preperiod))
+                .divideAndRemainder(denominator);
+        if (preperiod > 0) {
+            Rational.appendPadded(sb, prefixAndRemainder[0].toString(), preperiod);
+        }
+        var start = prefixAndRemainder[1];
+        if (start.signum() == 0) {
+            return sb.toString();
+        }
+
+        // 循环节
+        int period = 0;
+        var remainder = start;
+        do {
+            if (period == maxPeriod) {
+                return null;
+            }
+            remainder = remainder.multiply(BigInteger.TEN).mod(denominator);
+            ++period;
+        } while (!remainder.equals(start));
+
+        var repetend = start.multiply(PowerTable.TEN.bigPower(period)).divide(denominator);
+        sb.append(Symbol.LEFT_BRACKET);
+        Rational.appendPadded(sb, repetend.toString(), period);
+        sb.append(Symbol.RIGHT_BRACKET);
+        return sb.toString();
+    }
+
+    /**
+     * 舍去的部分为 remainder / denominator（不为 0）时，quotient 的绝对值是否需要加 1
+     */
+    private static boolean needIncrement(BigInteger quotient, BigInteger remainder, BigInteger denominator,
+                                         boolean negative, RoundingMode roundingMode) {
+        int comparedWithHalf = remainder.shiftLeft(1).compareTo(denominator);
+        switch (roundingMode) {
+            case UP:
+                return true;
+            case DOWN:
+                return false;
+            case CEILING:
+                return !negative;
+            case FLOOR:
+                return negative;
+            case HALF_UP:
+                return comparedWithHalf >= 0;
+            case HALF_DOWN:
+                return comparedWithHalf > 0;
+            case HALF_EVEN:
+                return comparedWithHalf > 0 || (comparedWithHalf == 0 && quotient.testBit(0));
+            default: // UNNECESSARY
+                throw new ArithmeticException("Rounding necessary");
+        }
+    }
+
+    /**
+     * 将 digits 视为一个整数的所有数字，在其倒数第 scale 位之前插入小数点。位数不足时，在前面补 0
+     */
+    private static void appendWithPoint(StringBuilder sb, String digits, int scale) {
+        if (scale == 0) {
+            sb.append(digits);
+            return;
+        }
+        int integerLength = digits.length() - scale;
+        if (integerLength > 0) {
+            sb.append(digits, 0, integerLength);
+        } else {
+            sb.append(Symbol.ZERO);
+        }
+        sb.append(Symbol.DOT);
+        Rational.appendPadded(sb, digits.substring(Math.max(0, integerLength)), scale);
+    }
+
+    /**
+     * 在 digits 前面补 0，使其长度为 length
+     */
+    private static void appendPadded(StringBuilder sb, String digits, int length) {
+        for (int count = digits.length(); count < length; ++count) {
+            sb.append(Symbol.ZERO);
+        }
+        sb.append(digits);
+    }
+
     /**
      * 是否是真分数
      *
@@ -286,16 +589,14 @@ public class Rational implements Operand {
      */
     public boolean isProperFraction() {
         try {
-            this.reduceFraction();
-            if (this.isZero()) {
+            var parts = this.reducedParts();
+            if (parts.numerator.isZero()) {
                 return true;
-            } else if (this.denominator.equals(new Figure(1))) {
+            } else if (parts.denominator.equals(Figure.ONE)) {
                 return false;
             }
 
-            if (FigureOperation.subtract(
-                            this.numerator, this.denominator)
-                    .isNegative()) {
+            if (parts.numerator.compareTo(parts.denominator) < 0) {
                 return true;
             } else {
                 return false;
@@ -308,25 +609,72 @@ public class Rational implements Operand {
     /**
      * 约分
      *
-     * 约分后，分母恒为正数
+     * 约分后，分母恒为正数。如果本对象已经约过分，此方法什么也不做
      *
+     * 约分不会改变本对象的值，因此即使本对象被多个线程共享，也可以调用此方法（参见 Parts）
+     *
+     * @since before 2021-8-5
+     * @lastModified 2026-10-18
+     */
+    public Rational reduceFraction() {
+        this.reducedParts();
+        return this;
+    }
+
+    /**
+     * 本对象约分后的 Parts。如果本对象还没有约分，先在局部变量中算出最简形式，再一次性地替换 parts
+     *
+     * @since 2026-10-18
+     */
+    private Parts reducedParts() {
+        var parts = this.parts;
+        if (!parts.isReduced) {
+            parts = Rational.reduce(parts.numerator, parts.denominator);
+            this.parts = parts;
+        }
+        return parts;
+    }
+
+    /**
      * 算法：
      * 1. 求分子、分母的最大公约数
      * 2. 将分子、分母分别除以最大公约数
      * 3. 如果结果分母为负数，将分子、分母同时取反
      *
-     * @since before 2021-8-5
+     * 如果最大公约数为 1，说明已经是最简分数，此时不需要进行除法运算
+     *
+     * @since 2026-10-18
      */
-    public Rational reduceFraction() {
-        Figure commonDivisor = FigureOperation.findGcd(this.numerator, this.denominator);
-        this.numerator = FigureOperation.modsQuotient(this.numerator, commonDivisor);
-        this.denominator = FigureOperation.modsQuotient(this.denominator, commonDivisor);
+    private static Parts reduce(Figure numerator, Figure denominator) {
+        Figure commonDivisor = FigureOperation.findGcd(numerator, denominator);
+        if (!commonDivisor.equals(Figure.ONE)) {
+            numerator = FigureOperation.modsQuotient(numerator, commonDivisor);
+            denominator = FigureOperation.modsQuotient(denominator, commonDivisor);
+        }
 
-        if (this.denominator.isNegative()) {
-            this.denominator = FigureOperation.getOpposite(this.denominator);
-            this.numerator = FigureOperation.getOpposite(this.numerator);
+        if (denominator.isNegative()) {
+            denominator = FigureOperation.getOpposite(denominator);
+            numerator = FigureOperation.getOpposite(numerator);
         }
+        return new Parts(numerator, denominator, true);
+    }
 
-        return this;
+    /**
+     * 如果没有开启延迟约分模式，立即约分。否则只保证分母为正数，直到分子、分母的位数之和达到阈值时才约分
+     *
+     * @since 2026-10-18
+     */
+    private void reduceOrDefer(Figure numerator, Figure denominator) {
+        if (!Rational.lazyReduction
+                || numerator.bitLength() + denominator.bitLength() >= Rational.lazyReductionThreshold) {
+            this.parts = Rational.reduce(numerator, denominator);
+            return;
+        }
+
+        if (denominator.isNegative()) {
+            denominator = FigureOperation.getOpposite(denominator);
+            numerator = FigureOperation.getOpposite(numerator);
+        }
+        this.parts = new Parts(numerator, denominator, false);
     }
 }
@@ -1,77 +1,87 @@
 package org.wangpai.mathlab.basic.operation;
 
 import java.math.BigInteger;
+import org.wangpai.mathlab.basic.algorithm.AlgorithmUtil;
+import org.wangpai.mathlab.basic.algorithm.GcdAlgorithm;
+import org.wangpai.mathlab.basic.algorithm.PowerTable;
 import org.wangpai.mathlab.basic.operand.Figure;
-import org.wangpai.mathlab.exception.checked.OverflowException;
 import org.wangpai.mathlab.exception.checked.SyntaxException;
 import org.wangpai.mathlab.exception.unchecked.LogicalException;
 
 /**
  * 注意：BigInteger 的加、减、乘 等方法有可能不会白返回一个新的对象，它们的这些方法会依情况决定要不要返回新的对象
  *
+ * 本类所有方法返回的 Figure 都是常量（参见方法 Figure.valueOf），因此不能直接对其使用自增、自减函数
+ *
  * @since 2021-8-2
  */
 public final class FigureOperation {
     /*---------------加减乘---------------*/
 
     /**
+     * 两个数都在 long 范围内时，优先使用 long 运算。只有溢出时才使用 BigInteger
+     *
      * @since 2021-8-5
-     * @lastModified 2022-9-9
+     * @lastModified 2026-10-18
      */
     public static Figure add(Figure first, Figure second) {
-        if (!first.isSmall() || !second.isSmall()) {
-            return new Figure(first.toBigInteger().add(second.toBigInteger()));
+        if (first.isLong() && second.isLong()) {
+            long firstLong = first.getLongValue();
+            long secondLong = second.getLongValue();
+            long result = firstLong + secondLong;
+            // 只有两个同号的数相加，且结果的符号与它们不同时，才会发生溢出。此判断与 Math.addExact 的原理相同
+            if (((firstLong ^ result) & (secondLong ^ result)) >= 0) {
+                return Figure.valueOf(result);
+            }
         }
 
-        long firstLong;
-        long secondLong;
-        try {
-            firstLong = first.toInt();
-            secondLong = second.toInt();
-        } catch (OverflowException exception) { // 此异常应该是不会发生的
-            return new Figure(first.toBigInteger().add(second.toBigInteger()));
-        }
-        return new Figure(firstLong + secondLong); // 两个原本为 int 类型的 long 相加是不会溢出的
+        return Figure.valueOf(first.getOriginBigInteger().add(second.getOriginBigInteger()));
     }
 
     /**
+     * 两个数都在 long 范围内时，优先使用 long 运算。只有溢出时才使用 BigInteger
+     *
      * @since 2021-8-5
-     * @lastModified 2022-9-9
+     * @lastModified 2026-10-18
      */
     public static Figure subtract(Figure first, Figure second) {
-        if (!first.isSmall() || !second.isSmall()) {
-            return new Figure(first.toBigInteger().subtract(second.toBigInteger()));
+        if (first.isLong() && second.isLong()) {
+            long firstLong = first.getLongValue();
+            long secondLong = second.getLongValue();
+            long result = firstLong - secondLong;
+            // 只有两个异号的数相减，且结果的符号与被减数不同时，才会发生溢出。此判断与 Math.subtractExact 的原理相同
+            if (((firstLong ^ secondLong) & (firstLong ^ result)) >= 0) {
+                return Figure.valueOf(result);
+            }
         }
 
-        long firstLong;
-        long secondLong;
-        try {
-            firstLong = first.toInt();
-            secondLong = second.toInt();
-        } catch (OverflowException exception) { // 此异常应该是不会发生的
-            return new Figure(first.toBigInteger().subtract(second.toBigInteger()));
-        }
-        return new Figure(firstLong - secondLong); // 两个原本为 int 类型的 long 相减是不会溢出的
+        return Figure.valueOf(first.getOriginBigInteger().subtract(second.getOriginBigInteger()));
     }
 
     /**
+     * 两个数都在 long 范围内时，优先使用 long 运算。只有溢出时才使用 BigInteger
+     *
+     * 算法：使用 Math.multiplyHigh 求出 128 位乘积的高 64 位。
+     * 如果高 64 位恰好是低 64 位的符号扩展，说明乘积没有超出 long 的范围
+     *
      * @since 2021-8-5
-     * @lastModified 2022-9-9
+     * @lastModified 2026-10-18
      */
     public static Figure multiply(Figure first, Figure second) {
-        if (!first.isSmall() || !second.isSmall()) {
-            return new Figure(first.toBigInteger().multiply(second.toBigInteger()));
+        if (first.isLong() && second.isLong()) {
+            long firstLong = first.getLongValue();
+            long secondLong = second.getLongValue();
+            if (first.isSmall() && second.isSmall()) {
+                return Figure.valueOf(firstLong * secondLong); // 两个原本为 int 类型的 long 相乘是不会溢出的
+            }
+            long low = firstLong * secondLong;
+            long high = Math.multiplyHigh(firstLong, secondLong);
+            if (high == (low >> (Long.SIZE - 1))) {
+                return Figure.valueOf(low);
+            }
         }
 
-        long firstLong;
-        long secondLong;
-        try {
-            firstLong = first.toInt();
-            secondLong = second.toInt();
-        } catch (OverflowException exception) { // 此异常应该是不会发生的
-            return new Figure(first.toBigInteger().multiply(second.toBigInteger()));
-        }
-        return new Figure(firstLong * secondLong); // 两个原本为 int 类型的 long 相乘是不会溢出的
+        return Figure.valueOf(first.getOriginBigInteger().multiply(second.getOriginBigInteger()));
     }
 
     /**
@@ -87,64 +97,94 @@ public final class FigureOperation {
     /****************加减乘****************/
 
     /**
+     * 两个数都在 long 范围内时，直接使用 long 的除法与求余运算。
+     * 唯一的例外是 Long.MIN_VALUE / -1，因为它的商会溢出
+     *
      * @return 返回的数组中，0 号元素代表商，1 号元素代表余数
+     * @lastModified 2026-10-18
      */
     public static Figure[] divideAndRemainder(Figure first, Figure second) {
-        BigInteger[] quotientAndRemainder = first.toBigInteger()
-                .divideAndRemainder(second.toBigInteger());
+        if (FigureOperation.couldDivideAsLong(first, second)) {
+            long firstLong = first.getLongValue();
+            long secondLong = second.getLongValue();
+            return new Figure[]{Figure.valueOf(firstLong / secondLong), Figure.valueOf(firstLong % secondLong)};
+        }
+
+        BigInteger[] quotientAndRemainder = first.getOriginBigInteger()
+                .divideAndRemainder(second.getOriginBigInteger());
         Figure[] result = new Figure[quotientAndRemainder.length];
         for (int index = 0; index < quotientAndRemainder.length; ++index) {
-            result[index] = new Figure(quotientAndRemainder[index]);
+            result[index] = Figure.valueOf(quotientAndRemainder[index]);
         }
         return result;
     }
 
     public static Figure[] divideAndRemainder(Figure first, long second) {
-        return divideAndRemainder(first, new Figure(second));
+        return divideAndRemainder(first, Figure.valueOf(second));
     }
 
     /**
      * @return 返回求余数运算得到的余数
+     * @lastModified 2026-10-18
      */
     public static Figure mod(Figure first, Figure second) {
-        final int REMAINDER_INDEX = 1;
-        return divideAndRemainder(first, second)[REMAINDER_INDEX];
+        if (FigureOperation.couldDivideAsLong(first, second)) {
+            return Figure.valueOf(first.getLongValue() % second.getLongValue());
+        }
+        return Figure.valueOf(first.getOriginBigInteger().remainder(second.getOriginBigInteger()));
     }
 
     public static Figure mod(Figure first, long second) {
-        return mod(first, new Figure(second));
+        return mod(first, Figure.valueOf(second));
     }
 
     /**
      * modsQuotient：mod's Quotient 求余数的商
      *
      * @return 返回求余数运算得到的商
+     * @lastModified 2026-10-18
      */
     public static Figure modsQuotient(Figure first, Figure second) {
-        final int QUOTIENT_INDEX = 0;
-        return divideAndRemainder(first, second)[QUOTIENT_INDEX];
+        if (FigureOperation.couldDivideAsLong(first, second)) {
+            return Figure.valueOf(first.getLongValue() / second.getLongValue());
+        }
+        return Figure.valueOf(first.getOriginBigInteger().divide(second.getOriginBigInteger()));
     }
 
     public static Figure modsQuotient(Figure first, long second) {
-        return modsQuotient(first, new Figure(second));
+        return modsQuotient(first, Figure.valueOf(second));
+    }
+
+    /**
+     * 判断是否可以直接使用 long 的除法。Long.MIN_VALUE / -1 的商会溢出，因此不能使用 long 的除法
+     *
+     * @since 2026-10-18
+     */
+    private static boolean couldDivideAsLong(Figure first, Figure second) {
+        return first.isLong() && second.isLong()
+                && !(first.getLongValue() == Long.MIN_VALUE && second.getLongValue() == -1);
     }
 
     /**
      * 求相反数
      *
-     * 算法：将形参乘以 -1
+     * 算法：long 范围内直接取反（Long.MIN_VALUE 除外），否则使用 BigInteger 取反
      *
      * @since before 2021-8-5
+     * @lastModified 2026-10-18
      */
     public static Figure getOpposite(Figure num) {
-        return multiply(num, new Figure(-1));
+        if (num.isLong() && num.getLongValue() != Long.MIN_VALUE) {
+            return Figure.valueOf(-num.getLongValue());
+        }
+        return Figure.valueOf(num.getOriginBigInteger().negate());
     }
 
     /**
      * @since before 2021-8-5
      */
     public static Figure getOpposite(long num) {
-        return getOpposite(new Figure(num));
+        return getOpposite(Figure.valueOf(num));
     }
 
     /**
@@ -156,7 +196,7 @@ public final class FigureOperation {
         if (num.isNegative()) {
             return getOpposite(num);
         } else {
-            return num.clone();
+            return num.toFinal();
         }
     }
 
@@ -164,44 +204,62 @@ public final class FigureOperation {
      * 小于等于：first <= second
      *
      * @since 2022-8-24
+     * @lastModified 2026-10-18
      */
     public static boolean lessOrEqual(Figure first, Figure second) {
-        var subtractResult = FigureOperation.subtract(first, second);
-        return subtractResult.isNegative() || subtractResult.isZero();
+        return first.compareTo(second) <= 0;
     }
 
     /**
      * 小于：first < second
      *
      * @since 2022-8-29
+     * @lastModified 2026-10-18
      */
     public static boolean lessThan(Figure first, Figure second) {
-        return FigureOperation.subtract(first, second).isNegative();
+        return first.compareTo(second) < 0;
     }
 
     /**
      * 大于等于：first >= second
      *
      * @since 2022-8-24
+     * @lastModified 2026-10-18
      */
     public static boolean greaterOrEqual(Figure first, Figure second) {
-        var subtractResult = FigureOperation.subtract(first, second);
-        return subtractResult.isPositive() || subtractResult.isZero();
+        return first.compareTo(second) >= 0;
     }
 
     /**
      * 大于：first > second
      *
      * @since 2022-8-24
+     * @lastModified 2026-10-18
      */
     public static boolean greaterThan(Figure first, Figure second) {
-        return FigureOperation.subtract(first, second).isPositive();
+        return first.compareTo(second) > 0;
     }
 
     /**
-     * 整数的乘方。注意：指数 exponent 不能太大
+     * 乘方结果的二进制位数的上限。超出此值时，方法 power 会在计算之前直接抛出异常，而不是耗尽内存。
+     * 可以通过系统属性 mathlab.power.max.bits 来设置，默认为 2^28 位（结果约占 32 MiB 内存）
+     */
+    public static final long POWER_MAX_BITS = Math.min(Integer.MAX_VALUE,
+            Math.max(Long.SIZE, Long.getLong("mathlab.power.max.bits", 1L << 28)));
+
+    /**
+     * 整数的乘方
      *
+     * 算法：
+     * 1. 底数为 0、1、-1 时，结果与指数的大小无关，直接得出
+     * 2. 估计结果的位数（指数乘以底数的以 2 为底的对数）。超出 POWER_MAX_BITS 时直接抛出异常
+     * 3. 底数为 10 或 2 时，直接查幂表（参见 PowerTable）
+     * 4. 估计结果在 long 范围内时，使用 long 的平方-乘算法，每次乘法都检查溢出。如果溢出，改用下一步
+     * 5. 使用 BigInteger.pow（其内部也是平方-乘算法，且会先提取出底数中的因子 2）
+     *
+     * @throws SyntaxException 0 的 0 次方、负数次方，或者结果太大
      * @since before 2021-8-5
+     * @lastModified 2026-10-18
      */
     public static Figure power(Figure base, Figure exponent)
             throws SyntaxException {
@@ -211,18 +269,87 @@ public final class FigureOperation {
         if (exponent.isNegative()) {
             throw new SyntaxException("错误：整数乘法不支持负数次方");
         }
+        if (exponent.isZero()) {
+            return Figure.ONE;
+        }
+        if (base.isZero() || base.equals(Figure.ONE)) {
+            return base.toFinal();
+        }
+        if (base.equals(Figure.MINUS_ONE)) {
+            return exponent.toBigInteger().testBit(0) ? Figure.MINUS_ONE : Figure.ONE;
+        }
+
+        // 此时 |base| >= 2，因此结果至少有 exponent + 1 位
+        double estimatedBits = exponent.isLong()
+                ? exponent.getLongValue() * FigureOperation.log2Absolute(base)
+                : Double.POSITIVE_INFINITY;
+        if (estimatedBits > POWER_MAX_BITS) {
+            throw new SyntaxException("错误：乘方的结果太大（约 " + String.format("%.3g", estimatedBits)
+                    + " 位二进制数），超出了上限 " + POWER_MAX_BITS + " 位");
+        }
+        int times = (int) exponent.getLongValue(); // 因为 POWER_MAX_BITS 不超过 int 的范围，所以这里不会截断
 
-        return new Figure(base.toBigInteger().pow(exponent.toBigInteger().intValue()));
+        if (base.isLong()) {
+            long baseLong = base.getLongValue();
+            if (baseLong == 10) {
+                return PowerTable.TEN.power(times);
+            }
+            if (baseLong == 2) {
+                return PowerTable.TWO.power(times);
+            }
+            if (estimatedBits < Long.SIZE - 1) {
+                try {
+                    return Figure.valueOf(FigureOperation.powerExact(baseLong, times));
+                } catch (ArithmeticException exception) {
+                    // 估计值有误差，溢出时改用 BigInteger
+                }
+            }
+        }
+
+        return Figure.valueOf(base.toBigInteger().pow(times));
     }
 
     /**
-     * 整数的乘方。注意：指数 exponent 不能太大
+     * 平方-乘算法。每次乘法都检查溢出
+     *
+     * @throws ArithmeticException 结果超出 long 的范围
+     * @since 2026-10-18
+     */
+    public static long powerExact(long base, int exponent) {
+        long result = 1;
+        while (true) {
+            if ((exponent & 1) != 0) {
+                result = Math.multiplyExact(result, base);
+            }
+            exponent >>>= 1;
+            if (exponent == 0) {
+                return result;
+            }
+            base = Math.multiplyExact(base, base);
+        }
+    }
+
+    /**
+     * |figure| 的以 2 为底的对数的近似值
+     */
+    private static double log2Absolute(Figure figure) {
+        if (figure.isLong()) {
+            return Math.log(Math.abs((double) figure.getLongValue())) / Math.log(2);
+        }
+        // 只取最高的 62 位来计算对数，其余的位只影响指数部分
+        var absolute = figure.toBigInteger().abs();
+        int shift = Math.max(0, absolute.bitLength() - 62);
+        return shift + Math.log(absolute.shiftRight(shift).doubleValue()) / Math.log(2);
+    }
+
+    /**
+     * 整数的乘方
      *
      * @since before 2021-8-5
      */
     public static Figure power(long base, long exponent)
             throws SyntaxException {
-        return FigureOperation.power(new Figure(base), new Figure(exponent));
+        return FigureOperation.power(Figure.valueOf(base), Figure.valueOf(exponent));
     }
 
     /**
@@ -233,10 +360,18 @@ public final class FigureOperation {
      * > 特别地，当这两个数均为 0 时，结果为 0。
      * > 其它情况下，结果为正数
      *
+     * 两个数都在 long 范围内时（Long.MIN_VALUE 除外，因为它的绝对值会溢出），使用 long 的二进制 GCD 算法。
+     * 两个数很大时，使用 Lehmer 算法或 Half-GCD 算法，阈值见 GcdAlgorithm
+     *
      * @since before 2021-8-5
+     * @lastModified 2026-10-18
      */
     public static Figure findGcd(Figure first, Figure second) {
-        return new Figure(first.toBigInteger().gcd(second.toBigInteger()));
+        if (first.isLong() && second.isLong()
+                && first.getLongValue() != Long.MIN_VALUE && second.getLongValue() != Long.MIN_VALUE) {
+            return Figure.valueOf(AlgorithmUtil.binaryGcd(first.getLongValue(), second.getLongValue()));
+        }
+        return Figure.valueOf(GcdAlgorithm.gcd(first.getOriginBigInteger(), second.getOriginBigInteger()));
     }
 
     /**
@@ -1,6 +1,6 @@
 package org.wangpai.mathlab.basic.operation;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import lombok.extern.slf4j.Slf4j;
 import org.wangpai.mathlab.basic.operand.Figure;
 import org.wangpai.mathlab.basic.operand.Rational;
@@ -10,11 +10,13 @@ import org.wangpai.mathlab.exception.unchecked.LogicalException;
 import org.wangpai.mathlab.exception.unchecked.UnexpectedException;
 
 /**
+ * 本类的所有方法都是无状态的，因此是线程安全的
+ *
  * @since 2021-8-1
+ * @lastModified 2026-10-18
  */
 @Slf4j
 public final class RationalOperation {
-    private static final Random random = new Random();
     private static final long randomOffset = ((long) Integer.MAX_VALUE) + 1; // 2 ^ 31
     private static final long randomDenominator = ((long) Integer.MAX_VALUE) * 2 + 1; // (2 ^ 32) - 1
 
@@ -26,8 +28,10 @@ public final class RationalOperation {
      * 最终的分子为：第一个分子乘以第二个分母的质因子，第二个分子乘以第一个分母的质因子，然后把得到的结果相加
      * 最终的分母为：其中一个分母乘以另一个分母的质因子（也即这两个分母的最小公倍数）
      *
+     * 结果由 Rational 的构造器负责约分（延迟约分模式下可能暂不约分），因此这里不需要再次约分
+     *
      * @since 2021-8-5
-     * @lastModified 2021-10-12
+     * @lastModified 2026-10-18
      */
     public static Rational add(Rational first, Rational second) {
         final var firstNumerator = first.getNumerator();
@@ -46,8 +50,7 @@ public final class RationalOperation {
                     FigureOperation.add(
                             FigureOperation.multiply(firstNumerator, secondPrimeFactor),
                             FigureOperation.multiply(secondNumerator, firstPrimeFactor)),
-                    FigureOperation.multiply(firstDenominator, secondPrimeFactor))
-                    .reduceFraction();
+                    FigureOperation.multiply(firstDenominator, secondPrimeFactor));
         } catch (Exception exception) {
             log.error("异常：", exception);
         }
@@ -68,15 +71,14 @@ public final class RationalOperation {
      * 算法：两个数的分子、分母分别相乘
      *
      * @since 2021-8-5
-     * @lastModified 2021-10-12
+     * @lastModified 2026-10-18
      */
     public static Rational multiply(Rational first, Rational second) {
         Rational result = null;
         try {
             result = new Rational(
                     FigureOperation.multiply(first.getNumerator(), second.getNumerator()),
-                    FigureOperation.multiply(first.getDenominator(), second.getDenominator()))
-                    .reduceFraction();
+                    FigureOperation.multiply(first.getDenominator(), second.getDenominator()));
         } catch (Exception exception) {
             log.error("异常：", exception);
 
@@ -88,15 +90,14 @@ public final class RationalOperation {
      * 算法：将第二个整数与第一个有理数的分子相乘
      *
      * @since 2021-8-5
-     * @lastModified 2021-10-12
+     * @lastModified 2026-10-18
      */
     public static Rational multiply(Rational first, Figure second) {
         Rational result = null;
         try {
             result = new Rational(
                     FigureOperation.multiply(first.getNumerator(), second),
-                    first.getDenominator())
-                    .reduceFraction();
+                    first.getDenominator());
         } catch (Exception exception) {
             log.error("异常：", exception);
 
@@ -108,7 +109,7 @@ public final class RationalOperation {
      * @since before 2021-8-5
      */
     public static Rational multiply(Rational first, long second) {
-        return RationalOperation.multiply(first, new Figure(second));
+        return RationalOperation.multiply(first, Figure.valueOf(second));
     }
 
     /**
@@ -158,7 +159,7 @@ public final class RationalOperation {
         try {
             result = new Rational(
                     FigureOperation.getOpposite(rational.getNumerator()),
-                    rational.getDenominator().clone());
+                    rational.getDenominator());
         } catch (Exception exception) {
             log.error("异常：", exception);
         }
@@ -189,8 +190,8 @@ public final class RationalOperation {
 
         try {
             return new Rational(
-                    rational.getDenominator().clone(),
-                    rational.getNumerator().clone());
+                    rational.getDenominator(),
+                    rational.getNumerator());
         } catch (SyntaxException ignored) {
             return null; // 仅用于占位
         }
@@ -200,38 +201,40 @@ public final class RationalOperation {
      * 小于等于：first <= second
      *
      * @since 2022-8-24
+     * @lastModified 2026-10-18
      */
     public static boolean lessOrEqual(Rational first, Rational second) {
-        var subtractResult = RationalOperation.subtract(first, second);
-        return subtractResult.isNegative() || subtractResult.isZero();
+        return first.compareTo(second) <= 0;
     }
 
     /**
      * 小于：first < second
      *
      * @since 2022-8-29
+     * @lastModified 2026-10-18
      */
     public static boolean lessThan(Rational first, Rational second) {
-        return RationalOperation.subtract(first, second).isNegative();
+        return first.compareTo(second) < 0;
     }
 
     /**
      * 大于等于：first >= second
      *
      * @since 2022-8-24
+     * @lastModified 2026-10-18
      */
     public static boolean greaterOrEqual(Rational first, Rational second) {
-        var subtractResult = RationalOperation.subtract(first, second);
-        return subtractResult.isPositive() || subtractResult.isZero();
+        return first.compareTo(second) >= 0;
     }
 
     /**
      * 大于：first > second
      *
      * @since 2022-8-24
+     * @lastModified 2026-10-18
      */
     public static boolean greaterThan(Rational first, Rational second) {
-        return RationalOperation.subtract(first, second).isPositive();
+        return first.compareTo(second) > 0;
     }
 
     /**
@@ -245,9 +248,17 @@ public final class RationalOperation {
     }
 
     /**
-     * 有数数的整数乘方。注意：指数 exponent 不能太大
+     * 有理数的整数乘方
+     *
+     * 算法：若 a/b 为最简分数，则 a^n 与 b^n 也互质，因此 a^n/b^n 也是最简分数，不需要再求最大公约数。
+     * 如果 base 还没有约分（参见延迟约分模式），则先对 base 约分，这比对乘方的结果约分要快得多。
+     * 负数次方时，先取倒数（将符号移到分子上），再乘方
+     *
+     * 分子、分母的乘方参见 FigureOperation.power（包括对结果大小的检查）
      *
+     * @throws SyntaxException 0 的 0 次方、0 的负数次方，或者结果太大
      * @since 2022-8-23
+     * @lastModified 2026-10-18
      */
     public static Rational power(Rational base, Figure exponent)
             throws SyntaxException {
@@ -261,34 +272,40 @@ public final class RationalOperation {
             return new Rational(1);
         }
 
-        boolean needReciprocal = false;
+        var reducedBase = base.isReduced() ? base : base.clone().reduceFraction();
+        Figure numerator = reducedBase.getNumerator();
+        Figure denominator = reducedBase.getDenominator();
         if (exponent.isNegative()) {
-            needReciprocal = true;
+            if (numerator.isNegative()) {
+                numerator = FigureOperation.getOpposite(numerator);
+                denominator = FigureOperation.getOpposite(denominator);
+            }
+            var temp = numerator;
+            numerator = denominator;
+            denominator = temp;
         }
-        Figure multiplyTimes = FigureOperation.getAbsolute(exponent);
-        Rational result = new Rational(
-                FigureOperation.power(base.getNumerator(), multiplyTimes),
-                FigureOperation.power(base.getDenominator(), multiplyTimes));
 
-        if (needReciprocal) {
-            return getReciprocal(result);
-        } else {
-            return result;
-        }
+        Figure multiplyTimes = FigureOperation.getAbsolute(exponent);
+        return Rational.ofReduced(
+                FigureOperation.power(numerator, multiplyTimes),
+                FigureOperation.power(denominator, multiplyTimes));
     }
 
     /**
      * 向上取整。得到一个不小于 rational 的最小整数。如 对 1.5 的向上取整结果为 2
      *
+     * 注意：rational 可能没有约分（参见延迟约分模式），因此这里通过余数来判断其是否为整数
+     *
      * @since 2022-8-24
+     * @lastModified 2026-10-18
      */
     public static Figure roundUp(Rational rational) {
-        if (rational.getDenominator().equals(Figure.ONE)) {
-            return rational.getNumerator().clone();
+        var quotientAndRemainder = FigureOperation.divideAndRemainder(rational.getNumerator(),
+                rational.getDenominator());
+        if (quotientAndRemainder[1].isZero()) {
+            return quotientAndRemainder[0];
         } else {
-            var quotient = FigureOperation.modsQuotient(rational.getNumerator(),
-                    rational.getDenominator());
-            return FigureOperation.add(quotient, Figure.ONE);
+            return FigureOperation.add(quotientAndRemainder[0], Figure.ONE);
         }
     }
 
@@ -314,7 +331,7 @@ public final class RationalOperation {
      */
     public static Rational random0To1() {
         // random.nextInt() 的范围为 [- 2 ^ 31, (2 ^ 31) - 1]
-        long randomInt = random.nextInt() + randomOffset; // 得到一个非负随机数，范围为 [0, (2 ^ 32) - 1]
+        long randomInt = ThreadLocalRandom.current().nextInt() + randomOffset; // 得到一个非负随机数，范围为 [0, (2 ^ 32) - 1]
         try {
             return new Rational(randomInt, randomDenominator);
         } catch (MathlabCheckedException exception) {
@@ -330,7 +347,7 @@ public final class RationalOperation {
      */
     public static Rational random(int maxRange) {
         // random.nextInt() 的范围为 [- 2 ^ 31, (2 ^ 31) - 1]
-        long randomInt = random.nextInt() + randomOffset; // 得到一个非负随机数，范围为 [0, (2 ^ 32) - 1]
+        long randomInt = ThreadLocalRandom.current().nextInt() + randomOffset; // 得到一个非负随机数，范围为 [0, (2 ^ 32) - 1]
         try {
             return new Rational(randomInt * maxRange, randomDenominator);
         } catch (MathlabCheckedException exception) {
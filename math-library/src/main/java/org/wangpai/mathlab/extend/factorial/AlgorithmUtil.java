@@ -1,5 +1,145 @@
 package org.wangpai.mathlab.extend.factorial;
 
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * 阶乘、排列数、组合数共用的算法
+ *
+ * @since 2022-8-29
+ * @lastModified 2026-10-18
+ */
 public class AlgorithmUtil {
-    // 敬请期待
+    /**
+     * 乘积树的叶子中因数的个数。叶子中的因数直接相乘，不再二分
+     */
+    private static final int PRODUCT_LEAF_SIZE = 16;
+
+    /**
+     * 求 factors 中 [from, to) 的所有因数的乘积。要求所有的因数都是正数
+     *
+     * 算法：乘积树（二分）。将因数分成两半，分别求积之后再相乘，使得每次乘法的两个乘数的位数都差不多，
+     * 从而可以利用 BigInteger 对大数乘法的优化（Karatsuba、Toom-Cook）。逐个相乘则每次都是大数乘以小数，总代价是平方级的。
+     * 在叶子中，先用 long 累乘，直到会溢出时才并入 BigInteger
+     *
+     * @since 2026-10-18
+     */
+    public static BigInteger product(long[] factors, int from, int to) {
+        if (to - from <= PRODUCT_LEAF_SIZE) {
+            var result = BigInteger.ONE;
+            long chunk = 1;
+            for (int order = from; order < to; ++order) {
+                long factor = factors[order];
+                if (Math.multiplyHigh(chunk, factor) != 0 || chunk * factor < 0) {
+                    result = result.multiply(BigInteger.valueOf(chunk));
+                    chunk = factor;
+                } else {
+                    chunk *= factor;
+                }
+            }
+            return result.multiply(BigInteger.valueOf(chunk));
+        }
+        int middle = (from + to) >>> 1;
+        return AlgorithmUtil.product(factors, from, middle).multiply(AlgorithmUtil.product(factors, middle, to));
+    }
+
+    /**
+     * 求 low * (low + 1) * ... * high。要求 1 <= low。low > high 时，结果为 1
+     *
+     * 算法：与方法 product 相同的乘积树，只是因数为连续的整数，不需要数组
+     *
+     * @since 2026-10-18
+     */
+    public static BigInteger productOfRange(long low, long high) {
+        if (low > high) {
+            return BigInteger.ONE;
+        }
+        if (high - low < PRODUCT_LEAF_SIZE) {
+            var result = BigInteger.ONE;
+            long chunk = 1;
+            for (long offset = 0; offset <= high - low; ++offset) { // 不直接与 high 比较，因为 high 可能为 Long.MAX_VALUE
+                long factor = low + offset;
+                if (Math.multiplyHigh(chunk, factor) != 0 || chunk * factor < 0) {
+                    result = result.multiply(BigInteger.valueOf(chunk));
+                    chunk = factor;
+                } else {
+                    chunk *= factor;
+                }
+            }
+            return result.multiply(BigInteger.valueOf(chunk));
+        }
+        long middle = (low + high) >>> 1;
+        return AlgorithmUtil.productOfRange(low, middle).multiply(AlgorithmUtil.productOfRange(middle + 1, high));
+    }
+
+    /**
+     * 求 low * (low + 1) * ... * (low + count - 1)。count <= 0 时，结果为 1
+     *
+     * 算法：与方法 product 相同的乘积树，用于 low 超出 long 范围的场合
+     *
+     * @since 2026-10-18
+     */
+    public static BigInteger productOfRange(BigInteger low, int count) {
+        if (count <= 0) {
+            return BigInteger.ONE;
+        }
+        if (count == 1) {
+            return low;
+        }
+        int half = count >>> 1;
+        return AlgorithmUtil.productOfRange(low, half)
+                .multiply(AlgorithmUtil.productOfRange(low.add(BigInteger.valueOf(half)), count - half));
+    }
+
+    /**
+     * 求 low * (low + 1) * ... * high。要求 1 <= low。low > high 时，结果为 1。每次乘法都检查溢出
+     *
+     * @throws ArithmeticException 结果超出 long 的范围
+     * @since 2026-10-18
+     */
+    public static long productOfRangeExact(long low, long high) {
+        if (low > high) {
+            return 1;
+        }
+        long result = low;
+        for (long factor = low; factor < high; ) { // 先比较再自增，因为 high 可能为 Long.MAX_VALUE
+            ++factor;
+            result = Math.multiplyExact(result, factor);
+        }
+        return result;
+    }
+
+    /**
+     * 不超过 n 的所有质数，从小到大排列
+     *
+     * 算法：只筛奇数的埃拉托斯特尼筛法（Sieve of Eratosthenes）
+     *
+     * @since 2026-10-18
+     */
+    public static int[] primesUpTo(int n) {
+        if (n < 2) {
+            return new int[0];
+        }
+        // composite[k] 代表 2k + 1 是否为合数
+        var composite = new boolean[(n + 1) >>> 1];
+        for (long odd = 3; odd * odd <= n; odd += 2) {
+            if (!composite[(int) (odd >>> 1)]) {
+                for (long multiple = odd * odd; multiple <= n; multiple += 2 * odd) {
+                    composite[(int) (multiple >>> 1)] = true;
+                }
+            }
+        }
+
+        // 不超过 n 的质数的个数不会超过 1.26 * n / ln(n)，n 很小时直接取上界 n / 2 + 1
+        int capacity = n < 100 ? n / 2 + 1 : (int) (1.26 * n / Math.log(n)) + 1;
+        var primes = new int[capacity];
+        int count = 0;
+        primes[count++] = 2;
+        for (int order = 1; order < composite.length; ++order) {
+            if (!composite[order]) {
+                primes[count++] = 2 * order + 1;
+            }
+        }
+        return Arrays.copyOf(primes, count);
+    }
 }
@@ -1,11 +1,13 @@
 package org.wangpai.mathlab.extend.factorial;
 
+import java.math.BigInteger;
 import org.wangpai.mathlab.basic.operand.Figure;
 import org.wangpai.mathlab.basic.operation.FigureOperation;
 import org.wangpai.mathlab.exception.checked.SyntaxException;
 
 /**
  * @since 2022-8-29
+ * @lastModified 2026-10-18
  */
 public class Arrangement {
     public static Figure arrangement(final Figure n, final Figure m) throws SyntaxException {
@@ -13,14 +15,20 @@ public class Arrangement {
     }
 
     public static Figure arrangement(final int n, final int m) throws SyntaxException {
-        return arrangementForBigResult(new Figure(n), new Figure(m));
+        return arrangementForBigResult(Figure.valueOf(n), Figure.valueOf(m));
     }
 
     /**
      * 计算排列数，从 n 个数中选 m 个数进行全排列，因此需要 n >= m。
      * 公式：n! / [(n-m)!] = n*(n-1)*...*(n-m+1)
      *
+     * 算法：
+     * 1. 先估计结果的位数，超出 Factorial.MAX_BITS 时直接抛出异常
+     * 2. 结果在 long 范围内时，只使用 long 相乘（每次乘法都检查溢出）
+     * 3. 否则使用乘积树求连续整数的积（参见 AlgorithmUtil.productOfRange）
+     *
      * @since 2022-8-29
+     * @lastModified 2026-10-18
      */
     public static Figure arrangementForBigResult(final Figure n, final Figure m) throws SyntaxException {
         if (!(n.isPositive() && m.isPositive())) {
@@ -29,12 +37,38 @@ public class Arrangement {
         if (FigureOperation.lessThan(n, m)) {
             throw new SyntaxException("错误：计算排列数时发现大小关系（n < m）有误。其中：n = " + n + "，m = " + m);
         }
-        Figure result = Figure.ONE.clone();
-        for (Figure i = FigureOperation.subtract(n, m.clone().decreaseOne()); // start = n - (m - 1)
-             FigureOperation.lessOrEqual(i, n);
-             i.increaseOne()) {
-            result = FigureOperation.multiply(result, i);
+        // m 超出 int 的范围时，结果不小于 m!，一定超出 Factorial.MAX_BITS
+        if (!m.isLong() || m.getLongValue() > Integer.MAX_VALUE) {
+            throw new SyntaxException("错误：排列数太大，超出了上限 " + Factorial.MAX_BITS + " 位。其中：n = " + n + "，m = " + m);
+        }
+        int count = (int) m.getLongValue();
+
+        if (n.isLong()) {
+            long high = n.getLongValue();
+            long low = high - count + 1;
+            double estimatedBits = Math.min(count * (Math.log(high) / Math.log(2)),
+                    Factorial.log2Factorial(high) - Factorial.log2Factorial(low - 1));
+            Arrangement.checkBits(estimatedBits, n, m);
+            if (estimatedBits < Long.SIZE - 1) {
+                try {
+                    return Figure.valueOf(AlgorithmUtil.productOfRangeExact(low, high));
+                } catch (ArithmeticException exception) {
+                    // 估计值有误差，溢出时改用 BigInteger
+                }
+            }
+            return Figure.valueOf(AlgorithmUtil.productOfRange(low, high));
+        }
+
+        // n 超出 long 的范围时，m 远小于 n，每个因数都约有 n.bitLength() 位
+        Arrangement.checkBits((double) count * (n.bitLength() - 1), n, m);
+        var low = n.toBigInteger().subtract(BigInteger.valueOf(count - 1));
+        return Figure.valueOf(AlgorithmUtil.productOfRange(low, count));
+    }
+
+    private static void checkBits(double estimatedBits, Figure n, Figure m) throws SyntaxException {
+        if (estimatedBits > Factorial.MAX_BITS) {
+            throw new SyntaxException("错误：排列数太大（约 " + String.format("%.3g", estimatedBits)
+                    + " 位二进制数），超出了上限 " + Factorial.MAX_BITS + " 位。其中：n = " + n + "，m = " + m);
         }
-        return result;
     }
 }
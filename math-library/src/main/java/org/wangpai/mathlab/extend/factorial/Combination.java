@@ -1,32 +1,223 @@
 package org.wangpai.mathlab.extend.factorial;
 
+import java.math.BigInteger;
 import org.wangpai.mathlab.basic.operand.Figure;
 import org.wangpai.mathlab.basic.operation.FigureOperation;
 import org.wangpai.mathlab.exception.checked.SyntaxException;
 
+import static org.wangpai.mathlab.basic.algorithm.AlgorithmUtil.binaryGcd;
+
 /**
+ * 组合数，以及基于组合数的杨辉三角（帕斯卡三角）的一行、多项式系数
+ *
  * @since 2022-8-29
+ * @lastModified 2026-10-18
  */
 public class Combination {
+    /**
+     * n 不超过此值时，组合数总是使用质因数分解来计算（筛法的代价可以忽略）
+     */
+    private static final int PRIME_PATH_ALWAYS_N = 1 << 16;
+
+    /**
+     * n 超过此值时，组合数不再使用质因数分解来计算（筛法需要的内存太大）
+     */
+    private static final int PRIME_PATH_MAX_N = 1 << 26;
+
     public static Figure combination(final Figure n, final Figure m) throws SyntaxException {
         return combinationForBigResult(n, m);
     }
 
     public static Figure combination(final int n, final int m) throws SyntaxException {
-        return combination(new Figure(n), new Figure(m));
+        return combination(Figure.valueOf(n), Figure.valueOf(m));
     }
 
     /**
      * 计算组合数，从 n 个数中选 m 个数合成一组，因此需要 n >= m。
      * 公式：A(n,m) / A(m,m) = [n*(n-1)*...*(n-m+1)] / (m!)
      *
+     * 算法：
+     * 1. 利用对称性 C(n,m) = C(n,n-m)，将 m 换为 m 与 n-m 中较小的那个
+     * 2. 先估计结果的位数，超出 Factorial.MAX_BITS 时直接抛出异常
+     * 3. 结果在 long 范围内时，使用乘除交替的公式（参见方法 combinationExact），中间结果不会超过最终结果太多
+     * 4. 否则，n 不太大时，使用质因数分解：C(n,m) 中质数 p 的指数为 n / p^k - m / p^k - (n-m) / p^k 对所有 k 的和
+     * （每一项均为 0 或 1，即 m 与 n-m 在 p 进制下相加时的进位数），这些质因数的幂再用乘积树相乘（参见 AlgorithmUtil.product）。
+     * 这样不需要任何大数除法
+     * 5. n 很大而 m 相对较小时，筛法的代价太大，此时用乘积树求出 n*(n-1)*...*(n-m+1) 之后，只做一次除以 m! 的除法
+     *
      * @since 2022-8-29
+     * @lastModified 2026-10-18
      */
     public static Figure combinationForBigResult(final Figure n, final Figure m) throws SyntaxException {
-        if (n.isPositive() && m.isZero()) {
-            return Figure.ONE; // 数学规定：C(m,0) = 1
+        if (n.isNegative() || m.isNegative()) {
+            throw new SyntaxException("错误：计算组合数时发现负数。其中：n = " + n + "，m = " + m);
+        }
+        if (FigureOperation.lessThan(n, m)) {
+            throw new SyntaxException("错误：计算组合数时发现大小关系（n < m）有误。其中：n = " + n + "，m = " + m);
+        }
+        var complement = FigureOperation.subtract(n, m);
+        var k = FigureOperation.lessThan(complement, m) ? complement : m; // C(n,m) = C(n,n-m)
+        if (k.isZero()) {
+            return Figure.ONE; // 数学规定：C(n,0) = 1
+        }
+        // k 超出 int 的范围时，结果不小于 2^k，一定超出 Factorial.MAX_BITS
+        if (!k.isLong() || k.getLongValue() > Integer.MAX_VALUE) {
+            throw new SyntaxException("错误：组合数太大，超出了上限 " + Factorial.MAX_BITS + " 位。其中：n = " + n + "，m = " + m);
+        }
+        int count = (int) k.getLongValue();
+
+        // C(n,k) <= n^k / k!
+        double log2N = n.isLong() ? Math.log(n.getLongValue()) / Math.log(2) : n.bitLength();
+        double estimatedBits = count * log2N - Factorial.log2Factorial(count);
+        if (n.isLong()) {
+            long longN = n.getLongValue();
+            estimatedBits = Math.min(estimatedBits, Factorial.log2Factorial(longN)
+                    - Factorial.log2Factorial(count) - Factorial.log2Factorial(longN - count));
+        }
+        if (estimatedBits > Factorial.MAX_BITS) {
+            throw new SyntaxException("错误：组合数太大（约 " + String.format("%.3g", estimatedBits)
+                    + " 位二进制数），超出了上限 " + Factorial.MAX_BITS + " 位。其中：n = " + n + "，m = " + m);
+        }
+
+        if (!n.isLong()) {
+            var low = n.toBigInteger().subtract(BigInteger.valueOf(count - 1));
+            return Figure.valueOf(AlgorithmUtil.productOfRange(low, count)
+                    .divide(Factorial.factorial(count).toBigInteger()));
+        }
+
+        long longN = n.getLongValue();
+        if (estimatedBits < Long.SIZE - 1) {
+            try {
+                return Figure.valueOf(Combination.combinationExact(longN, count));
+            } catch (ArithmeticException exception) {
+                // 估计值有误差，溢出时改用 BigInteger
+            }
+        }
+        if (longN <= PRIME_PATH_ALWAYS_N || (longN <= PRIME_PATH_MAX_N && count >= (longN >>> 6))) {
+            return Figure.valueOf(Combination.combinationByPrimes((int) longN, count));
+        }
+        return Figure.valueOf(AlgorithmUtil.productOfRange(longN - count + 1, longN)
+                .divide(Factorial.factorial(count).toBigInteger()));
+    }
+
+    /**
+     * 只使用 long 计算组合数。要求 0 <= m <= n
+     *
+     * 算法：乘除交替。C(n-m+i, i) = C(n-m+i-1, i-1) * (n-m+i) / i，每一步的结果都是整数。
+     * 为了避免乘法不必要的溢出，先约去上一步的结果与 i 的最大公约数 g，此时 (n-m+i) 一定能被 i/g 整除
+     *
+     * @throws ArithmeticException 结果超出 long 的范围
+     * @since 2026-10-18
+     */
+    public static long combinationExact(long n, long m) {
+        m = Math.min(m, n - m);
+        long result = 1;
+        for (long i = 1; i <= m; ++i) {
+            long gcd = binaryGcd(result, i);
+            result = Math.multiplyExact(result / gcd, (n - m + i) / (i / gcd));
+        }
+        return result;
+    }
+
+    /**
+     * 杨辉三角（帕斯卡三角）的第 n 行，即 C(n,0)、C(n,1)、...、C(n,n)
+     *
+     * 算法：只计算前一半，后一半由对称性得出。每一项由前一项乘以 (n-k+1) 再除以 k 得到，
+     * 在 long 范围内时使用与方法 combinationExact 相同的乘除交替，溢出之后改用 BigInteger
+     *
+     * @throws SyntaxException n 为负数，或者结果太大（每一项不超过 n 位，共 n+1 项，总位数超出 Factorial.MAX_BITS）
+     * @since 2026-10-18
+     */
+    public static Figure[] pascalRow(final int n) throws SyntaxException {
+        if (n < 0) {
+            throw new SyntaxException("错误：杨辉三角的行号不能为负数。其中：n = " + n);
+        }
+        if ((long) n * (n + 1) > Factorial.MAX_BITS) {
+            throw new SyntaxException("错误：杨辉三角的第 " + n + " 行太大，超出了上限 " + Factorial.MAX_BITS + " 位");
+        }
+
+        var row = new Figure[n + 1];
+        long value = 1;
+        BigInteger bigValue = null; // 为 null 时，说明当前项在 long 范围内
+        for (int k = 0; k <= n / 2; ++k) {
+            if (k > 0) {
+                long factor = n - k + 1;
+                if (bigValue == null) {
+                    long gcd = binaryGcd(value, k);
+                    try {
+                        value = Math.multiplyExact(value / gcd, factor / (k / gcd));
+                    } catch (ArithmeticException exception) {
+                        bigValue = BigInteger.valueOf(value);
+                    }
+                }
+                if (bigValue != null) {
+                    bigValue = bigValue.multiply(BigInteger.valueOf(factor)).divide(BigInteger.valueOf(k));
+                }
+            }
+            row[k] = bigValue == null ? Figure.valueOf(value) : Figure.valueOf(bigValue);
+            row[n - k] = bigValue == null ? Figure.valueOf(value) : Figure.valueOf(bigValue);
+        }
+        return row;
+    }
+
+    /**
+     * 多项式系数 (k1+k2+...+kr)! / (k1! * k2! * ... * kr!)
+     *
+     * 算法：多项式系数等于 C(k1, k1) * C(k1+k2, k2) * ... * C(k1+...+kr, kr)，每一个组合数都由方法 combination 计算
+     *
+     * @throws SyntaxException counts 中有负数，或者结果太大（超出 Factorial.MAX_BITS）
+     * @since 2026-10-18
+     */
+    public static Figure multinomial(final int... counts) throws SyntaxException {
+        long total = 0;
+        double estimatedBits = 0;
+        for (var count : counts) {
+            if (count < 0) {
+                throw new SyntaxException("错误：计算多项式系数时发现负数 " + count);
+            }
+            total += count;
+            estimatedBits -= Factorial.log2Factorial(count);
+        }
+        estimatedBits += Factorial.log2Factorial(total);
+        if (estimatedBits > Factorial.MAX_BITS) {
+            throw new SyntaxException("错误：多项式系数太大（约 " + String.format("%.3g", estimatedBits)
+                    + " 位二进制数），超出了上限 " + Factorial.MAX_BITS + " 位");
+        }
+
+        var result = Figure.ONE;
+        long partialSum = 0;
+        for (var count : counts) {
+            partialSum += count;
+            if (count > 0 && count < partialSum) {
+                result = FigureOperation.multiply(result,
+                        Combination.combinationForBigResult(Figure.valueOf(partialSum), Figure.valueOf(count)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 质因数分解法计算组合数。要求 0 < m <= n / 2
+     */
+    private static BigInteger combinationByPrimes(int n, int m) {
+        var primes = AlgorithmUtil.primesUpTo(n);
+        var factors = new long[primes.length];
+        int count = 0;
+        for (var prime : primes) {
+            if (prime > n - m) {
+                factors[count++] = prime; // 此时 n / p = 1，m / p = (n-m) / p = 0，指数为 1
+            } else if (prime <= n / 2) { // n/2 < p <= n-m 时，n / p = (n-m) / p = 1，指数为 0
+                long power = 1;
+                for (long primePower = prime; primePower <= n; primePower *= prime) {
+                    if (n / primePower - m / primePower - (n - m) / primePower == 1) {
+                        power *= prime;
+                    }
+                }
+                if (power > 1) {
+                    factors[count++] = power;
+                }
+            }
         }
-        return FigureOperation.modsQuotient(Arrangement.arrangementForBigResult(n, m)
-                , Factorial.factorial(m));
+        return AlgorithmUtil.product(factors, 0, count);
     }
 }
@@ -1,57 +1,255 @@
 package org.wangpai.mathlab.extend.factorial;
 
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import org.wangpai.mathlab.basic.operand.Figure;
 import org.wangpai.mathlab.basic.operation.FigureOperation;
 import org.wangpai.mathlab.exception.checked.SyntaxException;
 
 /**
+ * 阶乘
+ *
+ * 算法：
+ * 1. n <= 20 时，结果在 long 范围内，直接查表
+ * 2. n > 20 时，使用质数摆动（prime swing）算法：n! = ((n/2)!)^2 * swing(n)，其中 swing(n) = n! / ((n/2)!)^2，
+ * 它的质因数分解可以直接由 n / p^k 的奇偶性得出，不需要逐个相乘。这些质因数的幂再用乘积树相乘（参见 AlgorithmUtil.product）。
+ * 为了减少大数乘法的位数，递归中只计算奇数部分，n! 中因数 2 的个数（n 减去 n 的二进制中 1 的个数）最后一次性移位补上
+ * 3. 已计算过的阶乘保存在一个有界的 LRU 缓存中。缓存的条目数与内存占用的上限可以分别通过系统属性
+ * mathlab.factorial.cache.size、mathlab.factorial.cache.memory（单位为字节）来设置，默认为 64、16 MiB
+ *
+ * 本类是线程安全的。缓存未命中时的计算是在锁外进行的
+ *
  * @since 2022-8-29
+ * @lastModified 2026-10-18
  */
 public class Factorial {
     /**
-     * 计算 n 阶乘（包括 n）。此方法可以计算运算结果很大的阶乘，但是计算计算速度会慢一些
+     * 结果在 long 范围内的最大的 n
+     */
+    public static final int MAX_LONG_FACTORIAL = 20;
+
+    /**
+     * 阶乘结果的二进制位数的上限。超出此值时，会在计算之前直接抛出异常，而不是耗尽内存。
+     * 可以通过系统属性 mathlab.factorial.max.bits 来设置，默认与乘方的上限（FigureOperation.POWER_MAX_BITS）相同
+     */
+    public static final long MAX_BITS = Math.min(Integer.MAX_VALUE,
+            Math.max(Long.SIZE, Long.getLong("mathlab.factorial.max.bits", FigureOperation.POWER_MAX_BITS)));
+
+    private static final int CACHE_SIZE = Math.max(0, Integer.getInteger("mathlab.factorial.cache.size", 64));
+
+    private static final long CACHE_MEMORY = Math.max(0, Long.getLong("mathlab.factorial.cache.memory", 16L << 20));
+
+    /**
+     * 0! ~ 20!
+     */
+    private static final long[] LONG_FACTORIALS = new long[MAX_LONG_FACTORIAL + 1];
+
+    /**
+     * 访问顺序的 LinkedHashMap，其第一个条目就是最久没有被访问的条目。只缓存 n > MAX_LONG_FACTORIAL 的阶乘
+     */
+    private static final LinkedHashMap<Integer, Figure> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+
+    private static long cacheMemory = 0;
+
+    static {
+        LONG_FACTORIALS[0] = 1;
+        for (int n = 1; n <= MAX_LONG_FACTORIAL; ++n) {
+            LONG_FACTORIALS[n] = LONG_FACTORIALS[n - 1] * n;
+        }
+    }
+
+    /**
+     * 计算 n 阶乘（包括 n）
      *
+     * @throws SyntaxException n 为负数，或者结果太大（超出 MAX_BITS）
      * @since 2022-8-29
+     * @lastModified 2026-10-18
      */
     public static Figure factorial(final Figure n) throws SyntaxException {
         return factorialForBigResult(n);
     }
 
     /**
-     * 计算 n 阶乘（包括 n）。此方法只能计算运算结果不大的阶乘，计算计算速度会快一些
+     * 计算 n 阶乘（包括 n）
      *
+     * @throws SyntaxException n 为负数，或者结果太大（超出 MAX_BITS）
+     * @since 2026-10-18
+     */
+    public static Figure factorial(final int n) throws SyntaxException {
+        if (n <= MAX_LONG_FACTORIAL) {
+            return factorialForSmallResult(n);
+        }
+
+        Figure result;
+        synchronized (CACHE) {
+            result = CACHE.get(n);
+        }
+        if (result != null) {
+            return result;
+        }
+
+        result = factorialWithoutCache(n);
+        Factorial.putToCache(n, result);
+        return result;
+    }
+
+    /**
+     * 计算 n 阶乘（包括 n）。此方法只能计算运算结果在 long 范围内的阶乘（n <= 20），直接查表
+     *
+     * @throws SyntaxException n 为负数，或者 n > 20
      * @since 2022-8-29
+     * @lastModified 2026-10-18
      */
     public static Figure factorialForSmallResult(final int n) throws SyntaxException {
         if (n < 0) {
             throw new SyntaxException(String.format("错误：不能计算负数 %d 的阶乘", n));
         }
-        if (n == 0 || n == 1) {
-            return Figure.ONE;
-        }
-        int result = 1;
-        for (int i = 2; i <= n; ++i) {
-            result *= i;
+        if (n > MAX_LONG_FACTORIAL) {
+            throw new SyntaxException(String.format("错误：%d 的阶乘超出了 long 的范围", n));
         }
-        return new Figure(result);
+        return Figure.valueOf(LONG_FACTORIALS[n]);
     }
 
     /**
-     * 计算 n 阶乘（包括 n）。此方法可以计算运算结果很大的阶乘，但是计算计算速度会慢一些
+     * 计算 n 阶乘（包括 n）。此方法可以计算运算结果很大的阶乘
      *
+     * @throws SyntaxException n 为负数，或者结果太大（超出 MAX_BITS）
      * @since 2022-8-29
+     * @lastModified 2026-10-18
      */
     public static Figure factorialForBigResult(final Figure n) throws SyntaxException {
         if (n.isNegative()) {
-            throw new SyntaxException(String.format("错误：不能计算负数 %d 的阶乘", n));
+            throw new SyntaxException(String.format("错误：不能计算负数 %s 的阶乘", n));
         }
-        if (n.equals(Figure.ZERO) || n.equals(Figure.ONE)) {
-            return Figure.ONE; // 数学规定：0!=1
+        if (!n.isLong() || n.getLongValue() > Integer.MAX_VALUE) {
+            throw new SyntaxException(String.format("错误：%s 的阶乘太大，超出了上限 %d 位", n, MAX_BITS));
         }
-        Figure result = Figure.ONE.clone();
-        for (Figure i = Figure.TWO.clone(); FigureOperation.lessOrEqual(i, n); i.increaseOne()) {
-            result = FigureOperation.multiply(result, i);
+        return factorial((int) n.getLongValue());
+    }
+
+    /**
+     * 与方法 factorial 相同，只是不使用缓存，也不会将结果放入缓存
+     *
+     * @since 2026-10-18
+     */
+    public static Figure factorialWithoutCache(final int n) throws SyntaxException {
+        if (n <= MAX_LONG_FACTORIAL) {
+            return factorialForSmallResult(n);
         }
-        return result;
+        double estimatedBits = Factorial.log2Factorial(n);
+        if (estimatedBits > MAX_BITS) {
+            throw new SyntaxException("错误：" + n + " 的阶乘太大（约 " + String.format("%.3g", estimatedBits)
+                    + " 位二进制数），超出了上限 " + MAX_BITS + " 位");
+        }
+
+        var primes = AlgorithmUtil.primesUpTo(n);
+        var oddPart = Factorial.oddFactorial(n, primes);
+        return Figure.valueOf(oddPart.shiftLeft(n - Integer.bitCount(n)));
+    }
+
+    /**
+     * 清空缓存
+     *
+     * @since 2026-10-18
+     */
+    public static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+            cacheMemory = 0;
+        }
+    }
+
+    /**
+     * 缓存的条目数
+     *
+     * @since 2026-10-18
+     */
+    public static int cacheSize() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    /**
+     * n! 的奇数部分，即 n! 去掉所有的因数 2 之后的结果
+     *
+     * 算法：oddFactorial(n) = oddFactorial(n/2)^2 * swing(n) 的奇数部分
+     */
+    private static BigInteger oddFactorial(int n, int[] primes) {
+        if (n <= MAX_LONG_FACTORIAL) {
+            long value = LONG_FACTORIALS[n];
+            return BigInteger.valueOf(value >> Long.numberOfTrailingZeros(value));
+        }
+        var half = Factorial.oddFactorial(n >>> 1, primes);
+        return half.multiply(half).multiply(Factorial.oddSwing(n, primes));
+    }
+
+    /**
+     * swing(n) = n! / ((n/2)!)^2 的奇数部分
+     *
+     * swing(n) 中，奇质数 p 的指数为：对于 k = 1, 2, ...，n / p^k 为奇数的个数。因此：
+     * > p^2 <= n 时，逐个检查 n / p^k 的奇偶性，结果一定不超过 n
+     * > p^2 > n 时，只有 k = 1 一项，即 n / p 为奇数时，指数为 1，否则为 0
+     */
+    private static BigInteger oddSwing(int n, int[] primes) {
+        int end = Arrays.binarySearch(primes, n);
+        end = end >= 0 ? end + 1 : -(end + 1); // 不超过 n 的质数为 primes[0, end)
+        var factors = new long[end];
+        int count = 0;
+        for (int order = 1; order < end; ++order) { // 跳过质数 2
+            int prime = primes[order];
+            if ((long) prime * prime <= n) {
+                long power = 1;
+                for (int quotient = n / prime; quotient > 0; quotient /= prime) {
+                    if ((quotient & 1) == 1) {
+                        power *= prime;
+                    }
+                }
+                if (power > 1) {
+                    factors[count++] = power;
+                }
+            } else if (((n / prime) & 1) == 1) {
+                factors[count++] = prime;
+            }
+        }
+        return AlgorithmUtil.product(factors, 0, count);
+    }
+
+    /**
+     * n! 的以 2 为底的对数的近似值（斯特林公式），即 n! 的二进制位数的估计值。n < 2 时为 0
+     *
+     * 供排列数、组合数在计算之前估计结果的大小
+     */
+    static double log2Factorial(double n) {
+        if (n < 2) {
+            return 0;
+        }
+        return (n * Math.log(n / Math.E) + 0.5 * Math.log(2 * Math.PI * n)) / Math.log(2);
+    }
+
+    private static void putToCache(int n, Figure value) {
+        long bytes = Factorial.estimateBytes(value);
+        if (CACHE_SIZE == 0 || bytes > CACHE_MEMORY) {
+            return;
+        }
+        synchronized (CACHE) {
+            if (CACHE.put(n, value) == null) {
+                cacheMemory += bytes;
+            }
+            var iterator = CACHE.values().iterator();
+            while (CACHE.size() > CACHE_SIZE || cacheMemory > CACHE_MEMORY) {
+                var eldest = iterator.next();
+                cacheMemory -= Factorial.estimateBytes(eldest);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * 缓存中一个条目所占用的内存的估计值。64 为对象头、引用等的估计值
+     */
+    private static long estimateBytes(Figure value) {
+        return (value.bitLength() >> 3) + 64;
     }
 }
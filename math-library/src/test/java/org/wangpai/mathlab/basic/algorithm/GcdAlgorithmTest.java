@@ -0,0 +1,66 @@
+package org.wangpai.mathlab.basic.algorithm;
+
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @since 2026-10-18
+ */
+public class GcdAlgorithmTest {
+    @Test
+    public void gcd_random() {
+        var random = new Random(0);
+        for (int bits = 64; bits <= (1 << 15); bits *= 2) {
+            for (int time = 0; time < 4; ++time) {
+                var common = new BigInteger(bits / 2, random).add(BigInteger.ONE);
+                var first = new BigInteger(bits, random).multiply(common);
+                var second = new BigInteger(bits - random.nextInt(bits / 2), random).multiply(common);
+                if (random.nextBoolean()) {
+                    first = first.negate();
+                }
+
+                var expected = first.gcd(second);
+                assertEquals(expected, GcdAlgorithm.gcd(first, second));
+                assertEquals(expected, GcdAlgorithm.gcd(second, first));
+                assertEquals(expected, GcdAlgorithm.lehmerGcd(first, second));
+            }
+        }
+    }
+
+    /**
+     * 位数刚超过 HALF_GCD_THRESHOLD 时，会使用 Half-GCD 算法
+     */
+    @Test
+    public void gcd_halfGcd() {
+        var random = new Random(1);
+        int bits = GcdAlgorithm.HALF_GCD_THRESHOLD + GcdAlgorithm.HALF_GCD_THRESHOLD / 4;
+        var common = new BigInteger(bits / 4, random).add(BigInteger.ONE);
+        var first = new BigInteger(bits, random).multiply(common);
+        var second = new BigInteger(bits, random).multiply(common);
+        assertEquals(first.gcd(second), GcdAlgorithm.gcd(first, second));
+    }
+
+    @Test
+    public void gcd_special() {
+        var big = BigInteger.TWO.pow(100000).subtract(BigInteger.ONE);
+        assertEquals(BigInteger.ZERO, GcdAlgorithm.gcd(BigInteger.ZERO, BigInteger.ZERO));
+        assertEquals(big, GcdAlgorithm.gcd(big.negate(), BigInteger.ZERO));
+        assertEquals(big, GcdAlgorithm.gcd(big, big));
+        assertEquals(BigInteger.ONE, GcdAlgorithm.gcd(big, big.add(BigInteger.ONE)));
+        assertEquals(BigInteger.ONE, GcdAlgorithm.lehmerGcd(big, big.subtract(BigInteger.ONE)));
+
+        // 相邻的斐波那契数是辗转相除步数最多的情形
+        BigInteger previous = BigInteger.ONE;
+        BigInteger current = BigInteger.ONE;
+        for (int index = 0; index < 100000; ++index) {
+            BigInteger next = previous.add(current);
+            previous = current;
+            current = next;
+        }
+        assertEquals(BigInteger.ONE, GcdAlgorithm.gcd(current, previous));
+        assertEquals(BigInteger.ONE, GcdAlgorithm.lehmerGcd(current, previous));
+    }
+}
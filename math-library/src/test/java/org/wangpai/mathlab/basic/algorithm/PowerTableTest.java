@@ -0,0 +1,83 @@
+package org.wangpai.mathlab.basic.algorithm;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.wangpai.mathlab.basic.operand.Figure;
+import org.wangpai.mathlab.exception.unchecked.LogicalException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @since 2026-10-18
+ */
+public class PowerTableTest {
+    @Test
+    public void power() {
+        var table = new PowerTable(10, PowerTable.DEFAULT_MAX_BYTES);
+        for (int exponent = 0; exponent <= 300; ++exponent) {
+            assertEquals(BigInteger.TEN.pow(exponent), table.bigPower(exponent));
+            assertEquals(BigInteger.ONE.shiftLeft(exponent), PowerTable.TWO.bigPower(exponent));
+        }
+        assertSame(table.power(123), table.power(123)); // 已缓存
+        assertEquals(Figure.valueOf(1000), PowerTable.TEN.power(3));
+        assertThrows(LogicalException.class, () -> table.power(-1));
+        assertThrows(LogicalException.class, () -> new PowerTable(1, 1024));
+    }
+
+    /**
+     * 超出内存上限的部分不缓存，但结果依然正确
+     */
+    @Test
+    public void maxBytes() {
+        final long maxBytes = 4096;
+        var table = new PowerTable(10, maxBytes);
+        assertEquals(BigInteger.TEN.pow(5000), table.bigPower(5000));
+        assertTrue(table.getMemoryUsage() <= maxBytes);
+        assertTrue(table.size() > 1 && table.size() < 5000);
+
+        int size = table.size();
+        assertEquals(BigInteger.TEN.pow(size + 10), table.bigPower(size + 10));
+        assertEquals(size, table.size());
+
+        table.setMaxBytes(maxBytes / 4);
+        assertTrue(table.getMemoryUsage() <= maxBytes / 4);
+        assertTrue(table.size() < size);
+        assertEquals(BigInteger.TEN.pow(size), table.bigPower(size));
+
+        table.clear();
+        assertEquals(1, table.size());
+        assertEquals(BigInteger.TEN.pow(40), table.bigPower(40));
+    }
+
+    @Test
+    public void concurrency() throws InterruptedException, ExecutionException {
+        var table = new PowerTable(10, PowerTable.DEFAULT_MAX_BYTES);
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var futures = new ArrayList<Future<Boolean>>();
+            for (int thread = 0; thread < 8; ++thread) {
+                final int offset = thread;
+                futures.add(executor.submit(() -> {
+                    for (int exponent = offset; exponent < 2000; exponent += 7) {
+                        if (!BigInteger.TEN.pow(exponent).equals(table.bigPower(exponent))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (var future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
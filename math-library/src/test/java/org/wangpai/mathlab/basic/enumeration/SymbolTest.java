@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @since 2021-7-30
+ * @lastModified 2026-10-18
  */
 public class SymbolTest {
     Symbol symbol = Symbol.ADD;
@@ -19,6 +20,24 @@ public class SymbolTest {
 
         assertEquals(Symbol.MULTIPLY, Symbol.getEnum("*"));
         assertEquals(null, Symbol.getEnum("abc"));
+        assertEquals(null, Symbol.getEnum(""));
+        assertEquals(null, Symbol.getEnum(null));
+    }
+
+    @Test
+    public void fromChar() {
+        for (var aSymbol : Symbol.values()) {
+            if (aSymbol == Symbol.WRAP) {
+                continue; // WRAP 与 SPACE 的外形相同，查找结果为先定义的 SPACE
+            }
+            assertEquals(aSymbol, Symbol.fromChar(aSymbol.toString().charAt(0)));
+        }
+        assertEquals(Symbol.SPACE, Symbol.fromChar(' '));
+        assertEquals(Symbol.MULTIPLY, Symbol.fromChar('x'));
+        assertEquals(Symbol.MULTIPLY, Symbol.fromChar('*'));
+        assertEquals(null, Symbol.fromChar('a'));
+        assertEquals(null, Symbol.fromChar('\n'));
+        assertEquals(null, Symbol.fromChar('（'));
     }
 
     @Test
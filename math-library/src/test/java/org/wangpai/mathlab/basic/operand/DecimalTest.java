@@ -1,12 +1,19 @@
 package org.wangpai.mathlab.basic.operand;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 import org.wangpai.mathlab.basic.enumeration.Symbol;
 import org.wangpai.mathlab.exception.checked.MathlabCheckedException;
 import org.wangpai.mathlab.exception.checked.UndefinedException;
+import org.wangpai.mathlab.exception.unchecked.LogicalException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.wangpai.mathlab.basic.enumeration.Symbol.ADD;
 import static org.wangpai.mathlab.basic.enumeration.Symbol.DOT;
@@ -69,6 +76,93 @@ public class DecimalTest {
                 new Decimal(largerThanZeroNegative).toRational());
     }
 
+    /**
+     * 结果应为最简分数，且与 BigDecimal 的结果相同。包括超出 long 范围的长小数
+     *
+     * @since 2026-10-18
+     */
+    @Test
+    public void parseRational() throws UndefinedException {
+        var literals = new ArrayList<>(List.of("0", "-0", "0.000", "7", "-12.50", "0.125", "0.0625", "3.2",
+                "123456789012345678", "1234567890123456789", "0.000000000000000001", "0.0000000000000000001",
+                "-3.14159265358979323846264338327950288419716939937510", "9999999999999999999999.99999999999999999998"));
+        var random = new Random(2026);
+        for (int count = 0; count < 200; ++count) {
+            var sb = new StringBuilder();
+            if (random.nextBoolean()) {
+                sb.append('-');
+            }
+            sb.append(1 + random.nextInt(9));
+            for (int length = random.nextInt(60); length > 0; --length) {
+                sb.append(random.nextInt(10));
+            }
+            if (random.nextBoolean()) {
+                sb.append('.');
+                for (int length = 1 + random.nextInt(60); length > 0; --length) {
+                    sb.append(random.nextInt(10));
+                }
+            }
+            literals.add(sb.toString());
+        }
+
+        for (var literal : literals) {
+            var expected = new BigDecimal(literal);
+            var expectedNumerator = expected.unscaledValue();
+            var expectedDenominator = BigInteger.TEN.pow(Math.max(expected.scale(), 0));
+            var gcd = expectedNumerator.gcd(expectedDenominator);
+            expectedNumerator = expectedNumerator.divide(gcd);
+            expectedDenominator = expectedDenominator.divide(gcd);
+
+            var symbols = new Decimal().init(literal);
+            var rationals = List.of(Decimal.parseRational(Decimal.symbolArray2charArray(literal.toCharArray())),
+                    symbols.toRational());
+            for (var rational : rationals) {
+                assertEquals(expectedNumerator, rational.getNumerator().toBigInteger(), literal);
+                assertEquals(expectedDenominator, rational.getDenominator().toBigInteger(), literal);
+            }
+        }
+
+        assertThrows(LogicalException.class, () -> Decimal.parseRational(this.doublePoint));
+    }
+
+    /**
+     * 循环小数：结果应为最简分数，且与 Rational.toRepeatingDecimalString 互逆
+     *
+     * @since 2026-10-18
+     */
+    @Test
+    public void parseRational_repetend() throws MathlabCheckedException {
+        String[] literals = {"0.1(6)", "0.(142857)", "-3.(142857)", "0.(9)", "1.2(0)", "0.10(3)", "12.3(45)"};
+        Rational[] expected = {new Rational(1, 6), new Rational(1, 7), new Rational(-22, 7), new Rational(1),
+                new Rational(6, 5), new Rational(31, 300), new Rational(679, 55)};
+        for (int order = 0; order < literals.length; ++order) {
+            var symbols = Decimal.symbolArray2charArray(literals[order].toCharArray());
+            assertTrue(Decimal.arrayIsDecimal(symbols), literals[order]);
+            assertEquals(expected[order], Decimal.parseRational(symbols), literals[order]);
+            assertEquals(expected[order], new Decimal(literals[order]).toRational(), literals[order]);
+        }
+
+        // 整数部分超出 long 范围
+        var random = new Random(2026);
+        for (int count = 0; count < 200; ++count) {
+            var numerator = new BigInteger(1 + random.nextInt(100), random);
+            var denominator = new BigInteger(1 + random.nextInt(16), random).add(BigInteger.ONE);
+            if (random.nextBoolean()) {
+                numerator = numerator.negate();
+            }
+            var rational = new Rational(Figure.valueOf(numerator), Figure.valueOf(denominator));
+            var literal = rational.toRepeatingDecimalString(1 << 16);
+            var parsed = Decimal.parseRational(Decimal.symbolArray2charArray(literal.toCharArray()));
+            assertEquals(rational.getNumerator().toBigInteger(), parsed.getNumerator().toBigInteger(), literal);
+            assertEquals(rational.getDenominator().toBigInteger(), parsed.getDenominator().toBigInteger(), literal);
+        }
+
+        String[] wrongLiterals = {"1(6)", "0.()", "0.(6", "0.1(6)7", "0.(6)(6)", "0.(6.)", "-(6)"};
+        for (var literal : wrongLiterals) {
+            assertFalse(Decimal.arrayIsDecimal(Decimal.symbolArray2charArray(literal.toCharArray())), literal);
+        }
+    }
+
     public static void main(String[] args) throws UndefinedException {
         Symbol[] symbols = {ONE, DOT, FOUR}; // 小数
 
@@ -6,6 +6,9 @@ import org.wangpai.mathlab.exception.unchecked.LogicalException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -106,4 +109,75 @@ public class FigureTest {
         assertEquals(new Figure(Integer.MIN_VALUE - one), new Figure(Integer.MIN_VALUE).decreaseOne());
         assertEquals(new Figure(Integer.MAX_VALUE), new Figure(Integer.MAX_VALUE + one).decreaseOne());
     }
+
+    @Test
+    public void valueOf() {
+        // 小整数返回缓存的对象
+        assertSame(Figure.valueOf(100), Figure.valueOf(100));
+        assertSame(Figure.ONE, Figure.valueOf(1));
+        assertSame(Figure.MINUS_ONE, Figure.valueOf(-1));
+        assertSame(Figure.ZERO, Figure.valueOf(BigInteger.ZERO));
+
+        // 大整数返回新的对象，但意义上相等
+        assertEquals(new Figure(Long.MAX_VALUE), Figure.valueOf(Long.MAX_VALUE));
+
+        // valueOf 返回的都是常量，不能进行自增、自减
+        assertTrue(Figure.valueOf(Long.MAX_VALUE).isFinal());
+        assertThrows(LogicalException.class, () -> Figure.valueOf(1).increaseOne());
+        assertThrows(LogicalException.class, () -> Figure.valueOf(Long.MIN_VALUE).decreaseOne());
+
+        // 常量的 clone 可以进行自增、自减
+        assertEquals(new Figure(2), Figure.valueOf(1).clone().increaseOne());
+        assertEquals(new Figure(1), Figure.valueOf(1)); // 缓存的常量不会被修改
+    }
+
+    @Test
+    public void toFinal() {
+        assertSame(Figure.TWO, new Figure(2).toFinal());
+        var figure = Figure.valueOf(Long.MAX_VALUE);
+        assertSame(figure, figure.toFinal());
+        assertTrue(new Figure(Long.MIN_VALUE).toFinal().isFinal());
+    }
+
+    @Test
+    public void compareTo() {
+        var big = new Figure(BigInteger.valueOf(Long.MAX_VALUE).pow(2));
+        var bigNegative = new Figure(BigInteger.valueOf(Long.MAX_VALUE).pow(2).negate());
+
+        assertTrue(new Figure(-1).compareTo(new Figure(1)) < 0);
+        assertTrue(new Figure(Long.MAX_VALUE).compareTo(new Figure(Integer.MAX_VALUE)) > 0);
+        assertEquals(0, new Figure(Long.MIN_VALUE).compareTo(new Figure(Long.MIN_VALUE)));
+
+        assertTrue(big.compareTo(new Figure(Long.MAX_VALUE)) > 0);
+        assertTrue(new Figure(Long.MIN_VALUE).compareTo(bigNegative) > 0);
+        assertTrue(bigNegative.compareTo(big) < 0);
+        assertEquals(0, big.compareTo(new Figure(BigInteger.valueOf(Long.MAX_VALUE).pow(2))));
+    }
+
+    @Test
+    public void hashCode_test() {
+        var big = BigInteger.valueOf(Long.MAX_VALUE).pow(2);
+        assertEquals(new Figure(big).hashCode(), new Figure(big).hashCode());
+        assertEquals(new Figure(Long.MAX_VALUE).hashCode(),
+                new Figure(BigInteger.valueOf(Long.MAX_VALUE)).hashCode());
+        assertNotEquals(new Figure(1), new Figure(2));
+    }
+
+    /**
+     * 对于大整数，克隆的对象与原对象共享同一个 BigInteger，不会进行复制
+     */
+    @Test
+    public void clone_big() {
+        var big = BigInteger.TEN.pow(1000);
+        var figure = new Figure(big);
+        var cloned = figure.clone();
+
+        assertEquals(figure, cloned);
+        assertSame(big, cloned.toBigInteger());
+
+        // 对克隆对象的自增不会影响原对象
+        cloned.increaseOne();
+        assertEquals(new Figure(big), figure);
+        assertEquals(new Figure(big.add(BigInteger.ONE)), cloned);
+    }
 }
@@ -1,12 +1,20 @@
 package org.wangpai.mathlab.basic.operand;
 
+import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
 import org.junit.jupiter.api.Test;
+import org.wangpai.mathlab.basic.operation.RationalOperation;
 import org.wangpai.mathlab.exception.checked.MathlabCheckedException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -124,6 +132,112 @@ public class RationalTest {
                 new Rational(10, 3).toDouble());
     }
 
+    /**
+     * 结果应为与精确值最接近的 double
+     *
+     * @since 2026-10-18
+     */
+    @Test
+    public void toDouble_correctlyRounded() throws MathlabCheckedException {
+        var random = new Random(2026);
+        for (int count = 0; count < 3000; ++count) {
+            var numerator = new BigInteger(1 + random.nextInt(count % 2 == 0 ? 60 : 400), random);
+            var denominator = new BigInteger(1 + random.nextInt(count % 3 == 0 ? 60 : 400), random)
+                    .add(BigInteger.ONE);
+            if (random.nextBoolean()) {
+                numerator = numerator.negate();
+            }
+            var rational = new Rational(new Figure(numerator), new Figure(denominator));
+            assertNearest(numerator, denominator, rational.toDouble());
+        }
+
+        assertEquals(0x1p60 + 0x1p8, new Rational(new Figure(BigInteger.ONE.shiftLeft(60).add(
+                BigInteger.ONE.shiftLeft(7).add(BigInteger.ONE)))).toDouble()); // 刚过一半时进位
+        assertEquals(0x1p60, new Rational(new Figure(BigInteger.ONE.shiftLeft(60).add(
+                BigInteger.ONE.shiftLeft(7)))).toDouble()); // 恰好一半时取偶数
+        assertEquals(-1.0 / 3, new Rational(-1, 3).toDouble());
+
+        var twoPower1074 = new Figure(BigInteger.ONE.shiftLeft(1074));
+        assertEquals(Double.MIN_VALUE, new Rational(Figure.ONE, twoPower1074).toDouble());
+        assertEquals(0.0, new Rational(Figure.ONE, new Figure(BigInteger.ONE.shiftLeft(1075))).toDouble());
+        assertEquals(Double.MIN_VALUE,
+                new Rational(Figure.valueOf(3), new Figure(BigInteger.ONE.shiftLeft(1076))).toDouble());
+        assertEquals(0.0, new Rational(Figure.ONE, new Figure(BigInteger.TEN.pow(400))).toDouble());
+        assertEquals(Double.NEGATIVE_INFINITY, new Rational(new Figure(BigInteger.TEN.pow(400).negate())).toDouble());
+        assertEquals(Double.MAX_VALUE, new Rational(new Figure(new BigDecimal(Double.MAX_VALUE).toBigInteger()))
+                .toDouble());
+    }
+
+    /**
+     * 结果应与 BigDecimal 相同
+     *
+     * @since 2026-10-18
+     */
+    @Test
+    public void toDecimalString() throws MathlabCheckedException {
+        var random = new Random(2026);
+        for (int count = 0; count < 500; ++count) {
+            var numerator = new BigInteger(1 + random.nextInt(200), random);
+            var denominator = new BigInteger(1 + random.nextInt(200), random).add(BigInteger.ONE);
+            if (random.nextBoolean()) {
+                numerator = numerator.negate();
+            }
+            var rational = new Rational(new Figure(numerator), new Figure(denominator));
+            int digits = random.nextInt(80);
+            for (var roundingMode : RoundingMode.values()) {
+                if (roundingMode == RoundingMode.UNNECESSARY) {
+                    continue;
+                }
+                var expected = new BigDecimal(numerator)
+                        .divide(new BigDecimal(denominator), digits, roundingMode).toPlainString();
+                assertEquals(expected, rational.toDecimalString(digits, roundingMode),
+                        numerator + "/" + denominator + " " + roundingMode);
+            }
+        }
+
+        assertEquals("0.333", new Rational(1, 3).toDecimalString(3, RoundingMode.HALF_UP));
+        assertEquals("-0.667", new Rational(-2, 3).toDecimalString(3, RoundingMode.HALF_UP));
+        assertEquals("0.00", new Rational(-1, 1000).toDecimalString(2, RoundingMode.HALF_EVEN));
+        assertEquals("3", new Rational(5, 2).toDecimalString(0, RoundingMode.HALF_UP));
+        assertEquals("2", new Rational(5, 2).toDecimalString(0, RoundingMode.HALF_EVEN));
+        assertEquals("0.25", new Rational(1, 4).toDecimalString(2, RoundingMode.UNNECESSARY));
+        assertThrows(ArithmeticException.class, () -> new Rational(1, 3).toDecimalString(2, RoundingMode.UNNECESSARY));
+    }
+
+    /**
+     * @since 2026-10-18
+     */
+    @Test
+    public void toRepeatingDecimalString() throws MathlabCheckedException {
+        assertEquals("0.1(6)", new Rational(1, 6).toRepeatingDecimalString(100));
+        assertEquals("0.(142857)", new Rational(1, 7).toRepeatingDecimalString(100));
+        assertEquals("-3.(142857)", new Rational(-22, 7).toRepeatingDecimalString(100));
+        assertEquals("0.(01)", new Rational(1, 99).toRepeatingDecimalString(100));
+        assertEquals("0.58(3)", new Rational(7, 12).toRepeatingDecimalString(100));
+        assertEquals("0.0004(629)", new Rational(1, 2160).toRepeatingDecimalString(100));
+        assertEquals("0.25", new Rational(1, 4).toRepeatingDecimalString(100));
+        assertEquals("-0.0625", new Rational(-1, 16).toRepeatingDecimalString(100));
+        assertEquals("5", new Rational(10, 2).toRepeatingDecimalString(100));
+        assertEquals("0", new Rational(0).toRepeatingDecimalString(100));
+
+        // 1/97 的循环节有 96 位
+        assertNull(new Rational(1, 97).toRepeatingDecimalString(95));
+        var repeating = new Rational(1, 97).toRepeatingDecimalString(96);
+        assertEquals(96, repeating.length() - "0.()".length());
+        assertTrue(new BigDecimal(1).divide(new BigDecimal(97), 96, RoundingMode.DOWN).toPlainString()
+                .equals(repeating.replace("(", "").replace(")", "")));
+    }
+
+    private static void assertNearest(BigInteger numerator, BigInteger denominator, double actual) {
+        var exact = new BigDecimal(numerator);
+        var scale = new BigDecimal(denominator);
+        var error = exact.subtract(new BigDecimal(actual).multiply(scale)).abs();
+        for (var neighbor : new double[]{Math.nextDown(actual), Math.nextUp(actual)}) {
+            var neighborError = exact.subtract(new BigDecimal(neighbor).multiply(scale)).abs();
+            assertTrue(error.compareTo(neighborError) <= 0, numerator + "/" + denominator + " -> " + actual);
+        }
+    }
+
     @Test
     public void reduceFraction() throws MathlabCheckedException {
         // 测试分子
@@ -143,4 +257,96 @@ public class RationalTest {
         assertEquals(new Figure(4),
                 new Rational(21, 28).getDenominator());
     }
+
+    @Test
+    public void compareTo() throws MathlabCheckedException {
+        assertTrue(new Rational(1, 3).compareTo(new Rational(1, 2)) < 0);
+        assertTrue(new Rational(-1, 3).compareTo(new Rational(-1, 2)) > 0);
+        assertTrue(new Rational(-1, 3).compareTo(new Rational(0)) < 0);
+        assertTrue(new Rational(2, 3).compareTo(new Rational(3, 5)) > 0);
+        assertEquals(0, new Rational(2, 4).compareTo(new Rational(1, 2)));
+        assertEquals(0, new Rational(0).compareTo(new Rational(0, -5)));
+    }
+
+    @Test
+    public void hashCode_test() throws MathlabCheckedException {
+        assertEquals(new Rational(2, 4).hashCode(), new Rational(-1, -2).hashCode());
+        // 整数的 hashCode 与相应的 Figure 相同
+        assertEquals(new Figure(5).hashCode(), new Rational(10, 2).hashCode());
+    }
+
+    @Test
+    public void lazyReduction() throws MathlabCheckedException {
+        boolean originLazyReduction = Rational.isLazyReduction();
+        Rational.setLazyReduction(true);
+        try {
+            var sum = new Rational(0);
+            for (int index = 1; index <= 20; ++index) {
+                sum = RationalOperation.add(sum, new Rational(1, 2 * index * (index + 1)));
+            }
+            // 1/(2·1·2) + 1/(2·2·3) + ... + 1/(2·20·21) = 10/21
+            assertNotEquals(new Figure(21), sum.getDenominator()); // 尚未约分
+            assertEquals(new Rational(10, 21), sum);
+            assertEquals(new Figure(21), sum.getDenominator()); // 比较之后已经约分
+            assertEquals("[10/21]", sum.toString());
+            assertEquals(new Rational(10, 21).hashCode(), sum.hashCode());
+
+            // 分母恒为正数
+            var negative = new Rational(3, -6);
+            assertTrue(negative.isNegative());
+            assertTrue(negative.getDenominator().isPositive());
+            assertEquals(-0.5, negative.toDouble());
+            assertEquals(new Figure(2), RationalOperation.roundUp(new Rational(4, 2)));
+        } finally {
+            Rational.setLazyReduction(originLazyReduction);
+        }
+    }
+
+    /**
+     * 延迟约分模式下，两个线程共享同一批尚未约分的 Rational：一个线程调用会约分的方法，
+     * 另一个线程同时调用不约分的方法。后者不应读到不匹配的分子、分母，hashCode 也不应改变
+     */
+    @Test
+    public void lazyReduction_shared() throws Exception {
+        boolean originLazyReduction = Rational.isLazyReduction();
+        Rational.setLazyReduction(true);
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var half = new Rational(1, 2);
+            var shared = new Rational[20000];
+            for (int index = 0; index < shared.length; ++index) {
+                shared[index] = new Rational(index + 1, 2L * (index + 1)); // 值均为 1/2，且尚未约分
+            }
+            int expectedHash = half.hashCode();
+
+            Callable<Object> reducing = () -> {
+                for (var rational : shared) {
+                    assertEquals(expectedHash, rational.hashCode());
+                    assertEquals("[1/2]", rational.toString());
+                    assertTrue(half.equals(rational));
+                }
+                return null;
+            };
+            Callable<Object> reading = () -> {
+                for (var rational : shared) {
+                    assertEquals(0.5, rational.toDouble());
+                    assertEquals(0, rational.compareTo(half));
+                    assertEquals("0.50", rational.toDecimalString(2, RoundingMode.UNNECESSARY));
+                    assertEquals(expectedHash, rational.hashCode());
+                }
+                return null;
+            };
+            var first = executor.submit(reducing);
+            var second = executor.submit(reading);
+            first.get();
+            second.get();
+            for (var rational : shared) {
+                assertTrue(rational.isReduced());
+                assertEquals(new Figure(2), rational.getDenominator());
+            }
+        } finally {
+            executor.shutdownNow();
+            Rational.setLazyReduction(originLazyReduction);
+        }
+    }
 }
@@ -1,12 +1,16 @@
 package org.wangpai.mathlab.basic.operation;
 
+import java.math.BigInteger;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 import org.wangpai.mathlab.basic.algorithm.AlgorithmForTest;
 import org.wangpai.mathlab.basic.operand.Figure;
 import org.wangpai.mathlab.exception.checked.MathlabCheckedException;
+import org.wangpai.mathlab.exception.checked.SyntaxException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -54,6 +58,51 @@ public class FigureOperationTest {
         assertEquals(new Figure(this.maxInt * this.maxInt), result2);
     }
 
+    @Test
+    public void add_longAndBig() {
+        // 结果在 long 范围内时，应该使用 long 表示
+        var result1 = FigureOperation.add(
+                new Figure(Long.MAX_VALUE - 1), Figure.ONE);
+        assertEquals(new Figure(Long.MAX_VALUE), result1);
+        assertTrue(result1.isLong());
+        assertFalse(result1.isSmall());
+
+        // 结果溢出 long 时，应该使用 BigInteger 表示
+        var result2 = FigureOperation.add(
+                new Figure(Long.MAX_VALUE), Figure.ONE);
+        assertEquals(new Figure(BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE)), result2);
+        assertFalse(result2.isLong());
+
+        // 结果从 BigInteger 缩小回 long 范围时，应该降级为 long 表示
+        var result3 = FigureOperation.subtract(result2, Figure.ONE);
+        assertTrue(result3.isLong());
+        assertEquals(new Figure(Long.MAX_VALUE), result3);
+
+        var result4 = FigureOperation.subtract(
+                new Figure(Long.MIN_VALUE), Figure.ONE);
+        assertEquals(new Figure(BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE)), result4);
+    }
+
+    @Test
+    public void multiply_longAndBig() {
+        long big = 3037000499L; // 约为 sqrt(Long.MAX_VALUE)
+        var result1 = FigureOperation.multiply(new Figure(big), new Figure(big));
+        assertEquals(new Figure(big * big), result1);
+        assertTrue(result1.isLong());
+
+        var result2 = FigureOperation.multiply(new Figure(big + 1), new Figure(big + 1));
+        assertEquals(new Figure(BigInteger.valueOf(big + 1).pow(2)), result2);
+        assertFalse(result2.isLong());
+
+        var result3 = FigureOperation.multiply(new Figure(Long.MIN_VALUE), new Figure(-1));
+        assertEquals(new Figure(BigInteger.valueOf(Long.MIN_VALUE).negate()), result3);
+        assertFalse(result3.isLong());
+
+        var result4 = FigureOperation.multiply(new Figure(Long.MIN_VALUE / 2), new Figure(2));
+        assertEquals(new Figure(Long.MIN_VALUE), result4);
+        assertTrue(result4.isLong());
+    }
+
     @Test
     public void divideAndRemainder_Fraction() {
         var result = FigureOperation.divideAndRemainder(
@@ -142,6 +191,35 @@ public class FigureOperationTest {
                         new Figure(this.firstLong), new Figure(this.secondLong)));
     }
 
+    @Test
+    public void findGcd_long() {
+        var random = new Random(0);
+        for (int time = 0; time < 10000; ++time) {
+            long first = random.nextLong() >> random.nextInt(64);
+            long second = random.nextLong() >> random.nextInt(64);
+            assertEquals(new Figure(BigInteger.valueOf(first).gcd(BigInteger.valueOf(second))),
+                    FigureOperation.findGcd(new Figure(first), new Figure(second)));
+        }
+
+        assertEquals(new Figure(6), FigureOperation.findGcd(new Figure(-12), new Figure(18)));
+        assertEquals(new Figure(5), FigureOperation.findGcd(Figure.ZERO, new Figure(-5)));
+        assertEquals(Figure.ZERO, FigureOperation.findGcd(Figure.ZERO, Figure.ZERO));
+        // Long.MIN_VALUE 的绝对值超出了 long 的范围
+        assertEquals(new Figure(BigInteger.valueOf(Long.MIN_VALUE).negate()),
+                FigureOperation.findGcd(new Figure(Long.MIN_VALUE), Figure.ZERO));
+    }
+
+    @Test
+    public void divideAndRemainder_overflow() {
+        // Long.MIN_VALUE / -1 的商超出了 long 的范围
+        var result = FigureOperation.divideAndRemainder(new Figure(Long.MIN_VALUE), -1);
+        assertEquals(new Figure(BigInteger.valueOf(Long.MIN_VALUE).negate()), result[0]);
+        assertEquals(Figure.ZERO, result[1]);
+
+        assertEquals(new Figure(-3), FigureOperation.modsQuotient(new Figure(-7), 2));
+        assertEquals(new Figure(-1), FigureOperation.mod(new Figure(-7), 2));
+    }
+
     @Test
     public void findLcm() {
         assertEquals(AlgorithmForTest.findLcm(
@@ -161,4 +239,49 @@ public class FigureOperationTest {
         assertEquals(Figure.ONE,
                 FigureOperation.power(new Figure(this.firstLong), Figure.ZERO));
     }
+
+    /**
+     * 与 BigInteger.pow 的结果相同，包括 long 溢出的边界附近
+     *
+     * @since 2026-10-18
+     */
+    @Test
+    public void power_random() throws MathlabCheckedException {
+        var random = new Random(2026);
+        for (int count = 0; count < 2000; ++count) {
+            long base = random.nextInt(4) == 0 ? random.nextLong() : random.nextInt(2001) - 1000;
+            int exponent = random.nextInt(count % 3 == 0 ? 200 : 70);
+            if (base == 0 && exponent == 0) {
+                continue;
+            }
+            assertEquals(BigInteger.valueOf(base).pow(exponent),
+                    FigureOperation.power(Figure.valueOf(base), Figure.valueOf(exponent)).toBigInteger(),
+                    base + "^" + exponent);
+        }
+        assertEquals(Figure.valueOf(Long.MIN_VALUE), FigureOperation.power(-2, 63));
+        assertEquals(BigInteger.TWO.pow(63), FigureOperation.power(2, 63).toBigInteger());
+        assertEquals(BigInteger.valueOf(3).pow(40), FigureOperation.power(3, 40).toBigInteger());
+        var big = new Figure(BigInteger.TEN.pow(30).add(BigInteger.ONE));
+        assertEquals(big.toBigInteger().pow(7), FigureOperation.power(big, Figure.valueOf(7)).toBigInteger());
+    }
+
+    /**
+     * 底数为 0、±1 时，指数可以任意大；其它情况下，结果太大时直接抛出异常，且指数不会被截断
+     *
+     * @since 2026-10-18
+     */
+    @Test
+    public void power_limit() throws MathlabCheckedException {
+        var hugeExponent = new Figure(BigInteger.ONE.shiftLeft(100).add(BigInteger.ONE));
+        assertEquals(Figure.ONE, FigureOperation.power(Figure.ONE, hugeExponent));
+        assertEquals(Figure.MINUS_ONE, FigureOperation.power(Figure.MINUS_ONE, hugeExponent));
+        assertEquals(Figure.ZERO, FigureOperation.power(Figure.ZERO, hugeExponent));
+        assertEquals(Figure.ONE, FigureOperation.power(-1, 1L << 40));
+
+        assertThrows(SyntaxException.class, () -> FigureOperation.power(Figure.TWO, hugeExponent));
+        assertThrows(SyntaxException.class, () -> FigureOperation.power(3, (1L << 32) + 2));
+        assertThrows(SyntaxException.class, () -> FigureOperation.power(7, FigureOperation.POWER_MAX_BITS));
+        assertThrows(SyntaxException.class, () -> FigureOperation.power(2, -1));
+        assertThrows(SyntaxException.class, () -> FigureOperation.power(0, 0));
+    }
 }
@@ -63,6 +63,14 @@ public class RationalOperationTest {
         // 0 的负数次方引发异常
         assertThrows(SyntaxException.class,
                 () -> RationalOperation.power(new Rational(0), new Figure(-3)));
+
+        // 结果为最简分数，且分母为正数
+        var result = RationalOperation.power(new Rational(-6, 4), new Figure(-5));
+        assertEquals(Figure.valueOf(-32), result.getNumerator());
+        assertEquals(Figure.valueOf(243), result.getDenominator());
+        // 结果太大时，在计算之前就抛出异常
+        assertThrows(SyntaxException.class,
+                () -> RationalOperation.power(new Rational(3, 2), new Figure(Long.MAX_VALUE)));
     }
 
     @Test
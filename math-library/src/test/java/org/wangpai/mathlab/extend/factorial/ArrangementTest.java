@@ -1,10 +1,12 @@
 package org.wangpai.mathlab.extend.factorial;
 
+import java.math.BigInteger;
 import org.junit.jupiter.api.Test;
 import org.wangpai.mathlab.basic.operand.Figure;
 import org.wangpai.mathlab.exception.checked.SyntaxException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class ArrangementTest {
     @Test
@@ -14,4 +16,31 @@ class ArrangementTest {
         assertEquals(new Figure(12), Arrangement.arrangementForBigResult(n, m));
         assertEquals(n, Arrangement.arrangementForBigResult(n, Figure.ONE));
     }
-}
\ No newline at end of file
+
+    /**
+     * 结果应与逐个相乘的结果相同。包括 long 范围的边界，以及 n 超出 long 范围的情况
+     *
+     * @since 2026-10-18
+     */
+    @Test
+    public void arrangement() throws SyntaxException {
+        for (int n = 1; n <= 200; ++n) {
+            var expected = BigInteger.ONE;
+            for (int m = 1; m <= n; ++m) {
+                expected = expected.multiply(BigInteger.valueOf(n - m + 1));
+                assertEquals(expected, Arrangement.arrangement(n, m).toBigInteger(), "n = " + n + ", m = " + m);
+            }
+        }
+
+        var max = BigInteger.valueOf(Long.MAX_VALUE);
+        assertEquals(max, Arrangement.arrangement(Figure.valueOf(Long.MAX_VALUE), Figure.ONE).toBigInteger());
+        assertEquals(max.multiply(max.subtract(BigInteger.ONE)),
+                Arrangement.arrangement(Figure.valueOf(Long.MAX_VALUE), Figure.TWO).toBigInteger());
+        var big = BigInteger.ONE.shiftLeft(100);
+        assertEquals(big.multiply(big.subtract(BigInteger.ONE)).multiply(big.subtract(BigInteger.TWO)),
+                Arrangement.arrangement(Figure.valueOf(big), Figure.valueOf(3)).toBigInteger());
+
+        assertThrows(SyntaxException.class, () -> Arrangement.arrangement(2, 3));
+        assertThrows(SyntaxException.class, () -> Arrangement.arrangement(Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+}
@@ -1,10 +1,13 @@
 package org.wangpai.mathlab.extend.factorial;
 
+import java.math.BigInteger;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 import org.wangpai.mathlab.basic.operand.Figure;
 import org.wangpai.mathlab.exception.checked.SyntaxException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class CombinationTest {
     @Test
@@ -14,4 +17,91 @@ class CombinationTest {
         assertEquals(new Figure(6), Combination.combinationForBigResult(n, m));
         assertEquals(n, Combination.combinationForBigResult(n, Figure.ONE));
     }
-}
\ No newline at end of file
+
+    /**
+     * 结果应与杨辉三角（逐行相加）的结果相同
+     *
+     * @since 2026-10-18
+     */
+    @Test
+    void combination_pascalTriangle() throws SyntaxException {
+        var row = new BigInteger[]{BigInteger.ONE};
+        for (int n = 0; n <= 300; ++n) {
+            var pascalRow = Combination.pascalRow(n);
+            assertEquals(n + 1, pascalRow.length);
+            for (int m = 0; m <= n; ++m) {
+                assertEquals(row[m], Combination.combination(n, m).toBigInteger(), "n = " + n + ", m = " + m);
+                assertEquals(row[m], pascalRow[m].toBigInteger(), "n = " + n + ", m = " + m);
+            }
+
+            var next = new BigInteger[n + 2];
+            next[0] = BigInteger.ONE;
+            next[n + 1] = BigInteger.ONE;
+            for (int m = 1; m <= n; ++m) {
+                next[m] = row[m - 1].add(row[m]);
+            }
+            row = next;
+        }
+    }
+
+    /**
+     * 覆盖各种算法：long、质因数分解、乘积树，以及 n 超出 long 范围的情况
+     *
+     * @since 2026-10-18
+     */
+    @Test
+    void combination_big() throws SyntaxException {
+        var random = new Random(2026);
+        int[][] cases = {{100000, 30000}, {100000, 99990}, {200000, 1000}, {3000000, 20},
+                {1 + random.nextInt(50000), 0}, {70000, 0}};
+        cases[4][1] = random.nextInt(cases[4][0]);
+        cases[5][1] = random.nextInt(cases[5][0]);
+        for (var pair : cases) {
+            int n = pair[0];
+            int m = pair[1];
+            assertEquals(CombinationTest.combinationByDivision(BigInteger.valueOf(n), Math.min(m, n - m)),
+                    Combination.combination(n, m).toBigInteger(), "n = " + n + ", m = " + m);
+        }
+
+        long max = Long.MAX_VALUE;
+        assertEquals(CombinationTest.combinationByDivision(BigInteger.valueOf(max), 2),
+                Combination.combination(Figure.valueOf(max), Figure.valueOf(max - 2)).toBigInteger());
+        assertEquals(Figure.valueOf(Combination.combinationExact(66, 33)), Combination.combination(66, 33));
+        assertEquals(CombinationTest.combinationByDivision(BigInteger.valueOf(68), 34),
+                Combination.combination(68, 34).toBigInteger());
+        var big = BigInteger.ONE.shiftLeft(100);
+        assertEquals(CombinationTest.combinationByDivision(big, 5),
+                Combination.combination(Figure.valueOf(big), Figure.valueOf(5)).toBigInteger());
+
+        assertThrows(SyntaxException.class, () -> Combination.combination(2, 3));
+        assertThrows(SyntaxException.class, () -> Combination.combination(-1, 0));
+        assertThrows(SyntaxException.class, () -> Combination.combination(Integer.MAX_VALUE, Integer.MAX_VALUE / 2));
+        assertThrows(ArithmeticException.class, () -> Combination.combinationExact(68, 34));
+    }
+
+    /**
+     * @since 2026-10-18
+     */
+    @Test
+    void multinomial() throws SyntaxException {
+        assertEquals(Figure.valueOf(1260), Combination.multinomial(2, 3, 4));
+        assertEquals(Figure.ONE, Combination.multinomial());
+        assertEquals(Figure.ONE, Combination.multinomial(0, 0, 7));
+        assertEquals(Combination.combination(30, 12), Combination.multinomial(12, 18));
+        // 52 张牌平均分给 4 个人
+        assertEquals(new BigInteger("53644737765488792839237440000"),
+                Combination.multinomial(13, 13, 13, 13).toBigInteger());
+        assertThrows(SyntaxException.class, () -> Combination.multinomial(1, -1));
+    }
+
+    /**
+     * C(n,m) = C(n,m-1) * (n-m+1) / m，逐项计算
+     */
+    private static BigInteger combinationByDivision(BigInteger n, int m) {
+        var result = BigInteger.ONE;
+        for (int i = 1; i <= m; ++i) {
+            result = result.multiply(n.subtract(BigInteger.valueOf(i - 1))).divide(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+}
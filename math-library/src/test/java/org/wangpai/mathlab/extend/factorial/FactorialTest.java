@@ -1,20 +1,87 @@
 package org.wangpai.mathlab.extend.factorial;
 
+import java.math.BigInteger;
 import org.junit.jupiter.api.Test;
 import org.wangpai.mathlab.basic.operand.Figure;
 import org.wangpai.mathlab.exception.checked.SyntaxException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FactorialTest {
     @Test
     public void factorialForSmallResult() throws SyntaxException {
         assertEquals(new Figure(24), Factorial.factorialForSmallResult(4));
+        assertEquals(Figure.valueOf(2432902008176640000L), Factorial.factorialForSmallResult(20));
+        assertThrows(SyntaxException.class, () -> Factorial.factorialForSmallResult(21));
+        assertThrows(SyntaxException.class, () -> Factorial.factorialForSmallResult(-1));
     }
 
     @Test
     public void factorialForBigResult() throws SyntaxException {
         Figure num = new Figure(4);
         assertEquals(new Figure(24), Factorial.factorialForBigResult(num));
+        assertThrows(SyntaxException.class, () -> Factorial.factorialForBigResult(Figure.MINUS_ONE));
+        assertThrows(SyntaxException.class,
+                () -> Factorial.factorialForBigResult(Figure.valueOf(BigInteger.ONE.shiftLeft(40))));
+        assertThrows(SyntaxException.class, () -> Factorial.factorial(Integer.MAX_VALUE));
     }
-}
\ No newline at end of file
+
+    /**
+     * 结果应与逐个相乘的结果相同
+     *
+     * @since 2026-10-18
+     */
+    @Test
+    public void factorial() throws SyntaxException {
+        var expected = BigInteger.ONE;
+        for (int n = 0; n <= 2000; ++n) {
+            if (n > 0) {
+                expected = expected.multiply(BigInteger.valueOf(n));
+            }
+            assertEquals(expected, Factorial.factorialWithoutCache(n).toBigInteger(), "n = " + n);
+        }
+
+        expected = BigInteger.ONE;
+        for (int n = 2; n <= 30000; ++n) {
+            expected = expected.multiply(BigInteger.valueOf(n));
+        }
+        assertEquals(expected, Factorial.factorial(Figure.valueOf(30000)).toBigInteger());
+    }
+
+    /**
+     * @since 2026-10-18
+     */
+    @Test
+    public void factorial_cache() throws SyntaxException {
+        Factorial.clearCache();
+        var first = Factorial.factorial(1000);
+        assertSame(first, Factorial.factorial(1000));
+        assertEquals(1, Factorial.cacheSize());
+        for (int n = 100; n < 300; ++n) {
+            Factorial.factorial(n);
+        }
+        assertTrue(Factorial.cacheSize() <= 64);
+        Factorial.clearCache();
+        assertEquals(0, Factorial.cacheSize());
+    }
+
+    /**
+     * @since 2026-10-18
+     */
+    @Test
+    public void primesUpTo() {
+        var primes = AlgorithmUtil.primesUpTo(100000);
+        assertEquals(9592, primes.length);
+        for (var prime : primes) {
+            assertTrue(BigInteger.valueOf(prime).isProbablePrime(50), "p = " + prime);
+        }
+        assertEquals(0, AlgorithmUtil.primesUpTo(1).length);
+        assertEquals(1, AlgorithmUtil.primesUpTo(2).length);
+        assertEquals(4, AlgorithmUtil.primesUpTo(10).length);
+        assertEquals(BigInteger.valueOf(3628800), AlgorithmUtil.productOfRange(1, 10));
+        assertEquals(BigInteger.ONE, AlgorithmUtil.productOfRange(5, 4));
+    }
+}